@@ -0,0 +1,156 @@
+package com.narc.arclient.process.processor;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.mediapipe.framework.image.BitmapImageBuilder;
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.core.Delegate;
+import com.narc.arclient.enums.GestureEngine;
+import com.narc.arclient.enums.InferenceMode;
+import com.narc.arclient.gesture.GestureCategory;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 测量工具 (不是回归测试)：两种推理引擎在录制帧上的一致率与单帧耗时，需在设备上运行
+ *
+ * 帧来自 GestureFrameRecorder (开启 RECORD_GESTURE_FRAMES 后正常使用一段时间，文件在 files/gesture_frames/)，
+ * 录制期间不裁剪，都是连续的整帧推理输入；按录制时的传感器时间戳以 VIDEO 模式逐帧送入，两种引擎与线上整帧检测时
+ * 一样在内部跨帧跟踪 (线上 HAND_TRACKING 的裁剪输入不在对比范围内)。GestureRecognizer 输出的类别中，应用用不到的
+ * (Closed_Fist / Pointing_Up 等) 统一记为 None 后再比较。录制内容因人因场景而异，不设一致率下限，
+ * 结果打印在 logcat 的 GestureEngineAgreement 标签下；没有录制帧时跳过
+ *
+ * 运行：./gradlew :app:connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=\
+ * com.narc.arclient.process.processor.GestureEngineAgreementTest
+ */
+@RunWith(AndroidJUnit4.class)
+public class GestureEngineAgreementTest {
+    private static final String TAG = "GestureEngineAgreement";
+    private static final GestureCategory[] CLASSES = {
+            GestureCategory.NONE, GestureCategory.OPEN_PALM, GestureCategory.VICTORY, GestureCategory.THUMB_UP
+    };
+
+    private static class Run {
+        final int[] classes;     // 每帧类别在 CLASSES 中的下标
+        final boolean[] hands;   // 每帧是否检测到手
+        final long[] latencyNs;
+
+        Run(int frames) {
+            classes = new int[frames];
+            hands = new boolean[frames];
+            latencyNs = new long[frames];
+        }
+    }
+
+    @Test
+    public void compareEnginesOnRecordedFrames() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        File directory = context.getExternalFilesDir(GestureFrameRecorder.DIRECTORY);
+        File[] files = directory != null ? directory.listFiles((dir, name) -> name.endsWith(".png")) : null;
+        assumeTrue("没有录制帧，先开启 RECORD_GESTURE_FRAMES 录制", files != null && files.length > 0);
+        Arrays.sort(files);
+
+        Run reference = run(context, GestureEngine.GESTURE_RECOGNIZER, files);
+        Run light = run(context, GestureEngine.HAND_LANDMARKER, files);
+
+        int frames = files.length;
+        int handAgree = 0;
+        int bothHands = 0;
+        int classAgree = 0;
+        int[][] confusion = new int[CLASSES.length][CLASSES.length];
+        for (int i = 0; i < frames; i++) {
+            if (reference.hands[i] == light.hands[i])
+                handAgree++;
+            if (!reference.hands[i] || !light.hands[i])
+                continue;
+            bothHands++;
+            confusion[reference.classes[i]][light.classes[i]]++;
+            if (reference.classes[i] == light.classes[i])
+                classAgree++;
+        }
+
+        Log.i(TAG, String.format(Locale.US, "frames=%d handAgreement=%.1f%% gestureAgreement=%.1f%% (%d/%d frames with a hand)",
+                frames, 100f * handAgree / frames, bothHands > 0 ? 100f * classAgree / bothHands : 0f,
+                classAgree, bothHands));
+        // 行：GestureRecognizer；列：HandLandmarker + 规则分类
+        StringBuilder header = new StringBuilder("confusion (rows=recognizer, cols=landmarker):");
+        for (GestureCategory c : CLASSES) {
+            header.append(' ').append(c.getLabel());
+        }
+        Log.i(TAG, header.toString());
+        for (int r = 0; r < CLASSES.length; r++) {
+            Log.i(TAG, CLASSES[r].getLabel() + " " + Arrays.toString(confusion[r]));
+        }
+        logLatency(GestureEngine.GESTURE_RECOGNIZER, reference.latencyNs);
+        logLatency(GestureEngine.HAND_LANDMARKER, light.latencyNs);
+    }
+
+    private Run run(Context context, GestureEngine kind, File[] files) {
+        Run run = new Run(files.length);
+        HandEngine engine = create(context, kind);
+        try {
+            long timestampMs = 0;
+            for (int i = 0; i < files.length; i++) {
+                Bitmap bitmap = BitmapFactory.decodeFile(files[i].getPath());
+                assertNotNull(files[i].getName(), bitmap);
+                MPImage image = new BitmapImageBuilder(bitmap).build();
+                // 文件名即传感器时间戳 (纳秒)，保留真实的帧间隔；MediaPipe 要求严格递增
+                timestampMs = Math.max(timestampMs + 1, frameTimestampMs(files[i]));
+                long start = System.nanoTime();
+                HandResult result = engine.detectForVideo(image, timestampMs);
+                run.latencyNs[i] = System.nanoTime() - start;
+                run.hands[i] = result.landmarks != null;
+                run.classes[i] = classIndex(result.category);
+                bitmap.recycle();
+            }
+        } finally {
+            engine.close();
+        }
+        return run;
+    }
+
+    private static long frameTimestampMs(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(0, name.length() - ".png".length())) / 1_000_000L;
+    }
+
+    // 与线上一致：优先 GPU，不可用时 CPU
+    private static HandEngine create(Context context, GestureEngine kind) {
+        try {
+            return HandEngine.create(context, kind, Delegate.GPU, InferenceMode.VIDEO, null);
+        } catch (Exception e) {
+            Log.w(TAG, kind + " GPU 不可用，改用 CPU: " + e.getMessage());
+            return HandEngine.create(context, kind, Delegate.CPU, InferenceMode.VIDEO, null);
+        }
+    }
+
+    private static int classIndex(GestureCategory category) {
+        for (int i = 0; i < CLASSES.length; i++) {
+            if (CLASSES[i] == category)
+                return i;
+        }
+        return 0;
+    }
+
+    private static void logLatency(GestureEngine kind, long[] latencyNs) {
+        long[] sorted = latencyNs.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        Log.i(TAG, String.format(Locale.US, "%s latency p50=%.2fms p90=%.2fms max=%.2fms", kind,
+                sorted[n / 2] / 1e6, sorted[Math.min(n - 1, n * 9 / 10)] / 1e6, sorted[n - 1] / 1e6));
+    }
+}
@@ -4,9 +4,11 @@ import android.Manifest;
 import android.content.Context;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
+import android.graphics.BitmapRegionDecoder;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -14,6 +16,7 @@ import android.os.Vibrator;
 import android.provider.MediaStore;
 import android.util.DisplayMetrics;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
@@ -29,16 +32,34 @@ import androidx.core.app.ActivityCompat;
 import com.ffalcon.mercury.android.sdk.ui.activity.BaseMirrorActivity;
 import com.narc.arclient.audio.AudioRecorder;
 import com.narc.arclient.camera.ICameraManager;
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.camera.frame.YuvFrameRing;
 import com.narc.arclient.databinding.ActivityMainBinding;
+import com.narc.arclient.entity.CaptureRegion;
 import com.narc.arclient.entity.RecognizeTask;
 import com.narc.arclient.entity.RenderData;
+import com.narc.arclient.entity.UiEvent;
+import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.enums.CaptureEncoding;
+import com.narc.arclient.enums.CaptureMode;
+import com.narc.arclient.enums.StreamMode;
+import com.narc.arclient.enums.UiEventType;
+import com.narc.arclient.enums.YuvSnapshotMode;
+import com.narc.arclient.image.ParallelYuvConverter;
+import com.narc.arclient.image.YuvJpegEncoder;
 import com.narc.arclient.network.WebSocketManager;
 import com.narc.arclient.process.ProcessorManager;
+import com.narc.arclient.process.RenderStateSlot;
+import com.narc.arclient.process.UiEventQueue;
 import com.narc.arclient.process.processor.RecognizeProcessor;
 import com.narc.arclient.process.processor.RenderProcessor;
 import com.narc.arclient.process.processor.SendRemoteProcessor;
+import com.narc.arclient.utils.SensorClock;
 import com.narc.arclient.utils.TTSManager;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
 public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
 
     private static final String TAG = "SilverSight";
@@ -64,6 +85,7 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
     private static final long CLOSE_HOLD_MS = 800; // 张手关闭所需时长
     private long lastTriggerTime = 0;
     private static final long COOLDOWN_MS = 8000; // 改为8秒防抖
+    private static final long PINCH_COOLDOWN_MS = 1500; // 捏合是明确的主动操作，只防连捏误触
     private boolean isMicEnabled = false;
 
     // 最近一帧的渲染数据，用于硬件按键触发时复用指尖坐标
@@ -554,10 +576,43 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
     }
 
     /**
-     * 核心循环：更新 AR 视图
-     * 被 ProcessorManager 调用
+     * 核心循环：更新 AR 视图 (模拟器调试按钮直接调用；真机走 pumpUiState)
      */
     public void updateView(RenderData renderData, RecognizeTask recognizeTask) {
+        applyRenderState(renderData);
+        if (renderData != null && renderData.isTriggered()) {
+            handleObjectTrigger(renderData, recognizeTask);
+        }
+    }
+
+    /**
+     * 每个 vsync 在绘制之前调用一次 (CustomDrawView.doFrame)：取推理侧最新状态 (积压的旧结果已被覆盖)，再分发离散事件
+     * 推理线程不再向主线程 post 消息，主线程繁忙时也不会堆积
+     */
+    private void pumpUiState() {
+        RecognizeProcessor recognizeProcessor = RecognizeProcessor.getInstance();
+        if (recognizeProcessor != null) {
+            RenderStateSlot renderState = recognizeProcessor.getRenderState();
+            if (renderState.hasUpdate()) {
+                applyRenderState(renderState.take());
+            }
+        }
+
+        UiEventQueue events = UiEventQueue.getInstance();
+        UiEvent event;
+        while ((event = events.poll()) != null) {
+            if (event.getType() == UiEventType.OBJECT_TRIGGER) {
+                handleObjectTrigger(event.getRenderData(), event.getTask());
+            } else if (RenderProcessor.getInstance() != null) {
+                RenderProcessor.getInstance().dispatchClick(event);
+            }
+        }
+    }
+
+    /**
+     * 连续状态：光标数据、张手关闭读条、卡片跟随 (每帧最新结果应用一次即可)
+     */
+    private void applyRenderState(RenderData renderData) {
         // 1. 将数据传递给渲染层 (画光标、按钮)
         // if (renderData != null) {
         // Log.d(TAG, "🎨 updateView: 指尖=" + String.format("(%.3f, %.3f)",
@@ -569,20 +624,15 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
         if (RenderProcessor.getInstance() != null) {
             RenderProcessor.getInstance().setRenderData(renderData);
         }
-        if (renderData != null) {
-            lastRenderData = renderData;
-        } else {
-        }
-
         if (renderData == null)
             return;
+        lastRenderData = renderData;
 
-        // 2. 处理手势触发的【视觉识别】(HTTP 拍照)
+        // 2. 分析中：张手长按关闭卡片，卡片跟随手指
         if (isAnalyzing) {
             //Log.d(TAG, "🔄 [分析中] isAnalyzing=true, openPalm=" + renderData.isOpenPalm());
-            // 如果正在分析中...
             if (renderData.isOpenPalm()) {
-                long now = System.currentTimeMillis();
+                long now = SensorClock.toMillis(renderData.getFrameTimestampNs());
                 if (openPalmStartTime == 0)
                     openPalmStartTime = now;
                 float holdProgress = Math.min(1f, (float) (now - openPalmStartTime) / CLOSE_HOLD_MS);
@@ -598,32 +648,40 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
             }
             // 更新卡片位置跟随手指
             updateCardPosition(renderData.getTipX(), renderData.getTipY());
+        }
+    }
 
+    /**
+     * 离散事件：悬停 / 捏合触发 (每次触发只处理一次，不会被后续帧的状态覆盖)
+     */
+    private void handleObjectTrigger(RenderData renderData, RecognizeTask recognizeTask) {
+        if (isAnalyzing) {
             // 检查是否有 HTTP 识别结果返回
             if (recognizeTask != null && recognizeTask.getRecognizeResult() != null) {
-                runOnUiThread(() -> {
-                    // 显示 HTTP 返回的图片识别结果
-                    setCardText(recognizeTask.getRecognizeResult(), "视觉识别成功", Color.GREEN);
-                    triggerVibration();
-                    // 不自动关闭，等待用户张手关闭
-                });
+                // 显示 HTTP 返回的图片识别结果
+                setCardText(recognizeTask.getRecognizeResult(), "视觉识别成功", Color.GREEN);
+                triggerVibration();
+                // 不自动关闭，等待用户张手关闭
             }
+            return;
+        }
 
-        } else {
-            // 3. 如果未处于分析状态，且触发了悬停 (isTriggered)
-            // 且不在麦克风录音模式下 (避免冲突)
-            if (renderData.isTriggered() && !isMicEnabled) {
-                long now = System.currentTimeMillis();
-                Log.d(TAG, "👆 [触发检测] isTriggered=true, 冷却时间=" + (now - lastTriggerTime) + "ms, COOLDOWN=" + COOLDOWN_MS
-                        + "ms");
-                if (now - lastTriggerTime > COOLDOWN_MS) {
-                    Log.d(TAG, "✅ [触发成功] 冷却已过，开始分析");
-                    RenderProcessor.getInstance().setLocked(true);
-                    RenderProcessor.getInstance().setCloseProgress(0f);
-                    openPalmStartTime = 0;
-                    lastTriggerTime = now;
-                    performPhotoCapture(renderData.getTipX(), renderData.getTipY(), "悬停触发");
-                }
+        // 3. 如果未处于分析状态，且触发了悬停 (isTriggered)
+        // 且不在麦克风录音模式下 (避免冲突)
+        if (!isMicEnabled) {
+            long now = SensorClock.toMillis(renderData.getFrameTimestampNs());
+            boolean pinch = renderData.isPinchTriggered();
+            long cooldown = pinch ? PINCH_COOLDOWN_MS : COOLDOWN_MS;
+            Log.d(TAG, "👆 [触发检测] isTriggered=true, pinch=" + pinch + ", 冷却时间=" + (now - lastTriggerTime)
+                    + "ms, COOLDOWN=" + cooldown + "ms");
+            if (now - lastTriggerTime > cooldown) {
+                Log.d(TAG, "✅ [触发成功] 冷却已过，开始分析");
+                RenderProcessor.getInstance().setLocked(true);
+                RenderProcessor.getInstance().setCloseProgress(0f);
+                openPalmStartTime = 0;
+                lastTriggerTime = now;
+                long frameTimestampNs = recognizeTask != null ? recognizeTask.getFrameTimestampNs() : 0;
+                performPhotoCapture(renderData, pinch ? "捏合触发" : "悬停触发", frameTimestampNs);
             }
         }
     }
@@ -676,19 +734,39 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
     }
 
     // 自定义 View 类
-    public class CustomDrawView extends View {
+    // 由 Choreographer 驱动：每个 vsync 的动画阶段先拉取状态与事件 (此时改其它 View 是安全的)，再在绘制阶段画光标
+    public class CustomDrawView extends View implements Choreographer.FrameCallback {
         public CustomDrawView(Context context) {
             super(context);
             setBackgroundColor(Color.TRANSPARENT);
         }
 
+        @Override
+        protected void onAttachedToWindow() {
+            super.onAttachedToWindow();
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        protected void onDetachedFromWindow() {
+            Choreographer.getInstance().removeFrameCallback(this);
+            super.onDetachedFromWindow();
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            // 推理结果与离散事件都在帧开始时拉取，每个 vsync 只取一次
+            pumpUiState();
+            invalidate();
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
         @Override
         protected void onDraw(Canvas canvas) {
             super.onDraw(canvas);
             if (RenderProcessor.getInstance() != null) {
                 RenderProcessor.getInstance().draw(canvas);
             }
-            postInvalidateOnAnimation();
         }
     }
 
@@ -696,7 +774,8 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
      * 单击右侧镜腿硬件键触发拍照/识别，复用与手势一致的流水线
      */
     private boolean tryTriggerCaptureViaHardware() {
-        long now = System.currentTimeMillis();
+        // 与悬停触发共用 lastTriggerTime，需在同一时钟下比较
+        long now = SensorClock.nowMs();
         Log.d(TAG, "🔳 [硬件拍照] 开始触发检查...");
 
         if (isMicEnabled) {
@@ -724,69 +803,225 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
         }
 
         Log.d(TAG, "🔳 [硬件拍照] 状态检查通过，准备拍照...");
-        performPhotoCapture(lastRenderData.getTipX(), lastRenderData.getTipY(), "硬件按键触发");
+        performPhotoCapture(lastRenderData, "硬件按键触发", 0);
         return true;
     }
 
     /**
      * 通用拍照上传方法 - 被悬停触发和硬件按键触发共用
+     *
+     * @param trigger          触发时刻的识别结果 (指尖位置、手部大小)，决定上传区域
+     * @param frameTimestampNs 触发帧的传感器时间戳，0 表示没有对应的识别帧（硬件按键）
      */
-    private void performPhotoCapture(float tipX, float tipY, String source) {
+    private void performPhotoCapture(RenderData trigger, String source, long frameTimestampNs) {
         isAnalyzing = true;
         triggerVibration();
 
-        RecognizeTask.HighResYUVCache yuvCache = RecognizeTask.getLatestHighResYUV();
-        Log.d(TAG, "📷 [" + source + "] YUV缓存: " + (yuvCache != null ? "有效" : "为null"));
+        YuvFrameRing ring = YuvFrameRing.getInstance();
+        if (CameraEnums.STREAM_MODE == StreamMode.DUAL_STREAM) {
+            // 双流：高清图由静态拍照输出的硬件 JPEG 提供，不依赖帧环
+            captureFromStill(trigger, source);
+        } else if (frameTimestampNs > 0) {
+            // 悬停 / 捏合触发：读条 (或合拢进度) 过半时已 armed，触发帧本身已完整拷贝进帧环；一帧内直接捏合时取最近的一帧
+            captureFromFrame(ring.acquireNearest(frameTimestampNs), trigger, source);
+        } else if (CameraEnums.YUV_SNAPSHOT_MODE == YuvSnapshotMode.ON_ARMED) {
+            // 硬件按键触发：无法提前 armed，请求相机线程把下一帧完整拷贝进帧环
+            long triggerTimestampNs = ring.getLastFrameTimestampNs();
+            ring.requestSnapshot();
+            awaitSnapshot(trigger, source, triggerTimestampNs, CameraEnums.SNAPSHOT_WAIT_FRAMES);
+        } else {
+            captureFromFrame(ring.acquireLatest(), trigger, source);
+        }
+    }
+
+    /**
+     * 等待相机线程完成快照：帧环里出现不早于触发时刻的帧即开始处理，超时按失败处理
+     */
+    private void awaitSnapshot(RenderData trigger, String source, long triggerTimestampNs, int retriesLeft) {
+        YuvFrame frame = YuvFrameRing.getInstance().acquireLatest();
+        if (frame != null && frame.timestampNs >= triggerTimestampNs) {
+            captureFromFrame(frame, trigger, source);
+            return;
+        }
+        if (frame != null) {
+            frame.release();
+        }
+        if (retriesLeft <= 0) {
+            captureFromFrame(null, trigger, source);
+            return;
+        }
+        new Handler(Looper.getMainLooper()).postDelayed(
+                () -> awaitSnapshot(trigger, source, triggerTimestampNs, retriesLeft - 1),
+                1000 / CameraEnums.FPS);
+    }
 
-        if (yuvCache == null) {
+    /**
+     * 从已持有引用的高清帧生成图片并上传（用完即 release），yuvFrame 为 null 时按失败处理
+     * UI 线程只负责弹出卡片，整帧编码、保存与上传都在线程池里完成，拍照时界面不再卡顿
+     */
+    private void captureFromFrame(YuvFrame yuvFrame, RenderData trigger, String source) {
+        Log.d(TAG, "📷 [" + source + "] YUV缓存: " + (yuvFrame != null ? "有效" : "为null"));
+
+        if (yuvFrame == null) {
             updateStatus("未获取到高清帧，稍后重试");
             Log.w(TAG, "📷 [" + source + "] 失败：YUV缓存为null");
             isAnalyzing = false;
             return;
         }
 
-        Log.d(TAG, "📷 [" + source + "] 开始生成完整高清图");
-        Bitmap fullHighResBitmap = convertFullYUVToRGB(yuvCache);
-        if (fullHighResBitmap != null) {
-            Log.d(TAG, "📷 [" + source + "] 完整高清图生成成功: " + fullHighResBitmap.getWidth() + "x" + fullHighResBitmap.getHeight());
-            Bitmap saveCopy = fullHighResBitmap.copy(Bitmap.Config.ARGB_8888, true);
-            saveDebugImage(saveCopy, tipX, tipY);
-
-            startCardSequence();
-
-            ProcessorManager.normalExecutor.execute(() -> {
-                try {
-                    Log.d(TAG, "📷 [" + source + "] 线程池: 开始上传");
-                    RecognizeTask uploadTask = new RecognizeTask(fullHighResBitmap);
-                    SendRemoteProcessor processor = new SendRemoteProcessor();
-                    RecognizeTask result = processor.process(uploadTask);
-                    Log.i(TAG, "📷 [" + source + "] 高清全图上传完成, result=" + result);
+        startCardSequence();
 
-                    runOnUiThread(() -> {
-                        if (result != null && result.getRecognizeResult() != null) {
-                            Log.d(TAG, "📷 [" + source + "] 识别结果: " + result.getRecognizeResult());
-                            setCardText("识别结果", result.getRecognizeResult(), 
-                                getResources().getColor(R.color.status_success, null));
-                        } else {
-                            Log.w(TAG, "📷 [" + source + "] 结果为空");
-                        }
-                    });
-                } catch (Exception e) {
-                    Log.e(TAG, "📷 [" + source + "] 上传失败", e);
-                    runOnUiThread(() -> setCardText("识别失败", "网络错误，请重试", 
+        ProcessorManager.normalExecutor.execute(() -> {
+            RecognizeTask uploadTask = encodeCapture(yuvFrame, trigger, source);
+            if (uploadTask == null) {
+                Log.w(TAG, "📷 [" + source + "] 失败：完整高清图生成失败");
+                runOnUiThread(() -> setCardText("识别失败", "未获取到高清帧，稍后重试",
                         getResources().getColor(R.color.status_error, null)));
-                } finally {
-                    if (fullHighResBitmap != null && !fullHighResBitmap.isRecycled()) {
-                        fullHighResBitmap.recycle();
+                return;
+            }
+            uploadCapture(uploadTask, source);
+        });
+    }
+
+    /**
+     * 双流模式拍照：向相机发起一次静态拍照请求，ISP 硬件编码的 JPEG 回调后在线程池里裁剪 / 上传
+     * 分析流与静态流宽高比一致，指尖归一化坐标可直接映射到 JPEG 像素坐标
+     */
+    private void captureFromStill(RenderData trigger, String source) {
+        long requestStart = System.currentTimeMillis();
+        boolean submitted = ICameraManager.getInstance().captureStill((jpeg, width, height, timestampNs) ->
+                ProcessorManager.normalExecutor.execute(() -> {
+                    if (jpeg == null) {
+                        Log.w(TAG, "📷 [" + source + "] 失败：静态拍照未返回图像");
+                        runOnUiThread(() -> setCardText("识别失败", "未获取到高清帧，稍后重试",
+                                getResources().getColor(R.color.status_error, null)));
+                        return;
+                    }
+                    Log.d(TAG, "📷 [" + source + "] 静态拍照完成 " + width + "x" + height + ", "
+                            + jpeg.length / 1024 + "KB, 耗时 " + (System.currentTimeMillis() - requestStart) + "ms");
+
+                    CaptureRegion region = computeCaptureRegion(width, height, trigger);
+                    byte[] uploadJpeg = region.isFullFrame() ? jpeg : cropJpeg(jpeg, region);
+                    if (uploadJpeg == null) {
+                        runOnUiThread(() -> setCardText("识别失败", "未获取到高清帧，稍后重试",
+                                getResources().getColor(R.color.status_error, null)));
+                        return;
                     }
-                    Log.d(TAG, "📷 [" + source + "] 完成，等待张手关闭");
+                    RecognizeTask uploadTask = new RecognizeTask(null);
+                    uploadTask.setJpegBytes(uploadJpeg);
+                    uploadTask.setCaptureRegion(region);
+                    saveDebugJpeg(uploadJpeg);
+                    uploadCapture(uploadTask, source);
+                }));
+
+        if (!submitted) {
+            updateStatus("未获取到高清帧，稍后重试");
+            Log.w(TAG, "📷 [" + source + "] 失败：静态拍照请求未能提交");
+            isAnalyzing = false;
+            return;
+        }
+        startCardSequence();
+    }
+
+    /**
+     * 只解码 JPEG 中的上传区域并重新压缩，整幅高清图不会完整解码进内存
+     *
+     * @return 区域 JPEG 字节，失败返回 null
+     */
+    private byte[] cropJpeg(byte[] jpeg, CaptureRegion region) {
+        Bitmap roi = null;
+        try {
+            BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(jpeg, 0, jpeg.length, false);
+            roi = decoder.decodeRegion(new Rect(region.getLeft(), region.getTop(),
+                    region.getLeft() + region.getWidth(), region.getTop() + region.getHeight()), null);
+            decoder.recycle();
+            if (roi == null)
+                return null;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            roi.compress(Bitmap.CompressFormat.JPEG, CameraEnums.CAPTURE_JPEG_QUALITY, out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            Log.e(TAG, "JPEG 区域解码失败", e);
+            return null;
+        } finally {
+            if (roi != null) {
+                roi.recycle();
+            }
+        }
+    }
+
+    /**
+     * 上传已编码的拍照任务并把识别结果显示到卡片上（线程池中调用）
+     */
+    private void uploadCapture(RecognizeTask uploadTask, String source) {
+        try {
+            Log.d(TAG, "📷 [" + source + "] 线程池: 开始上传");
+            SendRemoteProcessor processor = new SendRemoteProcessor();
+            RecognizeTask result = processor.process(uploadTask);
+            Log.i(TAG, "📷 [" + source + "] 高清全图上传完成, result=" + result);
+
+            runOnUiThread(() -> {
+                if (result != null && result.getRecognizeResult() != null) {
+                    Log.d(TAG, "📷 [" + source + "] 识别结果: " + result.getRecognizeResult());
+                    setCardText("识别结果", result.getRecognizeResult(), 
+                        getResources().getColor(R.color.status_success, null));
+                } else {
+                    Log.w(TAG, "📷 [" + source + "] 结果为空");
                 }
             });
+        } catch (Exception e) {
+            Log.e(TAG, "📷 [" + source + "] 上传失败", e);
+            runOnUiThread(() -> setCardText("识别失败", "网络错误，请重试", 
+                getResources().getColor(R.color.status_error, null)));
+        } finally {
+            Bitmap fullHighResBitmap = uploadTask.getOriginBitmap();
+            if (fullHighResBitmap != null && !fullHighResBitmap.isRecycled()) {
+                fullHighResBitmap.recycle();
+            }
+            Log.d(TAG, "📷 [" + source + "] 完成，等待张手关闭");
+        }
+    }
+
+    /**
+     * 按 CameraEnums.CAPTURE_ENCODING 编码拍照帧并保存调试图片（线程池中调用，结束时 release 帧）
+     *
+     * @return 待上传的任务，编码失败返回 null
+     */
+    private RecognizeTask encodeCapture(YuvFrame yuvFrame, RenderData trigger, String source) {
+        long encodeStart = System.currentTimeMillis();
+        RecognizeTask uploadTask;
+        CaptureRegion region;
+        try {
+            // 只转换 / 编码上传区域，ROI 模式下不再处理整帧
+            region = computeCaptureRegion(yuvFrame.width, yuvFrame.height, trigger);
+            Log.d(TAG, "📷 [" + source + "] 线程池: 开始生成高清图 (" + CameraEnums.CAPTURE_ENCODING + ", "
+                    + CameraEnums.CAPTURE_MODE + " " + region + ")");
+            if (CameraEnums.CAPTURE_ENCODING == CaptureEncoding.JPEG_YUV) {
+                byte[] jpeg = encodeYUVToJpeg(yuvFrame, region);
+                if (jpeg == null)
+                    return null;
+                uploadTask = new RecognizeTask(null);
+                uploadTask.setJpegBytes(jpeg);
+            } else {
+                Bitmap highResBitmap = cropYUVToRGB(yuvFrame, region.getLeft(), region.getTop(),
+                        region.getWidth(), region.getHeight());
+                if (highResBitmap == null)
+                    return null;
+                uploadTask = new RecognizeTask(highResBitmap);
+            }
+        } finally {
+            yuvFrame.release();
+        }
+        uploadTask.setCaptureRegion(region);
+        Log.d(TAG, "📷 [" + source + "] 高清图生成成功, 耗时 " + (System.currentTimeMillis() - encodeStart) + "ms");
+
+        if (uploadTask.getJpegBytes() != null) {
+            saveDebugJpeg(uploadTask.getJpegBytes());
         } else {
-            updateStatus("未获取到高清帧，稍后重试");
-            Log.w(TAG, "📷 [" + source + "] 失败：完整高清图生成失败");
-            isAnalyzing = false;
+            Bitmap saveCopy = uploadTask.getOriginBitmap().copy(Bitmap.Config.ARGB_8888, true);
+            saveDebugImage(saveCopy, trigger.getTipX(), trigger.getTipY());
         }
+        return uploadTask;
     }
 
     // 更新 AR 卡片位置
@@ -1005,27 +1240,11 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
                 // canvas.drawCircle(pixelX, pixelY, 50f, paint);
 
                 // 【方案1】使用 PNG 无损格式保存
-                String timestamp = new java.text.SimpleDateFormat("yyyyMMdd_HHmmss", java.util.Locale.getDefault())
-                        .format(new java.util.Date());
-                String filename = "AR_" + timestamp + ".png";
-
-                android.content.ContentValues values = new android.content.ContentValues();
-                values.put(android.provider.MediaStore.Images.Media.DISPLAY_NAME, filename);
-                values.put(android.provider.MediaStore.Images.Media.MIME_TYPE, "image/png");
-                values.put(android.provider.MediaStore.Images.Media.RELATIVE_PATH,
-                        android.os.Environment.DIRECTORY_PICTURES + "/SensoryAI");
-
-                android.net.Uri uri = getContentResolver()
-                        .insert(android.provider.MediaStore.Images.Media.EXTERNAL_CONTENT_URI, values);
-                if (uri != null) {
-                    java.io.OutputStream out = getContentResolver().openOutputStream(uri);
-                    if (out != null) {
-                        // PNG 无损压缩（quality 参数对 PNG 无效，但保留写法）
-                        mutableBitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
-                        out.close();
-                        Log.d(TAG, "✅ PNG 无损图片已保存: " + filename);
-                    }
-                }
+                // PNG 无损压缩（quality 参数对 PNG 无效，但保留写法）
+                String filename = writeDebugImage("png", "image/png",
+                        out -> mutableBitmap.compress(Bitmap.CompressFormat.PNG, 100, out));
+                if (filename != null)
+                    Log.d(TAG, "✅ PNG 无损图片已保存: " + filename);
 
                 mutableBitmap.recycle();
             } catch (Exception e) {
@@ -1038,123 +1257,103 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
         }).start();
     }
 
+    // 保存调试图片 (已编码的 JPEG，直接写入相册，无需再解码 / 压缩)
+    private void saveDebugJpeg(byte[] jpeg) {
+        new Thread(() -> {
+            try {
+                String filename = writeDebugImage("jpg", "image/jpeg", out -> out.write(jpeg));
+                if (filename != null)
+                    Log.d(TAG, "✅ JPEG 图片已保存: " + filename + " (" + jpeg.length / 1024 + "KB)");
+            } catch (Exception e) {
+                Log.e(TAG, "Save Error", e);
+            }
+        }).start();
+    }
+
+    // 调试图片的内容写入 (PNG 压缩 / 直接写 JPEG 字节)
+    private interface DebugImageWriter {
+        void write(java.io.OutputStream out) throws java.io.IOException;
+    }
+
     /**
-     * ✅ 从高清 YUV 缓存数据裁剪指尖周围区域
-     * 
-     * @param cache 高清 YUV 缓存数据 (1920x1080)
-     * @param tipX  指尖 X 坐标 (0-1 归一化)
-     * @param tipY  指尖 Y 坐标 (0-1 归一化)
-     * @return 裁剪后的高清 Bitmap (约 600x600)
+     * 在相册 Pictures/SensoryAI 下新建 AR_时间戳.extension 并写入内容 (调用方所在的后台线程执行)
+     *
+     * @return 文件名；相册条目或输出流创建失败时返回 null
      */
-    private Bitmap cropHighResFromYUV(RecognizeTask.HighResYUVCache cache, float tipX, float tipY) {
-        if (cache == null) {
-            Log.w(TAG, "YUV 缓存为空，无法裁剪");
+    private String writeDebugImage(String extension, String mimeType, DebugImageWriter writer)
+            throws java.io.IOException {
+        String timestamp = new java.text.SimpleDateFormat("yyyyMMdd_HHmmss", java.util.Locale.getDefault())
+                .format(new java.util.Date());
+        String filename = "AR_" + timestamp + "." + extension;
+
+        android.content.ContentValues values = new android.content.ContentValues();
+        values.put(android.provider.MediaStore.Images.Media.DISPLAY_NAME, filename);
+        values.put(android.provider.MediaStore.Images.Media.MIME_TYPE, mimeType);
+        values.put(android.provider.MediaStore.Images.Media.RELATIVE_PATH,
+                android.os.Environment.DIRECTORY_PICTURES + "/SensoryAI");
+
+        android.net.Uri uri = getContentResolver()
+                .insert(android.provider.MediaStore.Images.Media.EXTERNAL_CONTENT_URI, values);
+        if (uri == null)
             return null;
+        try (java.io.OutputStream out = getContentResolver().openOutputStream(uri)) {
+            if (out == null)
+                return null;
+            writer.write(out);
         }
+        return filename;
+    }
 
-        try {
-            int fullWidth = 1920;
-            int fullHeight = 1080;
-
-            // 计算指尖在原图的像素坐标
-            int centerX = (int) (tipX * fullWidth);
-            int centerY = (int) (tipY * fullHeight);
-
-            // 裁剪区域大小（600x600）
-            int cropSize = 600;
-
-            // 计算裁剪起点，确保以指尖为中心
-            int cropLeft = centerX - cropSize / 2;
-            int cropTop = centerY - cropSize / 2;
-
-            // 边界处理：确保裁剪区域在图片范围内
-            if (cropLeft < 0)
-                cropLeft = 0;
-            if (cropTop < 0)
-                cropTop = 0;
-            if (cropLeft + cropSize > fullWidth)
-                cropLeft = fullWidth - cropSize;
-            if (cropTop + cropSize > fullHeight)
-                cropTop = fullHeight - cropSize;
-
-            Log.d(TAG, String.format("🔍 裁剪信息: 原图 %dx%d, 指尖 (%.2f,%.2f) = (%d,%d), 裁剪 [%d,%d,%d,%d]",
-                    fullWidth, fullHeight, tipX, tipY, centerX, centerY,
-                    cropLeft, cropTop, cropLeft + cropSize, cropTop + cropSize));
-
-            // 从 YUV 缓存数据裁剪指定区域并转换为 RGB Bitmap
-            return cropYUVToRGB(cache, cropLeft, cropTop, cropSize, cropSize);
+    /**
+     * ✅ 按 CameraEnums.CAPTURE_MODE 计算上传区域 (高清帧像素坐标)
+     * 指尖无效 (未检测到手) 或 FULL_FRAME 模式时返回整帧
+     *
+     * @param fullWidth  高清图宽 (YUV 帧或静态拍照 JPEG)
+     * @param fullHeight 高清图高
+     * @param trigger    触发时刻的识别结果，指尖坐标与手部大小均为 0-1 归一化
+     */
+    private CaptureRegion computeCaptureRegion(int fullWidth, int fullHeight, RenderData trigger) {
+        float tipX = trigger != null ? trigger.getTipX() : -1f;
+        float tipY = trigger != null ? trigger.getTipY() : -1f;
+        boolean tipValid = tipX > 0f && tipX < 1f && tipY > 0f && tipY < 1f;
+        if (CameraEnums.CAPTURE_MODE == CaptureMode.FULL_FRAME || !tipValid) {
+            return new CaptureRegion(0, 0, fullWidth, fullHeight, fullWidth, fullHeight);
+        }
 
-        } catch (Exception e) {
-            Log.e(TAG, "高清裁剪异常", e);
-            return null;
+        int cropSize = CameraEnums.CAPTURE_ROI_SIZE;
+        if (CameraEnums.CAPTURE_MODE == CaptureMode.ADAPTIVE_ROI && trigger.getHandWidth() > 0f) {
+            // 手越近 (外接框越大)，区域越大，保证手持物体完整入镜
+            float handPixels = Math.max(trigger.getHandWidth() * fullWidth, trigger.getHandHeight() * fullHeight);
+            cropSize = Math.max(CameraEnums.ADAPTIVE_ROI_MIN_SIZE, (int) (handPixels * CameraEnums.ADAPTIVE_ROI_HAND_SCALE));
         }
+        cropSize = Math.min(cropSize, Math.min(fullWidth, fullHeight)) & ~1;
+
+        // 以指尖为中心，越界时平移回图内；起点取偶数，与 4:2:0 色度对齐
+        int centerX = (int) (tipX * fullWidth);
+        int centerY = (int) (tipY * fullHeight);
+        int cropLeft = Math.max(0, Math.min(centerX - cropSize / 2, fullWidth - cropSize)) & ~1;
+        int cropTop = Math.max(0, Math.min(centerY - cropSize / 2, fullHeight - cropSize)) & ~1;
+
+        Log.d(TAG, String.format("🔍 裁剪信息: 原图 %dx%d, 指尖 (%.2f,%.2f) = (%d,%d), 裁剪 [%d,%d,%d,%d]",
+                fullWidth, fullHeight, tipX, tipY, centerX, centerY,
+                cropLeft, cropTop, cropLeft + cropSize, cropTop + cropSize));
+        return new CaptureRegion(cropLeft, cropTop, cropSize, cropSize, fullWidth, fullHeight);
     }
 
     /**
      * 从 YUV 缓存数据裁剪指定区域并转换为 RGB Bitmap
      */
-    private Bitmap cropYUVToRGB(RecognizeTask.HighResYUVCache cache, int startX, int startY, int width, int height) {
-        if (cache == null) {
+    private Bitmap cropYUVToRGB(YuvFrame cache, int startX, int startY, int width, int height) {
+        if (cache == null || cache.yData == null || cache.uData == null || cache.vData == null) {
             Log.w(TAG, "YUV 缓存为空");
             return null;
         }
 
         try {
-            byte[] yBytes = cache.yData;
-            byte[] uBytes = cache.uData;
-            byte[] vBytes = cache.vData;
-
-            if (yBytes == null || uBytes == null || vBytes == null) {
-                Log.w(TAG, "YUV 数据不完整");
-                return null;
-            }
-
-            int fullWidth = cache.width;
-            int yRowStride = cache.yRowStride;
-            int uvRowStride = cache.uvRowStride;
-            int uvPixelStride = cache.uvPixelStride;
-
             int[] pixels = new int[width * height];
-            int pixelIndex = 0;
-
-            for (int y = 0; y < height; y++) {
-                int srcY = startY + y;
-                int yRowOffset = srcY * yRowStride;
-                int uvRowOffset = (srcY / 2) * uvRowStride;
-
-                for (int x = 0; x < width; x++) {
-                    int srcX = startX + x;
-
-                    int yIndex = yRowOffset + srcX;
-                    int uvIndex = uvRowOffset + (srcX / 2) * uvPixelStride;
-
-                    if (yIndex >= yBytes.length)
-                        yIndex = yBytes.length - 1;
-                    if (uvIndex >= uBytes.length)
-                        uvIndex = uBytes.length - 1;
-                    if (uvIndex >= vBytes.length)
-                        uvIndex = vBytes.length - 1;
-
-                    int Y = (yBytes[yIndex] & 0xFF);
-                    int U = (uBytes[uvIndex] & 0xFF) - 128;
-                    int V = (vBytes[uvIndex] & 0xFF) - 128;
-
-                    // 标准 YUV 到 RGB 转换
-                    int R = (int) (Y + 1.370705f * V);
-                    int G = (int) (Y - 0.337633f * U - 0.698001f * V);
-                    int B = (int) (Y + 1.732446f * U);
-
-                    R = Math.max(0, Math.min(255, R));
-                    G = Math.max(0, Math.min(255, G));
-                    B = Math.max(0, Math.min(255, B));
-
-                    pixels[pixelIndex++] = 0xFF000000 | (R << 16) | (G << 8) | B;
-                }
-            }
-
+            ParallelYuvConverter.getInstance().crop(cache, startX, startY, width, height, pixels);
             Log.d(TAG, "✅ YUV 裁剪转换完成: " + width + "x" + height);
             return Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888);
-
         } catch (Exception e) {
             Log.e(TAG, "YUV 转换异常", e);
             return null;
@@ -1162,76 +1361,26 @@ public class MainActivity extends BaseMirrorActivity<ActivityMainBinding> {
     }
 
     /**
-     * 将完整的高清 YUV 数据转换为 RGB Bitmap（用于保存调试图片）
-     * 
-     * @param cache 高清 YUV 缓存数据 (1920x1080)
-     * @return 完整的高清 Bitmap
+     * 将高清 YUV 数据的指定区域直接编码为 JPEG（4:2:0 平面直出，不经过 ARGB / Bitmap）
+     *
+     * @param cache  高清 YUV 帧 (调用方需持有引用)
+     * @param region 编码区域
+     * @return JPEG 字节，失败返回 null
      */
-    private Bitmap convertFullYUVToRGB(RecognizeTask.HighResYUVCache cache) {
-        if (cache == null) {
+    private byte[] encodeYUVToJpeg(YuvFrame cache, CaptureRegion region) {
+        if (cache == null || cache.yData == null || cache.uData == null || cache.vData == null) {
             Log.w(TAG, "YUV 缓存为空");
             return null;
         }
 
         try {
-            byte[] yBytes = cache.yData;
-            byte[] uBytes = cache.uData;
-            byte[] vBytes = cache.vData;
-
-            if (yBytes == null || uBytes == null || vBytes == null) {
-                Log.w(TAG, "YUV 数据不完整");
-                return null;
-            }
-
-            int width = cache.width;
-            int height = cache.height;
-            int yRowStride = cache.yRowStride;
-            int uvRowStride = cache.uvRowStride;
-            int uvPixelStride = cache.uvPixelStride;
-
-            Log.d(TAG, String.format("📸 YUV转换参数: %dx%d, yStride=%d, uvStride=%d, uvPixelStride=%d",
-                    width, height, yRowStride, uvRowStride, uvPixelStride));
-
-            int[] pixels = new int[width * height];
-            int pixelIndex = 0;
-
-            for (int y = 0; y < height; y++) {
-                int yRowOffset = y * yRowStride;
-                int uvRowOffset = (y / 2) * uvRowStride;
-
-                for (int x = 0; x < width; x++) {
-                    int yIndex = yRowOffset + x;
-                    if (yIndex >= yBytes.length)
-                        yIndex = yBytes.length - 1;
-
-                    int uvIndex = uvRowOffset + (x / 2) * uvPixelStride;
-                    if (uvIndex >= uBytes.length)
-                        uvIndex = uBytes.length - 1;
-                    if (uvIndex >= vBytes.length)
-                        uvIndex = vBytes.length - 1;
-
-                    int Y = (yBytes[yIndex] & 0xFF);
-                    int U = (uBytes[uvIndex] & 0xFF) - 128;
-                    int V = (vBytes[uvIndex] & 0xFF) - 128;
-
-                    int R = (int) (Y + 1.370705f * V);
-                    int G = (int) (Y - 0.337633f * U - 0.698001f * V);
-                    int B = (int) (Y + 1.732446f * U);
-
-                    R = Math.max(0, Math.min(255, R));
-                    G = Math.max(0, Math.min(255, G));
-                    B = Math.max(0, Math.min(255, B));
-
-                    pixels[pixelIndex++] = 0xFF000000 | (R << 16) | (G << 8) | B;
-                }
-            }
-
-            Log.d(TAG, "✅ 完整高清图转换完成: " + width + "x" + height);
-            return Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888);
-
+            byte[] jpeg = new YuvJpegEncoder(CameraEnums.CAPTURE_JPEG_QUALITY).encode(cache,
+                    region.getLeft(), region.getTop(), region.getWidth(), region.getHeight());
+            Log.d(TAG, "✅ 高清 JPEG 编码完成: " + region.getWidth() + "x" + region.getHeight() + ", " + jpeg.length / 1024 + "KB");
+            return jpeg;
         } catch (Exception e) {
-            Log.e(TAG, "完整 YUV 转换异常", e);
+            Log.e(TAG, "YUV JPEG 编码异常", e);
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -8,9 +8,11 @@ import android.Manifest;
 import android.content.pm.PackageManager;
 import android.graphics.ImageFormat;
 import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCaptureSession;
 import android.hardware.camera2.CameraCharacteristics;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.params.StreamConfigurationMap;
 import android.media.ImageReader;
@@ -20,6 +22,7 @@ import android.os.Looper;
 import android.util.Log;
 import android.util.Range;
 import android.util.Size;
+import android.view.Surface;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
@@ -28,8 +31,12 @@ import androidx.core.app.ActivityCompat;
 import com.narc.arclient.MainActivity;
 import com.narc.arclient.camera.callback.CameraImageAvailableListener;
 import com.narc.arclient.camera.callback.CameraStateCallback;
+import com.narc.arclient.camera.callback.StillImageListener;
 import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.enums.CaptureCadence;
+import com.narc.arclient.enums.StreamMode;
 import com.narc.arclient.process.ProcessorManager;
+import com.narc.arclient.utils.SensorClock;
 
 import java.util.Arrays;
 import java.util.Comparator;
@@ -41,6 +48,15 @@ public class ICameraManager {
     private CameraDevice cameraDevice;
     private CaptureRequest.Builder captureRequestBuilder;
     private ImageReader imageReader;
+    // 双流模式：高清 JPEG 静态拍照输出 (单流模式下为 null)
+    private ImageReader stillReader;
+    private final StillImageListener stillListener = new StillImageListener();
+    private CameraCaptureSession captureSession;
+    // 与 CameraEnums.FPS 最匹配的 AE 目标帧率区间 (设备不支持时为 null)
+    private Range<Integer> aeFpsRange;
+    // 空闲模式的 AE 帧率区间 (与 CameraEnums.IDLE_FPS 最匹配，不支持时为 null，只靠软件限频)
+    private Range<Integer> idleAeFpsRange;
+    private boolean idleFrameRate = false; // 仅相机线程
 
     // 👇👇👇 核心优化：后台线程 Handler 👇👇👇
     private HandlerThread backgroundThread;
@@ -93,21 +109,33 @@ public class ICameraManager {
             Size[] sizes = map.getOutputSizes(ImageFormat.YUV_420_888);
 
             // 智能选择 1080p 分辨率
-            int width = 1920;
-            int height = 1080;
-            if (sizes != null) {
-                // 简单逻辑：找最接近 1920x1080 的
-                Arrays.sort(sizes, (o1, o2) -> Long.compare((long) o2.getWidth() * o2.getHeight(), (long) o1.getWidth() * o1.getHeight()));
-                for (Size size : sizes) {
-                    // 只要宽度在 1280 到 1920 之间都行
-                    if (size.getWidth() <= 1920 && size.getWidth() >= 1280) {
-                        width = size.getWidth();
-                        height = size.getHeight();
-                        break;
-                    }
-                }
+            int width;
+            int height;
+            if (CameraEnums.STREAM_MODE == StreamMode.DUAL_STREAM) {
+                // 双流：高清只走硬件 JPEG (仅拍照时出帧)，连续出帧的只有小尺寸分析流
+                Size stillSize = chooseHighResSize(map.getOutputSizes(ImageFormat.JPEG));
+                Size analysisSize = chooseAnalysisSize(sizes, stillSize);
+                width = analysisSize.getWidth();
+                height = analysisSize.getHeight();
+                Log.i(TAG, "📷 相机模式: 双流 | 分析 YUV " + analysisSize + " | 拍照 JPEG " + stillSize);
+
+                stillReader = ImageReader.newInstance(stillSize.getWidth(), stillSize.getHeight(), ImageFormat.JPEG, 2);
+                stillReader.setOnImageAvailableListener(stillListener, backgroundHandler);
+            } else {
+                Size highResSize = chooseHighResSize(sizes);
+                width = highResSize.getWidth();
+                height = highResSize.getHeight();
+                Log.i(TAG, "📷 相机模式: YUV_420_888 | 分辨率: " + width + "x" + height);
             }
-            Log.i(TAG, "📷 相机模式: YUV_420_888 | 分辨率: " + width + "x" + height);
+
+            // 帧时间戳的时基，SensorClock 据此取"现在"，用于计算曝光到上屏的延迟
+            SensorClock.setTimestampSource(characteristics.get(CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE));
+
+            aeFpsRange = chooseAeFpsRange(
+                    characteristics.get(CameraCharacteristics.CONTROL_AE_AVAILABLE_TARGET_FPS_RANGES), CameraEnums.FPS);
+            idleAeFpsRange = chooseAeFpsRange(
+                    characteristics.get(CameraCharacteristics.CONTROL_AE_AVAILABLE_TARGET_FPS_RANGES), CameraEnums.IDLE_FPS);
+            Log.i(TAG, "📷 AE 帧率区间: " + aeFpsRange + " (目标 " + CameraEnums.FPS + "fps), 空闲: " + idleAeFpsRange);
 
             // maxImages=2 减少延迟
             imageReader = ImageReader.newInstance(width, height, ImageFormat.YUV_420_888, 2);
@@ -122,6 +150,165 @@ public class ICameraManager {
         }
     }
 
+    /**
+     * 高清输出尺寸：宽度在 1280 ~ 1920 之间的最大尺寸，找不到时默认 1920x1080
+     */
+    private static Size chooseHighResSize(Size[] sizes) {
+        if (sizes != null) {
+            // 简单逻辑：找最接近 1920x1080 的
+            Size[] sorted = sizes.clone();
+            Arrays.sort(sorted, (o1, o2) -> Long.compare((long) o2.getWidth() * o2.getHeight(), (long) o1.getWidth() * o1.getHeight()));
+            for (Size size : sorted) {
+                // 只要宽度在 1280 到 1920 之间都行
+                if (size.getWidth() <= 1920 && size.getWidth() >= 1280) {
+                    return size;
+                }
+            }
+        }
+        return new Size(1920, 1080);
+    }
+
+    /**
+     * 分析流尺寸：与高清输出宽高比一致、宽度不小于 ANALYSIS_WIDTH 的最小尺寸，
+     * 保证分析流与拍照的归一化坐标一一对应；没有同比例尺寸时放宽比例要求
+     */
+    private static Size chooseAnalysisSize(Size[] sizes, Size highResSize) {
+        if (sizes == null || sizes.length == 0)
+            return new Size(CameraEnums.ANALYSIS_WIDTH, CameraEnums.ANALYSIS_WIDTH * highResSize.getHeight() / highResSize.getWidth());
+        Size best = null;
+        Size bestAnyAspect = null;
+        for (Size size : sizes) {
+            if (size.getWidth() < CameraEnums.ANALYSIS_WIDTH)
+                continue;
+            boolean sameAspect = (long) size.getWidth() * highResSize.getHeight() == (long) size.getHeight() * highResSize.getWidth();
+            if (sameAspect && (best == null || size.getWidth() < best.getWidth())) {
+                best = size;
+            }
+            if (bestAnyAspect == null || size.getWidth() < bestAnyAspect.getWidth()) {
+                bestAnyAspect = size;
+            }
+        }
+        if (best != null)
+            return best;
+        return bestAnyAspect != null ? bestAnyAspect : sizes[0];
+    }
+
+    /**
+     * 双流模式下发起一次高清 JPEG 拍照，结果通过 callback 在相机后台线程返回 (失败时 jpeg 为 null)
+     *
+     * @return 是否成功提交；单流模式、会话未就绪或已有拍照进行中时返回 false
+     */
+    public boolean captureStill(StillCaptureCallback callback) {
+        if (stillReader == null || captureSession == null || cameraDevice == null)
+            return false;
+        StillImageListener.Request request = stillListener.arm(callback);
+        if (request == null)
+            return false;
+        try {
+            CaptureRequest.Builder builder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
+            builder.addTarget(stillReader.getSurface());
+            builder.set(CaptureRequest.CONTROL_MODE, CaptureRequest.CONTROL_MODE_AUTO);
+            builder.set(CaptureRequest.CONTROL_AF_MODE, CaptureRequest.CONTROL_AF_MODE_CONTINUOUS_PICTURE);
+            builder.set(CaptureRequest.CONTROL_AE_MODE, CaptureRequest.CONTROL_AE_MODE_ON);
+            builder.set(CaptureRequest.CONTROL_AE_EXPOSURE_COMPENSATION, 1);
+            builder.set(CaptureRequest.CONTROL_AWB_MODE, CaptureRequest.CONTROL_AWB_MODE_AUTO);
+            // 不旋转，像素布局与分析流一致，指尖坐标可直接映射
+            builder.set(CaptureRequest.JPEG_ORIENTATION, 0);
+            builder.set(CaptureRequest.JPEG_QUALITY, (byte) CameraEnums.CAPTURE_JPEG_QUALITY);
+            captureSession.capture(builder.build(), new CameraCaptureSession.CaptureCallback() {
+                @Override
+                public void onCaptureStarted(@NonNull CameraCaptureSession session, @NonNull CaptureRequest captureRequest,
+                                             long timestamp, long frameNumber) {
+                    // 与该次拍照 JPEG 的 Image.getTimestamp 相同，据此配对，不接收上一次超时后迟到的帧
+                    stillListener.onCaptureStarted(request, timestamp);
+                }
+
+                @Override
+                public void onCaptureFailed(@NonNull CameraCaptureSession session, @NonNull CaptureRequest captureRequest,
+                                            @NonNull CaptureFailure failure) {
+                    Log.e(TAG, "📷 静态拍照失败, reason=" + failure.getReason());
+                    stillListener.fail(request);
+                }
+
+                @Override
+                public void onCaptureBufferLost(@NonNull CameraCaptureSession session, @NonNull CaptureRequest captureRequest,
+                                                @NonNull Surface target, long frameNumber) {
+                    Log.e(TAG, "📷 静态拍照缓冲丢失, frame=" + frameNumber);
+                    stillListener.fail(request);
+                }
+
+                @Override
+                public void onCaptureSequenceAborted(@NonNull CameraCaptureSession session, int sequenceId) {
+                    Log.e(TAG, "📷 静态拍照请求被中止, sequence=" + sequenceId);
+                    stillListener.fail(request);
+                }
+            }, backgroundHandler);
+            // 兜底：任何原因迟迟没有出图都撤销登记，否则之后的拍照全部 arm 失败
+            backgroundHandler.postDelayed(() -> {
+                if (stillListener.fail(request))
+                    Log.e(TAG, "📷 静态拍照超时 (" + CameraEnums.STILL_CAPTURE_TIMEOUT_MS + "ms)，已撤销");
+            }, CameraEnums.STILL_CAPTURE_TIMEOUT_MS);
+            return true;
+        } catch (CameraAccessException | IllegalStateException e) {
+            Log.e(TAG, "📷 静态拍照提交失败", e);
+            stillListener.disarm(request);
+            return false;
+        }
+    }
+
+    /**
+     * 相机线程调用：空闲 / 活跃切换时改变传感器出帧率 (重发 repeating 请求)
+     * 仅 REPEATING 节奏且设备有合适的空闲区间时生效，否则返回 false，由调用方软件限频
+     */
+    public boolean setIdleFrameRate(boolean idle) {
+        if (idle == idleFrameRate)
+            return true;
+        if (CameraEnums.CAPTURE_CADENCE != CaptureCadence.REPEATING || idleAeFpsRange == null || aeFpsRange == null
+                || captureSession == null || captureRequestBuilder == null)
+            return false;
+        try {
+            captureRequestBuilder.set(CaptureRequest.CONTROL_AE_TARGET_FPS_RANGE, idle ? idleAeFpsRange : aeFpsRange);
+            captureSession.setRepeatingRequest(captureRequestBuilder.build(), null, backgroundHandler);
+            idleFrameRate = idle;
+            Log.i(TAG, "📷 出帧率切换: " + (idle ? "空闲 " + idleAeFpsRange : "活跃 " + aeFpsRange));
+            return true;
+        } catch (CameraAccessException | IllegalStateException e) {
+            Log.w(TAG, "切换出帧率失败: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 双流模式的静态拍照结果回调
+    public interface StillCaptureCallback {
+        void onStillCaptured(byte[] jpeg, int width, int height, long timestampNs);
+    }
+
+    /**
+     * 选择与目标帧率最匹配的 AE 区间：
+     * 优先固定区间 [fps, fps]；其次上限等于 fps 且下限最高的区间；再次包含 fps 的最窄区间
+     */
+    private static Range<Integer> chooseAeFpsRange(Range<Integer>[] ranges, int fps) {
+        if (ranges == null || ranges.length == 0)
+            return null;
+        Range<Integer> best = null;
+        for (Range<Integer> range : ranges) {
+            if (range.getLower() == fps && range.getUpper() == fps)
+                return range;
+            if (range.getUpper() == fps && (best == null || best.getUpper() != fps || range.getLower() > best.getLower())) {
+                best = range;
+            }
+        }
+        if (best != null)
+            return best;
+        for (Range<Integer> range : ranges) {
+            if (range.contains(fps) && (best == null
+                    || range.getUpper() - range.getLower() < best.getUpper() - best.getLower())) {
+                best = range;
+            }
+        }
+        return best;
+    }
+
     // ... 其他 getter/setter 和权限回调保持不变 ...
 
     public void permissionResultCallback(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
@@ -138,5 +325,9 @@ public class ICameraManager {
     public void setCaptureRequestBuilder(CaptureRequest.Builder captureRequestBuilder) { this.captureRequestBuilder = captureRequestBuilder; }
     public AppCompatActivity getMainActivity() { return mainActivity; }
     public ImageReader getImageReader() { return imageReader; }
+    public ImageReader getStillReader() { return stillReader; }
+    public void setCaptureSession(CameraCaptureSession captureSession) { this.captureSession = captureSession; }
+    public Range<Integer> getAeFpsRange() { return aeFpsRange; }
+    public Handler getBackgroundHandler() { return backgroundHandler; }
     public static ICameraManager getInstance() { return iCameraManager; }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 
 import com.narc.arclient.camera.ICameraManager;
+import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.enums.CaptureCadence;
 import com.narc.arclient.process.ProcessorManager;
 
 import java.util.concurrent.TimeUnit;
@@ -20,6 +22,31 @@ public class CameraCaptureStateCallback extends CameraCaptureSession.StateCallba
 
     @Override
     public void onConfigured(@NonNull CameraCaptureSession session) {
+        ICameraManager.getInstance().setCaptureSession(session);
+        if (CameraEnums.CAPTURE_CADENCE == CaptureCadence.REPEATING) {
+            startRepeating(session);
+        } else {
+            startScheduled(session);
+        }
+    }
+
+    /**
+     * 连续出帧：一次 setRepeatingRequest，之后由传感器按 AE 帧率区间出帧，不再依赖定时器线程
+     */
+    private void startRepeating(CameraCaptureSession session) {
+        try {
+            session.setRepeatingRequest(ICameraManager.getInstance().getCaptureRequestBuilder().build(), null,
+                    ICameraManager.getInstance().getBackgroundHandler());
+            Log.i(TAG, "📷 取帧节奏: REPEATING, AE 帧率区间 " + ICameraManager.getInstance().getAeFpsRange());
+        } catch (CameraAccessException e) {
+            Log.e(TAG, e.toString());
+        }
+    }
+
+    /**
+     * 旧方案：scheduledExecutor 每 1000/FPS ms 发一次 captureSingleRequest (与 Monitor 共用线程，节奏会抖)
+     */
+    private void startScheduled(CameraCaptureSession session) {
         int capturePeriod = 1000 / FPS;
         ProcessorManager.scheduledExecutor.schedule(new Runnable() {
             @Override
@@ -1,11 +1,23 @@
 package com.narc.arclient.camera.callback;
 
-import android.graphics.Bitmap;
 import android.media.Image;
 import android.media.ImageReader;
 import android.util.Log;
 
+import com.narc.arclient.camera.frame.FrameIntervalHistogram;
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.camera.frame.YuvFrameRing;
 import com.narc.arclient.entity.RecognizeTask;
+import com.narc.arclient.entity.Rectangle;
+import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.enums.DownsampleKernel;
+import com.narc.arclient.enums.ProcessorEnums;
+import com.narc.arclient.enums.StreamMode;
+import com.narc.arclient.enums.YuvSnapshotMode;
+import com.narc.arclient.image.YuvConverter;
+import com.narc.arclient.process.FrameSkipController;
+import com.narc.arclient.process.IdleController;
+import com.narc.arclient.process.processor.BitmapProcessor;
 import com.narc.arclient.process.processor.RecognizeProcessor;
 
 import java.nio.ByteBuffer;
@@ -15,21 +27,28 @@ public class CameraImageAvailableListener implements ImageReader.OnImageAvailabl
 
     // 缓存数组，避免每帧重复分配内存 (GC 杀手)
     private int[] argbArray;
-    private byte[] yBufferBytes;
-    private byte[] uBufferBytes;
-    private byte[] vBufferBytes;
+    // 帧环槽位全部被占用时的兜底缓冲（不发布给拍照端）
+    private final YuvFrame scratchFrame = new YuvFrame();
+
+    // 整帧输入的降采样内核：单流模式下整帧是 1080p，滤波内核要读出每一行 (热路径整帧拷贝)，默认退回点采样、只拷贝采样行
+    private static final DownsampleKernel FULL_FRAME_KERNEL = CameraEnums.STREAM_MODE == StreamMode.SINGLE_STREAM
+            ? ProcessorEnums.SINGLE_STREAM_DOWNSAMPLE_KERNEL : ProcessorEnums.DOWNSAMPLE_KERNEL;
+
+    // 跟踪裁剪的最小边长 (占画面短边的比例)，手很小时也保留足够的上下文供模型判断
+    private static final float MIN_ROI_FRACTION = 0.25f;
+    // 本帧跟踪裁剪区域 (像素，正方形)，仅相机线程使用
+    private int roiLeft;
+    private int roiTop;
+    private int roiSide;
 
     @Override
     public void onImageAvailable(ImageReader reader) {
-        // 1. 【繁忙丢帧】如果 AI 还没算完上一帧，这一帧直接扔掉
-        // 这样可以避免积压，保证光标的实时性
-        if (!RecognizeProcessor.getInstance().isReady()) {
-            Image image = reader.acquireLatestImage();
-            if (image != null)
-                image.close();
-            return;
-        }
+        // 记录相邻帧到达间隔 (反映的是相机出帧节奏)
+        FrameIntervalHistogram.getInstance().onFrame();
+        YuvFrameRing ring = YuvFrameRing.getInstance();
 
+        // 1. 【两级流水线】相机线程只做拷贝 + 转换，推理在 RecognizeProcessor 的推理线程上进行
+        // 推理忙时不再丢弃本帧，转换结果投递到单槽信箱，覆盖尚未被取走的旧帧，保证光标的实时性
         Image image = null;
         try {
             image = reader.acquireLatestImage();
@@ -41,34 +60,96 @@ public class CameraImageAvailableListener implements ImageReader.OnImageAvailabl
             int width = image.getWidth();
             int height = image.getHeight();
 
-            // ✅ 改进：保存 YUV 数据拷贝供后续裁剪使用
-            // 这样 Image 对象可以立即释放，不会导致 ImageReader 缓冲池耗尽
-            RecognizeTask.HighResYUVCache yuvCache = createYUVCache(image);
-            RecognizeTask.setLatestHighResYUV(yuvCache);
+            long timestampNs = image.getTimestamp();
+            ring.noteFrame(timestampNs);
 
-            // 2. 【降维打击】设定缩放步长 (4)
-            // 1920x1080 -> 480x270。这个尺寸对 AI 足够清晰，且速度快 16 倍。
-            int step = 4;
-            int smallW = width / step;
-            int smallH = height / step;
+            // 只有拍照即将发生时才需要完整的高清帧，其余帧只记录元数据
+            // 双流模式的高清图来自静态拍照输出，分析帧永远不进帧环
+            boolean snapshotRequested = ring.consumeSnapshotRequest();
+            boolean captureArmed = RecognizeProcessor.getInstance().isCaptureArmed();
 
-            // 初始化缓存 (仅在第一帧或尺寸变化时执行)
-            prepareBuffers(smallW, smallH, image);
+            // 空闲模式：长时间无手时只在亮度缩略图上做帧差，检测到运动 / 手才恢复全速
+            Image.Plane lumaPlane = image.getPlanes()[0];
+            if (!IdleController.getInstance().onFrame(lumaPlane.getBuffer(), lumaPlane.getRowStride(),
+                    width, height, timestampNs, snapshotRequested || captureArmed))
+                return;
 
-            // 3. 【极速转换】YUV -> ARGB (纯数组操作)
-            // 之前的版本在这里慢，这次我们修好了！
-            fastYUVtoARGB(image, smallW, smallH, step);
+            // 跳帧推理：手慢时只拷贝亮度平面、模板匹配跟踪指尖，本帧不转换也不推理
+            // 拍照相关的帧必须走完整路径 (帧环里要有高清帧、悬停计时要继续)
+            if (!FrameSkipController.getInstance().onFrame(lumaPlane.getBuffer(), lumaPlane.getRowStride(),
+                    width, height, timestampNs, snapshotRequested || captureArmed))
+                return;
 
-            // 4. 创建 Bitmap
-            // 从 int[] 创建 Bitmap 极快
-            Bitmap bitmap = Bitmap.createBitmap(argbArray, smallW, smallH, Bitmap.Config.ARGB_8888);
+            // 2. 【一次到位】YUV 转换与缩放合成一趟，直接输出模型输入尺寸 (启动校准选定的宽度)，推理端不再二次缩放
+            // 双流模式下分析流本身就是 ~480 宽，热路径上不再有 1080p 读出
+            int inputW = Math.min(RecognizeProcessor.getInstance().getInferenceWidth(), width);
+            int inputH = height * inputW / width;
+
+            // 手部跟踪：按上一帧的手部外接框裁剪，以 TRACKING_INPUT_SIZE 的正方形输入送入模型；丢手时整帧检测
+            Rectangle region = computeTrackingRegion(
+                    RecognizeProcessor.getInstance().getTrackingBox(timestampNs), width, height);
+            if (region != null) {
+                inputW = ProcessorEnums.TRACKING_INPUT_SIZE;
+                inputH = ProcessorEnums.TRACKING_INPUT_SIZE;
+            }
+
+            // 初始化缓存 (仅在第一帧或尺寸变化时执行)
+            prepareBuffers(inputW, inputH);
+
+            boolean fullCopy = CameraEnums.STREAM_MODE == StreamMode.SINGLE_STREAM
+                    && (CameraEnums.YUV_SNAPSHOT_MODE == YuvSnapshotMode.EVERY_FRAME
+                    || snapshotRequested
+                    || captureArmed);
+
+            if (fullCopy) {
+                // ✅ 改进：YUV 数据拷贝进可复用的帧环槽位，供后续拍照/裁剪使用
+                // 这样 Image 对象可以立即释放，稳态下也不再每帧分配 3MB 数组
+                YuvFrame frame = ring.obtainForWrite();
+                YuvFrame target = frame != null ? frame : scratchFrame;
+                boolean published = false;
+                try {
+                    copyPlanes(image, target);
+
+                    // 3. 【极速转换】YUV -> ARGB (纯数组操作，直接读帧环里的拷贝)
+                    convertInput(target, region != null, inputW, inputH);
+
+                    // 转换完成后再发布，拍照端拿到的一定是完整的帧
+                    if (frame != null) {
+                        ring.publish(frame, timestampNs);
+                        published = true;
+                    }
+                } finally {
+                    if (frame != null && !published)
+                        ring.abandon(frame);
+                }
+            } else if (region != null) {
+                // 3. 跟踪裁剪只读裁剪区域覆盖的行，只拷贝这些行 (行号不变，其余行不读)
+                copyRowRange(image, scratchFrame, roiTop - 1, roiTop + roiSide + 1);
+                convertInput(scratchFrame, true, inputW, inputH);
+            } else if (FULL_FRAME_KERNEL == DownsampleKernel.NEAREST) {
+                // 3. 【轻量路径】点采样只会读到约每 step 行中的一行，只拷贝这些行，省掉热路径上的整帧 memcpy
+                int step = Math.max(1, height / inputH);
+                copySampledRows(image, scratchFrame, step);
+                YuvConverter.downsample(DownsampleKernel.NEAREST, scratchFrame, argbArray, inputW, inputH);
+            } else {
+                // 3. 滤波内核 (AREA / BOX / BILINEAR) 需要覆盖范围内的每一行，只能整帧拷贝 (双流模式下分析帧本身就小)
+                copyPlanes(image, scratchFrame);
+                convertInput(scratchFrame, false, inputW, inputH);
+            }
+
+            // 4. 写入推理输入缓冲 (池化的 direct ByteBuffer，不再每帧创建 Bitmap)
+            RecognizeTask task = new RecognizeTask(null);
+            task.setFrameTimestampNs(timestampNs);
+            task.setInputRegion(region);
+            if (!BitmapProcessor.getInstance().fill(task, argbArray, inputW, inputH))
+                return;
 
             // ⏱️ 打印转换耗时：如果小于 20ms，说明问题解决了！
             long cost = System.currentTimeMillis() - start;
-            // Log.d(TAG, "⚡️ YUV转Bitmap耗时: " + cost + "ms");
+            // Log.d(TAG, "⚡️ YUV转输入缓冲耗时: " + cost + "ms");
 
             // 5. 发送
-            RecognizeProcessor.getInstance().process(new RecognizeTask(bitmap));
+            RecognizeProcessor.getInstance().submit(task);
 
         } catch (Exception e) {
             Log.e(TAG, "Error: " + e.getMessage());
@@ -80,144 +161,143 @@ public class CameraImageAvailableListener implements ImageReader.OnImageAvailabl
         }
     }
 
-    // 初始化复用数组
-    private void prepareBuffers(int smallW, int smallH, Image image) {
-        if (argbArray == null || argbArray.length != smallW * smallH) {
-            argbArray = new int[smallW * smallH];
+    /**
+     * 把手部外接框 (整帧归一化坐标) 扩大 TRACKING_ROI_SCALE 倍，取以手为中心的正方形并限制在画面内
+     * 结果写入 roiLeft / roiTop / roiSide (像素，偶数对齐以便色度取样)，返回对应的归一化区域
+     *
+     * @return 没有可用的外接框、或裁剪区域已接近整帧时返回 null (整帧检测)
+     */
+    private Rectangle computeTrackingRegion(Rectangle hand, int width, int height) {
+        if (hand == null)
+            return null;
+        int shortSide = Math.min(width, height);
+        float side = Math.max(hand.getWidth() * width, hand.getHeight() * height) * ProcessorEnums.TRACKING_ROI_SCALE;
+        if (side >= shortSide * ProcessorEnums.TRACKING_MAX_ROI_FRACTION)
+            return null;
+        int s = ((int) Math.max(side, shortSide * MIN_ROI_FRACTION)) & ~1;
+        float cx = (hand.getX1() + hand.getX2()) * 0.5f * width;
+        float cy = (hand.getY1() + hand.getY2()) * 0.5f * height;
+        // 靠近画面边缘时平移而不是缩小，保证模型看到的手比例一致
+        roiLeft = Math.max(0, Math.min(width - s, Math.round(cx - s * 0.5f))) & ~1;
+        roiTop = Math.max(0, Math.min(height - s, Math.round(cy - s * 0.5f))) & ~1;
+        roiSide = s;
+        return new Rectangle((float) roiLeft / width, (float) roiTop / height,
+                (float) (roiLeft + s) / width, (float) (roiTop + s) / height);
+    }
+
+    // 降采样到推理输入：整帧，或 computeTrackingRegion 算出的裁剪区域
+    private void convertInput(YuvFrame src, boolean cropped, int outW, int outH) {
+        if (cropped) {
+            YuvConverter.downsample(ProcessorEnums.DOWNSAMPLE_KERNEL, src, roiLeft, roiTop, roiSide, roiSide,
+                    argbArray, outW, outH);
+        } else {
+            // 拍照帧已整帧拷贝，但仍用与其他帧相同的内核，推理输入不随是否拍照而变化
+            YuvConverter.downsample(FULL_FRAME_KERNEL, src, argbArray, outW, outH);
+        }
+    }
+
+    // 初始化复用数组 (只增不减：跟踪裁剪与整帧输入尺寸交替时不重新分配)
+    private void prepareBuffers(int inputW, int inputH) {
+        if (argbArray == null || argbArray.length < inputW * inputH) {
+            argbArray = new int[inputW * inputH];
         }
+    }
 
-        // 预分配 YUV 数据拷贝缓存
+    /**
+     * 将 Image 的三个平面 bulk copy 进复用槽位（数据拷贝，不依赖 Image 对象）
+     * JNI 批量拷贝非常快 (1080p 约 1-3ms)，比在循环里几十万次 get() 快得多。
+     */
+    private void copyPlanes(Image image, YuvFrame frame) {
         Image.Plane[] planes = image.getPlanes();
+        frame.width = image.getWidth();
+        frame.height = image.getHeight();
+        frame.yRowStride = planes[0].getRowStride();
+        frame.uvRowStride = planes[1].getRowStride();
+        frame.uvPixelStride = planes[1].getPixelStride();
+        frame.uvRowShift = 1;
 
-        // ✅ 关键修复：重置位置再读取大小
         ByteBuffer yBuffer = planes[0].getBuffer();
         ByteBuffer uBuffer = planes[1].getBuffer();
         ByteBuffer vBuffer = planes[2].getBuffer();
 
+        // ✅ 关键修复：重置位置再读取
         yBuffer.rewind();
         uBuffer.rewind();
         vBuffer.rewind();
 
-        int ySize = yBuffer.remaining();
-        int uSize = uBuffer.remaining();
-        int vSize = vBuffer.remaining();
+        frame.ensureCapacity(yBuffer.remaining(), uBuffer.remaining(), vBuffer.remaining());
 
-        if (yBufferBytes == null || yBufferBytes.length < ySize) {
-            yBufferBytes = new byte[ySize];
-        }
-        if (uBufferBytes == null || uBufferBytes.length < uSize) {
-            uBufferBytes = new byte[uSize];
-        }
-        if (vBufferBytes == null || vBufferBytes.length < vSize) {
-            vBufferBytes = new byte[vSize];
-        }
+        yBuffer.get(frame.yData, 0, yBuffer.remaining());
+        uBuffer.get(frame.uData, 0, uBuffer.remaining());
+        vBuffer.get(frame.vData, 0, vBuffer.remaining());
     }
 
     /**
-     * 极速 YUV 转 ARGB (数组版)
-     * 关键优化：先 bulk copy 到 byte[]，再循环访问
+     * 只拷贝降采样用到的行：Y 平面第 0, step, 2*step... 行，UV 平面对应的 srcY/2 行
+     * 结果紧凑存放 (第 r 行位于 r * rowStride)，约为整帧拷贝量的 1/step
      */
-    private void fastYUVtoARGB(Image image, int outW, int outH, int step) {
+    private void copySampledRows(Image image, YuvFrame frame, int step) {
         Image.Plane[] planes = image.getPlanes();
+        int rows = image.getHeight() / step;
+        frame.width = image.getWidth();
+        frame.height = rows;
+        frame.yRowStride = planes[0].getRowStride();
+        frame.uvRowStride = planes[1].getRowStride();
+        frame.uvPixelStride = planes[1].getPixelStride();
+        frame.uvRowShift = 0; // 第 r 个存储行的色度就存放在色度第 r 行
 
         ByteBuffer yBuffer = planes[0].getBuffer();
         ByteBuffer uBuffer = planes[1].getBuffer();
         ByteBuffer vBuffer = planes[2].getBuffer();
 
-        // ✅ 关键修复：重置 buffer 位置再读取
-        // 每次获取 Image 时，ByteBuffer 的位置都在 0，但要保险起见，显式重置
-        yBuffer.rewind();
-        uBuffer.rewind();
-        vBuffer.rewind();
+        frame.ensureCapacity(rows * frame.yRowStride, rows * frame.uvRowStride, rows * frame.uvRowStride);
 
-        // 1. 【批量拷贝】这是解决 2FPS 的关键！
-        // JNI 批量拷贝非常快 (1080p 约 1-3ms)，比在循环里几十万次 get() 快得多。
-        yBuffer.get(yBufferBytes, 0, yBuffer.remaining());
-        uBuffer.get(uBufferBytes, 0, uBuffer.remaining());
-        vBuffer.get(vBufferBytes, 0, vBuffer.remaining());
-
-        int yRowStride = planes[0].getRowStride();
-        int uvRowStride = planes[1].getRowStride();
-        int uvPixelStride = planes[1].getPixelStride();
-
-        // 2. 循环处理 (现在访问的是 Java 数组，速度起飞)
-        int pIndex = 0;
-        for (int y = 0; y < outH; y++) {
-            int srcY = y * step;
-            int yIdxOffset = srcY * yRowStride;
-            int uvIdxOffset = (srcY / 2) * uvRowStride;
-
-            for (int x = 0; x < outW; x++) {
-                int srcX = x * step;
-
-                // 读取 Y (从数组读)
-                int Y = yBufferBytes[yIdxOffset + srcX] & 0xFF;
-
-                // 读取 UV (从数组读)
-                int uvIndex = uvIdxOffset + (srcX / 2) * uvPixelStride;
-
-                // 边界保护 (防止个别机型 stride 对齐问题导致越界)
-                if (uvIndex >= uBufferBytes.length)
-                    uvIndex = uBufferBytes.length - 1;
-
-                int U = uBufferBytes[uvIndex] & 0xFF;
-                // V 的索引逻辑和 U 一样，只是来源于 V Plane
-                if (uvIndex >= vBufferBytes.length)
-                    uvIndex = vBufferBytes.length - 1;
-                int V = vBufferBytes[uvIndex] & 0xFF;
-
-                // YUV 转 RGB 公式 (整数运算优化)
-                // U 和 V 在公式里通常要减 128
-                int u = U - 128;
-                int v = V - 128;
-
-                // 使用位运算替代浮点乘法 (近似值，速度最快)
-                int r = Y + ((351 * v) >> 8);
-                int g = Y - ((179 * v + 86 * u) >> 8);
-                int b = Y + ((443 * u) >> 8);
-
-                // 钳制范围 0-255
-                r = (r < 0) ? 0 : (r > 255) ? 255 : r;
-                g = (g < 0) ? 0 : (g > 255) ? 255 : g;
-                b = (b < 0) ? 0 : (b > 255) ? 255 : b;
-
-                // 存入 int 数组
-                argbArray[pIndex++] = (0xFF << 24) | (r << 16) | (g << 8) | b;
-            }
+        for (int r = 0; r < rows; r++) {
+            int srcY = r * step;
+            copyRow(yBuffer, srcY * frame.yRowStride, frame.yRowStride, frame.yData, r * frame.yRowStride);
+            int uvSrcOffset = (srcY / 2) * frame.uvRowStride;
+            copyRow(uBuffer, uvSrcOffset, frame.uvRowStride, frame.uData, r * frame.uvRowStride);
+            copyRow(vBuffer, uvSrcOffset, frame.uvRowStride, frame.vData, r * frame.uvRowStride);
         }
     }
 
     /**
-     * 从 Image 对象创建 YUV 缓存（数据拷贝，不依赖 Image 对象）
+     * 只拷贝 Y 平面 [firstRow, endRow) 行与对应的 UV 行，存放在与整帧拷贝相同的位置 (按整帧尺寸分配)，
+     * 按原行号读取的降采样结果与整帧拷贝一致；范围外的行保留旧内容，调用方不能读取
      */
-    private RecognizeTask.HighResYUVCache createYUVCache(Image image) {
-        RecognizeTask.HighResYUVCache cache = new RecognizeTask.HighResYUVCache();
-
+    private void copyRowRange(Image image, YuvFrame frame, int firstRow, int endRow) {
         Image.Plane[] planes = image.getPlanes();
-        cache.width = image.getWidth();
-        cache.height = image.getHeight();
-        cache.yRowStride = planes[0].getRowStride();
-        cache.uvRowStride = planes[1].getRowStride();
-        cache.uvPixelStride = planes[1].getPixelStride();
+        frame.width = image.getWidth();
+        frame.height = image.getHeight();
+        frame.yRowStride = planes[0].getRowStride();
+        frame.uvRowStride = planes[1].getRowStride();
+        frame.uvPixelStride = planes[1].getPixelStride();
+        frame.uvRowShift = 1;
 
-        // 拷贝 YUV 数据到 byte 数组
         ByteBuffer yBuffer = planes[0].getBuffer();
         ByteBuffer uBuffer = planes[1].getBuffer();
         ByteBuffer vBuffer = planes[2].getBuffer();
 
-        // ✅ 关键修复：重置位置再读取
-        yBuffer.rewind();
-        uBuffer.rewind();
-        vBuffer.rewind();
-
-        cache.yData = new byte[yBuffer.remaining()];
-        cache.uData = new byte[uBuffer.remaining()];
-        cache.vData = new byte[vBuffer.remaining()];
+        frame.ensureCapacity(yBuffer.limit(), uBuffer.limit(), vBuffer.limit());
 
-        yBuffer.get(cache.yData);
-        uBuffer.get(cache.uData);
-        vBuffer.get(cache.vData);
+        int first = Math.max(0, firstRow);
+        int end = Math.min(frame.height, endRow);
+        for (int row = first; row < end; row++) {
+            copyRow(yBuffer, row * frame.yRowStride, frame.yRowStride, frame.yData, row * frame.yRowStride);
+        }
+        for (int row = first >> 1; row < (end + 1) >> 1; row++) {
+            int uvOffset = row * frame.uvRowStride;
+            copyRow(uBuffer, uvOffset, frame.uvRowStride, frame.uData, uvOffset);
+            copyRow(vBuffer, uvOffset, frame.uvRowStride, frame.vData, uvOffset);
+        }
+    }
 
-        return cache;
+    // 最后一行可能短于 rowStride（平面末尾没有 padding），按剩余长度截断
+    private static void copyRow(ByteBuffer src, int srcOffset, int rowStride, byte[] dst, int dstOffset) {
+        int length = Math.min(rowStride, src.limit() - srcOffset);
+        if (length <= 0)
+            return;
+        src.position(srcOffset);
+        src.get(dst, dstOffset, length);
     }
-}
\ No newline at end of file
+}
@@ -13,9 +13,12 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 
 import com.narc.arclient.camera.ICameraManager;
+import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.enums.CaptureCadence;
 import com.narc.arclient.process.ProcessorManager;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CameraStateCallback extends CameraDevice.StateCallback {
 
@@ -57,12 +60,23 @@ public class CameraStateCallback extends CameraDevice.StateCallback {
             captureRequestBuilder.set(CaptureRequest.LENS_OPTICAL_STABILIZATION_MODE,
                     CaptureRequest.LENS_OPTICAL_STABILIZATION_MODE_ON);
 
+            // 连续出帧模式：AE 帧率区间与 FPS 匹配，由传感器控制节奏
+            if (CameraEnums.CAPTURE_CADENCE == CaptureCadence.REPEATING && iCameraManager.getAeFpsRange() != null) {
+                captureRequestBuilder.set(CaptureRequest.CONTROL_AE_TARGET_FPS_RANGE, iCameraManager.getAeFpsRange());
+            }
+
             captureRequestBuilder.addTarget(iCameraManager.getImageReader().getSurface());
             iCameraManager.setCaptureRequestBuilder(captureRequestBuilder);
 
+            // 连续请求只指向分析流；双流模式下高清 JPEG 输出也加入会话，供按需拍照
+            List<OutputConfiguration> outputs = new ArrayList<>();
+            outputs.add(new OutputConfiguration(iCameraManager.getImageReader().getSurface()));
+            if (iCameraManager.getStillReader() != null) {
+                outputs.add(new OutputConfiguration(iCameraManager.getStillReader().getSurface()));
+            }
+
             SessionConfiguration sessionConfiguration = new SessionConfiguration(SESSION_REGULAR,
-                    Arrays.asList(new OutputConfiguration(iCameraManager.getImageReader().getSurface())),
-                    ProcessorManager.normalExecutor, new CameraCaptureStateCallback());
+                    outputs, ProcessorManager.normalExecutor, new CameraCaptureStateCallback());
             camera.createCaptureSession(sessionConfiguration);
         } catch (CameraAccessException e) {
             Log.e(TAG, e.toString());
@@ -0,0 +1,152 @@
+package com.narc.arclient.camera.callback;
+
+import android.media.Image;
+import android.media.ImageReader;
+import android.util.Log;
+
+import com.narc.arclient.camera.ICameraManager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 双流模式下的高清静态拍照输出：只有 ICameraManager.captureStill 发起请求时才会有帧到达
+ * 硬件 JPEG 编码结果整体拷出后立即关闭 Image，再交给等待中的回调
+ *
+ * 每次拍照登记为一个 Request，onCaptureStarted 时记下它的传感器时间戳；只有 Image 时间戳与之相同的帧才交付，
+ * 超时撤销之后才迟到的 JPEG 对不上新登记的拍照，直接丢弃。Image 先于 onCaptureStarted 到达时暂存一帧等待配对
+ */
+public class StillImageListener implements ImageReader.OnImageAvailableListener {
+    private static final String TAG = "StillListener";
+
+    /**
+     * 一次已登记的拍照；timestampNs 为 0 表示还没收到 onCaptureStarted
+     */
+    public static final class Request {
+        final ICameraManager.StillCaptureCallback callback;
+        long timestampNs;
+
+        Request(ICameraManager.StillCaptureCallback callback) {
+            this.callback = callback;
+        }
+    }
+
+    // 以下状态都在 this 锁下读写 (登记在调用方线程，其余在相机后台线程)；回调在锁外调用
+    private Request pending;
+    // 先于 onCaptureStarted 到达的一帧 (jpeg 为 null 表示拷贝失败)
+    private byte[] earlyJpeg;
+    private int earlyWidth;
+    private int earlyHeight;
+    private long earlyTimestampNs;
+
+    /**
+     * 登记一次拍照；已有拍照在进行中时返回 null
+     */
+    public synchronized Request arm(ICameraManager.StillCaptureCallback callback) {
+        if (pending != null)
+            return null;
+        pending = new Request(callback);
+        clearEarly();
+        return pending;
+    }
+
+    /**
+     * 请求未能提交，撤销登记 (不通知回调)
+     */
+    public synchronized void disarm(Request request) {
+        if (pending == request)
+            pending = null;
+    }
+
+    /**
+     * 相机后台线程 (onCaptureStarted)：记下该次拍照的传感器时间戳，已暂存同一时间戳的帧时立即交付
+     */
+    public void onCaptureStarted(Request request, long timestampNs) {
+        byte[] jpeg;
+        int width;
+        int height;
+        synchronized (this) {
+            if (pending != request)
+                return;
+            request.timestampNs = timestampNs;
+            if (earlyTimestampNs != timestampNs)
+                return;
+            jpeg = earlyJpeg;
+            width = earlyWidth;
+            height = earlyHeight;
+            pending = null;
+            clearEarly();
+        }
+        request.callback.onStillCaptured(jpeg, width, height, timestampNs);
+    }
+
+    /**
+     * 某一次拍照失败 (请求失败、缓冲丢失、请求序列中止、超时未出图)：只有该次登记仍未完成时才以 null 通知，
+     * 不会误伤之后新登记的拍照
+     *
+     * @return 是否确实撤销了这次登记
+     */
+    public boolean fail(Request request) {
+        synchronized (this) {
+            if (pending != request)
+                return false;
+            pending = null;
+            clearEarly();
+        }
+        request.callback.onStillCaptured(null, 0, 0, 0);
+        return true;
+    }
+
+    @Override
+    public void onImageAvailable(ImageReader reader) {
+        Image image = reader.acquireLatestImage();
+        if (image == null)
+            return;
+        byte[] jpeg = null;
+        int width = 0;
+        int height = 0;
+        long timestampNs = image.getTimestamp();
+        try {
+            ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+            buffer.rewind();
+            jpeg = new byte[buffer.remaining()];
+            buffer.get(jpeg);
+            width = image.getWidth();
+            height = image.getHeight();
+        } catch (Exception e) {
+            // 拷贝失败同样按时间戳配对，以 null 通知的只会是这一帧对应的拍照
+            Log.e(TAG, "Still Error: " + e.getMessage());
+            jpeg = null;
+        } finally {
+            image.close();
+        }
+
+        Request request;
+        synchronized (this) {
+            request = pending;
+            if (request == null || (request.timestampNs != 0 && request.timestampNs != timestampNs)) {
+                Log.w(TAG, "收到未请求或已超时的静态帧，丢弃 (timestamp=" + timestampNs + ")");
+                return;
+            }
+            if (request.timestampNs == 0) {
+                // onCaptureStarted 还没到：暂存，配对后再交付；只留时间戳最新的一帧 (本次拍照一定晚于之前迟到的帧)
+                if (timestampNs <= earlyTimestampNs)
+                    return;
+                earlyJpeg = jpeg;
+                earlyWidth = width;
+                earlyHeight = height;
+                earlyTimestampNs = timestampNs;
+                return;
+            }
+            pending = null;
+            clearEarly();
+        }
+        request.callback.onStillCaptured(jpeg, width, height, timestampNs);
+    }
+
+    private void clearEarly() {
+        earlyJpeg = null;
+        earlyWidth = 0;
+        earlyHeight = 0;
+        earlyTimestampNs = 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.narc.arclient.camera.frame;
+
+import com.narc.arclient.enums.CameraEnums;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 相邻帧到达间隔的直方图，用来验证取帧节奏是否稳定
+ *
+ * 相机线程每帧调用 onFrame 记录一次，Monitor 线程读取 statsString；
+ * 桶宽 1ms，覆盖 0 ~ MAX_INTERVAL_MS，更长的间隔落在溢出桶
+ */
+public class FrameIntervalHistogram {
+    private static final int MAX_INTERVAL_MS = 200;
+
+    private static FrameIntervalHistogram instance;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(MAX_INTERVAL_MS + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumNs = new AtomicLong();
+    private final AtomicLong sumSquaredUs = new AtomicLong();
+    private final AtomicLong maxNs = new AtomicLong();
+    private long lastArrivalNs = 0; // 仅相机线程写
+
+    public static synchronized FrameIntervalHistogram getInstance() {
+        if (instance == null) {
+            instance = new FrameIntervalHistogram();
+        }
+        return instance;
+    }
+
+    /**
+     * 相机线程每帧调用一次 (取当前单调时钟作为到达时间)
+     */
+    public void onFrame() {
+        onFrame(System.nanoTime());
+    }
+
+    public void onFrame(long arrivalNs) {
+        long last = lastArrivalNs;
+        lastArrivalNs = arrivalNs;
+        if (last != 0 && arrivalNs > last) {
+            record(arrivalNs - last);
+        }
+    }
+
+    public void record(long intervalNs) {
+        int bucket = (int) Math.min(MAX_INTERVAL_MS, intervalNs / 1_000_000L);
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sumNs.addAndGet(intervalNs);
+        long intervalUs = intervalNs / 1000L;
+        sumSquaredUs.addAndGet(intervalUs * intervalUs);
+        long max;
+        while (intervalNs > (max = maxNs.get()) && !maxNs.compareAndSet(max, intervalNs)) {
+            // 重试
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sumNs.set(0);
+        sumSquaredUs.set(0);
+        maxNs.set(0);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * 分位数 (毫秒，按桶下界)，p 取 0~1
+     */
+    public int percentileMs(double p) {
+        long total = count.get();
+        if (total == 0)
+            return 0;
+        long target = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target)
+                return i;
+        }
+        return MAX_INTERVAL_MS;
+    }
+
+    /**
+     * 期望间隔 ±2ms 之外的帧占比，直接反映节奏抖动
+     */
+    public double offCadenceRatio() {
+        long total = count.get();
+        if (total == 0)
+            return 0;
+        int expectedMs = 1000 / CameraEnums.FPS;
+        long onCadence = 0;
+        for (int i = Math.max(0, expectedMs - 2); i <= Math.min(MAX_INTERVAL_MS - 1, expectedMs + 2); i++) {
+            onCadence += buckets.get(i);
+        }
+        return 1.0 - (double) onCadence / total;
+    }
+
+    public String statsString() {
+        long n = count.get();
+        if (n == 0)
+            return "FrameInterval n=0";
+        double meanUs = sumNs.get() / 1000.0 / n;
+        double stdUs = Math.sqrt(Math.max(0, (double) sumSquaredUs.get() / n - meanUs * meanUs));
+        return String.format("FrameInterval n=%d mean=%.1fms std=%.1fms p50=%dms p95=%dms p99=%dms max=%.1fms off=%.1f%%",
+                n, meanUs / 1000, stdUs / 1000, percentileMs(0.5), percentileMs(0.95), percentileMs(0.99),
+                maxNs.get() / 1e6, offCadenceRatio() * 100);
+    }
+
+    /**
+     * 非零桶的紧凑文本 (间隔ms:次数)，用于导出完整分布
+     */
+    public String bucketsString() {
+        StringBuilder sb = new StringBuilder("FrameInterval buckets");
+        for (int i = 0; i < buckets.length(); i++) {
+            long c = buckets.get(i);
+            if (c > 0) {
+                sb.append(' ').append(i == MAX_INTERVAL_MS ? ">=" : "").append(i).append(':').append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.narc.arclient.camera.frame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 帧环中的一个可复用 YUV 槽位
+ * 平面数组只在首次使用或尺寸变大时分配，稳态采集不再产生垃圾
+ */
+public class YuvFrame {
+    // 引用计数状态：-1 正在写入，0 空闲，>0 被持有（帧环自身 + 读者）
+    static final int STATE_WRITING = -1;
+    static final int STATE_FREE = 0;
+
+    public byte[] yData;
+    public byte[] uData;
+    public byte[] vData;
+    // 数组可能比本帧数据大（只扩不缩），有效长度以这里为准
+    public int yLength;
+    public int uLength;
+    public int vLength;
+    public int width;
+    public int height;
+    public int yRowStride;
+    public int uvRowStride;
+    public int uvPixelStride;
+    // 色度行 = 亮度行 >> uvRowShift；标准 4:2:0 为 1，紧凑采样帧（每个存储行自带色度行）为 0
+    public int uvRowShift = 1;
+
+    // 传感器时间戳 (Image.getTimestamp，纳秒)
+    public long timestampNs;
+    // 帧环内的发布序号，越大越新
+    long sequence;
+    // 发布后是否被读者获取过，用于统计覆盖次数
+    volatile boolean consumed;
+
+    final AtomicInteger refCount = new AtomicInteger(STATE_FREE);
+    private final YuvFrameRing owner;
+
+    YuvFrame(YuvFrameRing owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * 独立帧（不属于任何帧环），用于帧环满时的临时缓冲
+     */
+    public YuvFrame() {
+        this(null);
+    }
+
+    /**
+     * 按需扩容三个平面，尺寸不变时不分配
+     */
+    public void ensureCapacity(int ySize, int uSize, int vSize) {
+        if (yData == null || yData.length < ySize) {
+            yData = new byte[ySize];
+        }
+        if (uData == null || uData.length < uSize) {
+            uData = new byte[uSize];
+        }
+        if (vData == null || vData.length < vSize) {
+            vData = new byte[vSize];
+        }
+        yLength = ySize;
+        uLength = uSize;
+        vLength = vSize;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * 仅当帧仍被持有时增加引用，空闲或正在写入的槽位不可被获取
+     */
+    boolean tryRetain() {
+        while (true) {
+            int current = refCount.get();
+            if (current <= STATE_FREE)
+                return false;
+            if (refCount.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    /**
+     * 读者用完后必须调用，引用归零后槽位可被相机线程重新写入
+     * 重复释放 (计数已 <= 0，槽位空闲或已被相机线程重新占用写入) 时什么也不做，不会改动别人持有的状态
+     */
+    public void release() {
+        if (owner == null)
+            return;
+        while (true) {
+            int current = refCount.get();
+            if (current <= STATE_FREE)
+                return;
+            if (refCount.compareAndSet(current, current - 1))
+                return;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.narc.arclient.camera.frame;
+
+import com.narc.arclient.enums.CameraEnums;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 固定容量的高清 YUV 帧环 (替代每帧 new 的 HighResYUVCache)
+ *
+ * 写入端（相机线程）：obtainForWrite -> 拷贝平面 -> publish
+ * 读取端（拍照/裁剪）：acquireLatest / acquireNearest -> 使用 -> YuvFrame.release
+ *
+ * 帧环自身对"最新帧"持有一个引用，被新帧替换时才放掉，
+ * 因此读者拿到的帧在 release 之前不会被相机线程覆盖。
+ */
+public class YuvFrameRing {
+    private static YuvFrameRing instance;
+
+    private final YuvFrame[] slots;
+    private final AtomicReference<YuvFrame> latest = new AtomicReference<>();
+    private long nextSequence = 1; // 仅相机线程写
+    private int writeCursor = 0;    // 仅相机线程写
+
+    // 轻量元数据：相机最近一帧的传感器时间戳（无论该帧是否完整拷贝）
+    private volatile long lastFrameTimestampNs = 0;
+    // 拍照端请求：下一帧必须完整拷贝进帧环
+    private final AtomicBoolean snapshotRequested = new AtomicBoolean(false);
+
+    // 统计计数
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong overwriteCount = new AtomicLong();
+    private final AtomicLong dropCount = new AtomicLong();
+
+    public YuvFrameRing(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("YuvFrameRing capacity must be >= 2");
+        }
+        slots = new YuvFrame[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new YuvFrame(this);
+        }
+    }
+
+    public static synchronized YuvFrameRing getInstance() {
+        if (instance == null) {
+            instance = new YuvFrameRing(CameraEnums.YUV_RING_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * 相机线程获取一个可写槽位；所有槽位都被读者占用时返回 null（本帧不入环）
+     */
+    public YuvFrame obtainForWrite() {
+        for (int i = 0; i < slots.length; i++) {
+            YuvFrame frame = slots[(writeCursor + i) % slots.length];
+            if (frame.refCount.compareAndSet(YuvFrame.STATE_FREE, YuvFrame.STATE_WRITING)) {
+                writeCursor = (writeCursor + i + 1) % slots.length;
+                return frame;
+            }
+        }
+        dropCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 发布写好的帧，成为新的"最新帧"；旧的最新帧若从未被读取则记为一次覆盖
+     */
+    public void publish(YuvFrame frame, long timestampNs) {
+        frame.timestampNs = timestampNs;
+        frame.sequence = nextSequence++;
+        frame.consumed = false;
+        frame.refCount.set(1); // 帧环自身的引用
+        YuvFrame previous = latest.getAndSet(frame);
+        if (previous != null) {
+            if (!previous.consumed) {
+                overwriteCount.incrementAndGet();
+            }
+            previous.release();
+        }
+    }
+
+    /**
+     * 放弃写入（例如拷贝失败），槽位直接回到空闲
+     */
+    public void abandon(YuvFrame frame) {
+        frame.refCount.set(YuvFrame.STATE_FREE);
+    }
+
+    /**
+     * 获取最新帧并增加引用；调用方用完必须 release
+     */
+    public YuvFrame acquireLatest() {
+        while (true) {
+            YuvFrame frame = latest.get();
+            if (frame == null) {
+                missCount.incrementAndGet();
+                return null;
+            }
+            if (frame.tryRetain()) {
+                frame.consumed = true;
+                hitCount.incrementAndGet();
+                return frame;
+            }
+            // 刚好被替换并回收，重新读取最新帧
+        }
+    }
+
+    /**
+     * 获取传感器时间戳最接近 timestampNs 的帧；调用方用完必须 release
+     */
+    public YuvFrame acquireNearest(long timestampNs) {
+        YuvFrame best = null;
+        long bestDiff = Long.MAX_VALUE;
+        for (YuvFrame frame : slots) {
+            if (!frame.tryRetain())
+                continue;
+            long diff = Math.abs(frame.timestampNs - timestampNs);
+            if (diff < bestDiff) {
+                if (best != null)
+                    best.release();
+                best = frame;
+                bestDiff = diff;
+            } else {
+                frame.release();
+            }
+        }
+        if (best == null) {
+            missCount.incrementAndGet();
+        } else {
+            best.consumed = true;
+            hitCount.incrementAndGet();
+        }
+        return best;
+    }
+
+    /**
+     * 相机线程每帧调用，记录轻量元数据
+     */
+    public void noteFrame(long timestampNs) {
+        lastFrameTimestampNs = timestampNs;
+    }
+
+    public long getLastFrameTimestampNs() {
+        return lastFrameTimestampNs;
+    }
+
+    /**
+     * 请求下一帧做一次完整拷贝（硬件按键等无法提前 armed 的触发）
+     */
+    public void requestSnapshot() {
+        snapshotRequested.set(true);
+    }
+
+    public boolean isSnapshotRequested() {
+        return snapshotRequested.get();
+    }
+
+    /**
+     * 相机线程消费快照请求，返回是否存在请求
+     */
+    public boolean consumeSnapshotRequest() {
+        return snapshotRequested.getAndSet(false);
+    }
+
+    /**
+     * 各槽位当前的传感器时间戳（空闲或写入中的槽位为 0）
+     */
+    public long[] getSlotTimestamps() {
+        long[] timestamps = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            YuvFrame frame = slots[i];
+            timestamps[i] = frame.refCount.get() > YuvFrame.STATE_FREE ? frame.timestampNs : 0L;
+        }
+        return timestamps;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getOverwriteCount() {
+        return overwriteCount.get();
+    }
+
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    public String statsString() {
+        return String.format("YuvFrameRing hit=%d miss=%d overwrite=%d drop=%d",
+                hitCount.get(), missCount.get(), overwriteCount.get(), dropCount.get());
+    }
+}
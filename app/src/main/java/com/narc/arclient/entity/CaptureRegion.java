@@ -0,0 +1,38 @@
+package com.narc.arclient.entity;
+
+/**
+ * 拍照上传的区域 (高清帧像素坐标)，随图片一起发给服务端，便于把识别坐标映射回整帧
+ */
+public class CaptureRegion {
+    private final int left;
+    private final int top;
+    private final int width;
+    private final int height;
+    private final int frameWidth;
+    private final int frameHeight;
+
+    public CaptureRegion(int left, int top, int width, int height, int frameWidth, int frameHeight) {
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+    }
+
+    public int getLeft() { return left; }
+    public int getTop() { return top; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getFrameWidth() { return frameWidth; }
+    public int getFrameHeight() { return frameHeight; }
+
+    public boolean isFullFrame() {
+        return left == 0 && top == 0 && width == frameWidth && height == frameHeight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%d,%d %dx%d] / %dx%d", left, top, width, height, frameWidth, frameHeight);
+    }
+}
@@ -0,0 +1,33 @@
+package com.narc.arclient.entity;
+
+/**
+ * 最近一次推理识别到的 (右) 手：外接框、食指指尖 (整帧归一化坐标)、指尖速度、捏合进度与来源帧的传感器时间戳
+ * 推理侧发布，相机线程读取 (跟踪裁剪、跳帧时的指尖跟踪)，不可变
+ */
+public class HandTrack {
+    private final Rectangle box;
+    private final float tipX;
+    private final float tipY;
+    private final float tipSpeed;
+    private final float pinchProgress;
+    private final long frameTimestampNs;
+
+    public HandTrack(Rectangle box, float tipX, float tipY, float tipSpeed, float pinchProgress,
+                     long frameTimestampNs) {
+        this.box = box;
+        this.tipX = tipX;
+        this.tipY = tipY;
+        this.tipSpeed = tipSpeed;
+        this.pinchProgress = pinchProgress;
+        this.frameTimestampNs = frameTimestampNs;
+    }
+
+    public Rectangle getBox() { return box; }
+    public float getTipX() { return tipX; }
+    public float getTipY() { return tipY; }
+    // 归一化单位 / 秒
+    public float getTipSpeed() { return tipSpeed; }
+    // 捏合合拢进度 (0 表示张开)
+    public float getPinchProgress() { return pinchProgress; }
+    public long getFrameTimestampNs() { return frameTimestampNs; }
+}
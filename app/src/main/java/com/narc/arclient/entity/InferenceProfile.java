@@ -0,0 +1,27 @@
+package com.narc.arclient.entity;
+
+import java.util.Locale;
+
+/**
+ * 启动校准选出的推理配置：后端 (GPU / CPU)、输入宽度与该组合在合成帧上的单帧耗时
+ */
+public class InferenceProfile {
+    private final String delegate;
+    private final int inputWidth;
+    private final float frameMs;
+
+    public InferenceProfile(String delegate, int inputWidth, float frameMs) {
+        this.delegate = delegate;
+        this.inputWidth = inputWidth;
+        this.frameMs = frameMs;
+    }
+
+    public String getDelegate() { return delegate; }
+    public int getInputWidth() { return inputWidth; }
+    public float getFrameMs() { return frameMs; }
+
+    @Override
+    public String toString() {
+        return delegate + " width=" + inputWidth + " frame=" + String.format(Locale.US, "%.1fms", frameMs);
+    }
+}
@@ -1,30 +1,26 @@
 package com.narc.arclient.entity;
 
 import android.graphics.Bitmap;
-import java.util.concurrent.atomic.AtomicReference;
+
+import java.nio.ByteBuffer;
 
 public class RecognizeTask {
     private Bitmap originBitmap;
+    // 推理输入：BitmapProcessor 池中的 RGBA direct 缓冲 (模型输入尺寸)，推理结束后归还
+    private ByteBuffer inputBuffer;
+    private int inputWidth;
+    private int inputHeight;
+    // 推理输入在源帧中的区域 (归一化坐标)，null 表示整帧；识别出的关键点据此映射回整帧坐标
+    private Rectangle inputRegion;
+    // 已编码好的 JPEG (拍照上传时直接从 YUV 编码，不经过 Bitmap)
+    private byte[] jpegBytes;
+    // 上传图片在高清帧中的区域 (ROI 模式下不是整帧)
+    private CaptureRegion captureRegion;
     private String recognizeResult;
     private float tipX = -1;
     private float tipY = -1;
-
-    // ✅ 静态引用：保存最新的高清 YUV 数据
-    private static final AtomicReference<HighResYUVCache> latestYUVCache = new AtomicReference<>();
-
-    /**
-     * 高清 YUV 数据缓存
-     */
-    public static class HighResYUVCache {
-        public byte[] yData;
-        public byte[] uData;
-        public byte[] vData;
-        public int width;
-        public int height;
-        public int yRowStride;
-        public int uvRowStride;
-        public int uvPixelStride;
-    }
+    // 源帧的传感器时间戳 (Image.getTimestamp，纳秒)，识别 / 悬停计时的时钟，也用于从帧环取回触发瞬间的高清帧
+    private long frameTimestampNs = 0;
 
     public RecognizeTask(Bitmap originBitmap) {
         this.originBitmap = originBitmap;
@@ -38,6 +34,48 @@ public class RecognizeTask {
         this.originBitmap = originBitmap;
     }
 
+    public ByteBuffer getInputBuffer() {
+        return inputBuffer;
+    }
+
+    public int getInputWidth() {
+        return inputWidth;
+    }
+
+    public int getInputHeight() {
+        return inputHeight;
+    }
+
+    public void setInputBuffer(ByteBuffer inputBuffer, int inputWidth, int inputHeight) {
+        this.inputBuffer = inputBuffer;
+        this.inputWidth = inputWidth;
+        this.inputHeight = inputHeight;
+    }
+
+    public Rectangle getInputRegion() {
+        return inputRegion;
+    }
+
+    public void setInputRegion(Rectangle inputRegion) {
+        this.inputRegion = inputRegion;
+    }
+
+    public byte[] getJpegBytes() {
+        return jpegBytes;
+    }
+
+    public void setJpegBytes(byte[] jpegBytes) {
+        this.jpegBytes = jpegBytes;
+    }
+
+    public CaptureRegion getCaptureRegion() {
+        return captureRegion;
+    }
+
+    public void setCaptureRegion(CaptureRegion captureRegion) {
+        this.captureRegion = captureRegion;
+    }
+
     public String getRecognizeResult() {
         return recognizeResult;
     }
@@ -62,13 +100,11 @@ public class RecognizeTask {
         this.tipY = tipY;
     }
 
-    // ✅ 静态方法：保存最新的高清 YUV 数据
-    public static void setLatestHighResYUV(HighResYUVCache cache) {
-        latestYUVCache.set(cache);
+    public long getFrameTimestampNs() {
+        return frameTimestampNs;
     }
 
-    // ✅ 静态方法：获取最新的高清 YUV 数据
-    public static HighResYUVCache getLatestHighResYUV() {
-        return latestYUVCache.get();
+    public void setFrameTimestampNs(long frameTimestampNs) {
+        this.frameTimestampNs = frameTimestampNs;
     }
 }
@@ -28,4 +28,12 @@ public class Rectangle {
     public float getY2() {
         return y2;
     }
+
+    public float getWidth() {
+        return x2 - x1;
+    }
+
+    public float getHeight() {
+        return y2 - y1;
+    }
 }
@@ -5,6 +5,7 @@ public class RenderData {
     private float tipY;
     private float progress;       // 识别物体的进度
     private boolean isTriggered;  // 识别物体触发
+    private boolean isPinchTriggered; // 本次触发来自捏合 (否则为静止悬停)
     private boolean isOpenPalm;   // 摊手关闭
     private String category;
 
@@ -13,6 +14,13 @@ public class RenderData {
     private float micProgress;      // 按钮悬停进度 (0~1)
     private boolean isMicTriggered; // 按钮是否触发 (点击)
 
+    // 手部关键点外接框尺寸 (归一化 0~1)，未检测到手时为 0，用于自适应拍照区域
+    private float handWidth;
+    private float handHeight;
+
+    // 源帧的传感器时间戳 (纳秒)，悬停计时 / 平滑 / 延迟统计都以它为时钟
+    private long frameTimestampNs;
+
     public RenderData(float tipX, float tipY, float progress, boolean isTriggered,
                       boolean isOpenPalm, String category,
                       boolean isMicHovered, float micProgress, boolean isMicTriggered) {
@@ -39,4 +47,24 @@ public class RenderData {
     public boolean isMicHovered() { return isMicHovered; }
     public float getMicProgress() { return micProgress; }
     public boolean isMicTriggered() { return isMicTriggered; }
+
+    public boolean isPinchTriggered() { return isPinchTriggered; }
+
+    public void setPinchTriggered(boolean isPinchTriggered) {
+        this.isPinchTriggered = isPinchTriggered;
+    }
+
+    public float getHandWidth() { return handWidth; }
+    public float getHandHeight() { return handHeight; }
+
+    public void setHandSize(float handWidth, float handHeight) {
+        this.handWidth = handWidth;
+        this.handHeight = handHeight;
+    }
+
+    public long getFrameTimestampNs() { return frameTimestampNs; }
+
+    public void setFrameTimestampNs(long frameTimestampNs) {
+        this.frameTimestampNs = frameTimestampNs;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.narc.arclient.entity;
+
+import com.narc.arclient.enums.UiEventType;
+
+/**
+ * 经 UiEventQueue 送到主线程的离散事件 (触发、按钮点击)，连续状态不走这里
+ */
+public class UiEvent {
+    private final UiEventType type;
+    // OBJECT_TRIGGER：触发帧的识别结果与对应的 task
+    private final RenderData renderData;
+    private final RecognizeTask task;
+    // MIC_CLICK / SUBTITLE_CLICK：点击后的目标开关状态
+    private final boolean on;
+
+    private UiEvent(UiEventType type, RenderData renderData, RecognizeTask task, boolean on) {
+        this.type = type;
+        this.renderData = renderData;
+        this.task = task;
+        this.on = on;
+    }
+
+    public static UiEvent objectTrigger(RenderData renderData, RecognizeTask task) {
+        return new UiEvent(UiEventType.OBJECT_TRIGGER, renderData, task, false);
+    }
+
+    public static UiEvent click(UiEventType type, boolean on) {
+        return new UiEvent(type, null, null, on);
+    }
+
+    public UiEventType getType() {
+        return type;
+    }
+
+    public RenderData getRenderData() {
+        return renderData;
+    }
+
+    public RecognizeTask getTask() {
+        return task;
+    }
+
+    public boolean isOn() {
+        return on;
+    }
+}
@@ -3,4 +3,30 @@ package com.narc.arclient.enums;
 public class CameraEnums {
     public static final int CAMERA_PERMISSION_REQUEST_CODE = 1001;
     public static final int FPS = 20;
+    // 空闲模式 (长时间无手) 的出帧率：设备支持时降低传感器帧率，否则软件限频到该值
+    public static final int IDLE_FPS = 5;
+    // 相机输出流：默认双流，热路径只读出分析流，高清图只在拍照时由硬件 JPEG 编码
+    public static final StreamMode STREAM_MODE = StreamMode.DUAL_STREAM;
+    // 分析流目标宽度 (接近 MediaPipe 推理输入)；单流模式下 1080p 按此宽度计算降采样步长
+    public static final int ANALYSIS_WIDTH = 480;
+    // 取帧节奏：默认 setRepeatingRequest + AE 帧率区间匹配 FPS，由传感器定节奏
+    public static final CaptureCadence CAPTURE_CADENCE = CaptureCadence.REPEATING;
+    // 高清 YUV 帧环槽位数：1 个写入 + 1 个最新 + 1 个供拍照读取
+    public static final int YUV_RING_CAPACITY = 3;
+    // 默认只在悬停读条过半 / 硬件按键请求时才拷贝整帧，平时热路径只读降采样需要的行
+    public static final YuvSnapshotMode YUV_SNAPSHOT_MODE = YuvSnapshotMode.ON_ARMED;
+    // 硬件按键触发后等待快照帧的最长帧数
+    public static final int SNAPSHOT_WAIT_FRAMES = 6;
+    // 拍照编码：默认直接从 YUV 平面编码 JPEG，跳过 ARGB 中间结果
+    public static final CaptureEncoding CAPTURE_ENCODING = CaptureEncoding.JPEG_YUV;
+    public static final int CAPTURE_JPEG_QUALITY = 90;
+    // 双流模式静态拍照的最长等待 (毫秒)，超时未出图即按失败处理
+    public static final long STILL_CAPTURE_TIMEOUT_MS = 3000;
+    // 拍照上传区域：只转换 / 编码 ROI，上传体积约为整帧的 1/5 ~ 1/10
+    public static final CaptureMode CAPTURE_MODE = CaptureMode.ADAPTIVE_ROI;
+    // FINGERTIP_ROI 的固定边长 (高清帧像素)
+    public static final int CAPTURE_ROI_SIZE = 600;
+    // ADAPTIVE_ROI：边长 = 手部外接框长边 x 该系数，并限制在 [MIN, 帧短边] 内
+    public static final float ADAPTIVE_ROI_HAND_SCALE = 2.0f;
+    public static final int ADAPTIVE_ROI_MIN_SIZE = 320;
 }
@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 相机取帧节奏：REPEATING 由传感器按 AE 帧率区间连续出帧；SCHEDULED 旧的定时器轮询 captureSingleRequest
+public enum CaptureCadence {
+    REPEATING, SCHEDULED
+}
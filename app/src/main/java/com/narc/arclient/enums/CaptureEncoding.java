@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 拍照上传 / 保存的编码方式：JPEG_YUV 直接从 YUV 平面编码 JPEG；PNG_ARGB 先转 ARGB Bitmap 再无损 PNG (旧路径)
+public enum CaptureEncoding {
+    JPEG_YUV, PNG_ARGB
+}
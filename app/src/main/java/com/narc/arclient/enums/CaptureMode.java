@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 拍照上传区域：FULL_FRAME 整帧；FINGERTIP_ROI 指尖周围固定边长；ADAPTIVE_ROI 边长随手部大小 (MediaPipe 关键点外接框) 缩放
+public enum CaptureMode {
+    FULL_FRAME, FINGERTIP_ROI, ADAPTIVE_ROI
+}
@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 拍照识物的触发方式：DWELL 指尖静止悬停 HOVER_DURATION；PINCH 拇指与食指指尖捏合；PINCH_OR_DWELL 两者任一 (悬停作为兜底)
+public enum CaptureTrigger {
+    DWELL, PINCH, PINCH_OR_DWELL
+}
@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// YUV -> RGB 色度项计算方式：ARITHMETIC 每像素 Q16 乘法；LUT 查表 (按 U / V 预计算贡献 + 钳制表，约 7KB 常驻 L1)
+public enum ColorConversionMode {
+    ARITHMETIC, LUT
+}
@@ -0,0 +1,7 @@
+package com.narc.arclient.enums;
+
+// 推理输入降采样内核：NEAREST 点采样最快；BOX 整数分箱平均；BILINEAR 亮度双线性插值；
+// AREA 按覆盖面积精确加权 (非整数缩放比也无混叠)，关键点最稳
+public enum DownsampleKernel {
+    NEAREST, BOX, BILINEAR, AREA
+}
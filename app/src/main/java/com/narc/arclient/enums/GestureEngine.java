@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 手部推理引擎：GESTURE_RECOGNIZER 完整手势识别模型；HAND_LANDMARKER 只跑关键点模型，三种手势由关节角度规则判定
+public enum GestureEngine {
+    GESTURE_RECOGNIZER, HAND_LANDMARKER
+}
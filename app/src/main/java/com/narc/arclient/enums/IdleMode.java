@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 空闲策略：ALWAYS_ACTIVE 始终全速推理；MOTION_WAKE 长时间无手时降帧率、只做亮度帧差，检测到运动或手立即恢复
+public enum IdleMode {
+    ALWAYS_ACTIVE, MOTION_WAKE
+}
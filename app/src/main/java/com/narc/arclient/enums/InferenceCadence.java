@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 推理节奏：EVERY_FRAME 每帧推理；ADAPTIVE_SKIP 按指尖速度每 N 帧推理一次，其间在亮度平面上模板匹配跟踪指尖
+public enum InferenceCadence {
+    EVERY_FRAME, ADAPTIVE_SKIP
+}
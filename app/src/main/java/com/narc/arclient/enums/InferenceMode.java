@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 手势识别运行模式：VIDEO 推理线程同步等待 recognizeForVideo；LIVE_STREAM 提交 recognizeAsync 后立即返回，结果在回调中处理
+public enum InferenceMode {
+    VIDEO, LIVE_STREAM
+}
@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 推理输入区域：FULL_FRAME 每帧整帧检测；HAND_TRACKING 按上一帧 21 个关键点的外接框裁剪 (扩大后) 送入模型，丢手时回退整帧
+public enum InferenceRoiMode {
+    FULL_FRAME, HAND_TRACKING
+}
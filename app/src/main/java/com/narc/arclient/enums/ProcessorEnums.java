@@ -2,13 +2,72 @@ package com.narc.arclient.enums;
 
 public class ProcessorEnums {
     public static final String MP_RECOGNIZER_TASK = "gesture_recognizer.task";
+    // 轻量引擎用的纯关键点模型 (gesture_recognizer.task 包内的同一个 hand_landmarker.task 单独放进 assets)
+    public static final String MP_LANDMARKER_TASK = "hand_landmarker.task";
+    // 推理引擎：切换到 HAND_LANDMARKER 前先用 androidTest 里的 GestureEngineAgreementTest 在录制帧上核对一致率与耗时
+    public static final GestureEngine GESTURE_ENGINE = GestureEngine.GESTURE_RECOGNIZER;
 
     public static final float DEFAULT_HAND_DETECTION_CONFIDENCE = 0.5f;
     public static final float DEFAULT_HAND_TRACKING_CONFIDENCE = 0.5f;
     public static final float DEFAULT_HAND_PRESENCE_CONFIDENCE = 0.5f;
     public static final int MONITOR_FREQUENCY = 1;
     public static final float SCALE_FACTOR = 0.4f;
+    // 手势模型输入宽度 (相机线程直接转换到该尺寸，高度按相机宽高比)；开启启动校准时为默认值，实际宽度由校准结果决定
+    public static final int INFERENCE_WIDTH = 400;
 
     public static final float DETECT_BOX_SIZE_SCALE = 3.0f;
 
+    // 相机帧 -> 推理输入的降采样内核 (一次完成 YUV 转换与缩放，直接输出 INFERENCE_WIDTH 宽)
+    public static final DownsampleKernel DOWNSAMPLE_KERNEL = DownsampleKernel.AREA;
+    // 单流模式的整帧输入内核：源帧是 1080p，滤波内核需要整帧拷贝，默认点采样 (只拷贝采样行)；跟踪裁剪仍用 DOWNSAMPLE_KERNEL
+    public static final DownsampleKernel SINGLE_STREAM_DOWNSAMPLE_KERNEL = DownsampleKernel.NEAREST;
+    // YUV -> RGB 色度项计算方式 (两者输出逐位一致，只影响速度)
+    public static final ColorConversionMode COLOR_CONVERSION_MODE = ColorConversionMode.LUT;
+    // 手势识别运行模式 (两种模式的延迟 / 吞吐量见 Monitor 日志中的 Inference 行，按设备选择)
+    public static final InferenceMode INFERENCE_MODE = InferenceMode.VIDEO;
+
+    // 手部跟踪裁剪：手在画面中只占一小块时，裁剪区域以更高的有效分辨率送入模型
+    public static final InferenceRoiMode INFERENCE_ROI_MODE = InferenceRoiMode.HAND_TRACKING;
+    // 外接框边长的放大倍数 (给帧间移动与手指张开留余量)
+    public static final float TRACKING_ROI_SCALE = 1.8f;
+    // 裁剪区域的模型输入边长 (正方形)
+    public static final int TRACKING_INPUT_SIZE = 224;
+    // 裁剪边长超过画面短边的该比例时，直接整帧更划算
+    public static final float TRACKING_MAX_ROI_FRACTION = 0.9f;
+    // 跟踪框来自的帧比当前帧早超过该值 (毫秒) 时视为过期，回退整帧检测
+    public static final long TRACKING_ROI_MAX_AGE_MS = 250;
+
+    // 启动校准：首次运行时在各推理后端 / 输入宽度上计时合成帧，选出满足目标帧率的最快组合并缓存到磁盘
+    public static final boolean INFERENCE_CALIBRATION = true;
+    public static final int INFERENCE_TARGET_FPS = 20;
+    // 候选输入宽度 (从高到低，满足帧率时优先取更宽的)
+    public static final int[] CALIBRATION_WIDTHS = {400, 320, 256};
+    // 每个组合计时的帧数 (取中位数)，计时前先预热
+    public static final int CALIBRATION_FRAMES = 6;
+    // 预热帧数：GPU 后端首帧要编译着色器，正式推理前先跑掉
+    public static final int INFERENCE_WARMUP_FRAMES = 3;
+    // 校准帧里没有手，只计时了手掌检测；运行中再取有手帧的实际耗时 (中位数) 复核，超预算则降宽度并在下次启动重新校准
+    public static final int CALIBRATION_RECHECK_FRAMES = 30;
+
+    // 跳帧推理：手慢时每 SKIP_MAX_INTERVAL 帧推理一次，中间帧用指尖模板匹配推进光标；手快时回到每帧推理
+    public static final InferenceCadence INFERENCE_CADENCE = InferenceCadence.ADAPTIVE_SKIP;
+    public static final int SKIP_MAX_INTERVAL = 4;
+    // 指尖速度 (归一化单位 / 秒) 低于 SLOW 时取最大间隔，高于 FAST 时每帧推理，其间线性过渡
+    public static final float SKIP_SLOW_SPEED = 0.15f;
+    public static final float SKIP_FAST_SPEED = 0.8f;
+
+    // 拍照识物触发方式：捏合一次推理间隔即可触发，静止悬停 (3 秒) 保留为兜底
+    public static final CaptureTrigger CAPTURE_TRIGGER = CaptureTrigger.PINCH_OR_DWELL;
+
+    // 空闲 / 活跃双速：连续 IDLE_AFTER_MS 没有识别到手进入空闲，只在亮度缩略图上做帧差，检测到运动立即恢复全速推理
+    public static final IdleMode IDLE_MODE = IdleMode.MOTION_WAKE;
+    public static final long IDLE_AFTER_MS = 5000;
+    // 空闲时每隔该时长仍放一帧去推理 (不恢复全速)，兜底"手静止出现在画面里"的情况
+    public static final long IDLE_PROBE_MS = 2000;
+
+    // 调试：录制推理输入 (外部存储 files/gesture_frames/)，供两种推理引擎离线对比
+    // 录制期间关闭手部区域裁剪，每一帧推理输入都是整帧，录下的是连续的整帧序列 (20 fps 下约 15 秒)
+    public static final boolean RECORD_GESTURE_FRAMES = false;
+    public static final int RECORD_MAX_FRAMES = 300;
+
 }
@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 相机输出流：SINGLE_STREAM 一路 1080p YUV 同时供推理与拍照；DUAL_STREAM 低分辨率 YUV 分析流 + 按需触发的高清 JPEG 静态拍照
+public enum StreamMode {
+    SINGLE_STREAM, DUAL_STREAM
+}
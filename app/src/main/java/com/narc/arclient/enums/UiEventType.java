@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 离散 UI 事件：OBJECT_TRIGGER 悬停识物触发 (推理线程产生)；MIC_CLICK / SUBTITLE_CLICK 虚拟按钮点击 (渲染时产生)
+public enum UiEventType {
+    OBJECT_TRIGGER, MIC_CLICK, SUBTITLE_CLICK
+}
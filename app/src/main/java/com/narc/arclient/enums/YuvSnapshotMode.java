@@ -0,0 +1,6 @@
+package com.narc.arclient.enums;
+
+// 高清帧拷贝策略：EVERY_FRAME 每帧完整拷贝；ON_ARMED 仅在拍照即将触发 (armed) 时完整拷贝
+public enum YuvSnapshotMode {
+    EVERY_FRAME, ON_ARMED
+}
@@ -0,0 +1,29 @@
+package com.narc.arclient.gesture;
+
+/**
+ * 悬停触发区域 (整帧归一化坐标)：指尖在区域内停留 durationMs 即触发一次，之后需再停留 durationMs 才会再次触发
+ */
+public class DwellRegion {
+    private final float left;
+    private final float top;
+    private final float right;
+    private final float bottom;
+    private final long durationMs;
+
+    public DwellRegion(float left, float top, float right, float bottom, long durationMs) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        this.durationMs = durationMs;
+    }
+
+    // 与原按钮判定一致：左 / 上边界为开区间
+    public boolean contains(float x, float y) {
+        return x > left && x <= right && y > top && y <= bottom;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
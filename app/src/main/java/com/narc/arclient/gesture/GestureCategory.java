@@ -0,0 +1,49 @@
+package com.narc.arclient.gesture;
+
+/**
+ * MediaPipe 手势分类结果：只在识别结果边界把类别名转换一次，状态机内部不再做字符串比较
+ */
+public enum GestureCategory {
+    NONE("None"),
+    CLOSED_FIST("Closed_Fist"),
+    OPEN_PALM("Open_Palm"),
+    POINTING_UP("Pointing_Up"),
+    THUMB_DOWN("Thumb_Down"),
+    THUMB_UP("Thumb_Up"),
+    VICTORY("Victory"),
+    I_LOVE_YOU("ILoveYou");
+
+    private final String label;
+
+    GestureCategory(String label) {
+        this.label = label;
+    }
+
+    // MediaPipe 的类别名 (RenderData / 日志沿用)
+    public String getLabel() {
+        return label;
+    }
+
+    public static GestureCategory fromLabel(String label) {
+        if (label == null)
+            return NONE;
+        switch (label) {
+            case "Closed_Fist":
+                return CLOSED_FIST;
+            case "Open_Palm":
+                return OPEN_PALM;
+            case "Pointing_Up":
+                return POINTING_UP;
+            case "Thumb_Down":
+                return THUMB_DOWN;
+            case "Thumb_Up":
+                return THUMB_UP;
+            case "Victory":
+                return VICTORY;
+            case "ILoveYou":
+                return I_LOVE_YOU;
+            default:
+                return NONE;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.narc.arclient.gesture;
+
+/**
+ * GestureStateMachine 的输出：调用方持有一个实例反复传入，状态机每帧原地覆盖，不产生新对象
+ */
+public class GestureState {
+    // 本帧的手部状态
+    public static final int HAND_NONE = 0;     // 没有识别到手
+    public static final int HAND_IGNORED = 1;  // 识别到但被过滤 (左手 / 关键点不全)
+    public static final int HAND_TRACKED = 2;
+
+    int handStatus = HAND_NONE;
+    GestureCategory category = GestureCategory.NONE;
+
+    // 指尖：原始坐标 (渲染端自行滤波预测) 与滤波后坐标 (悬停判定用)
+    float tipX = 1f;
+    float tipY = 1f;
+    float filteredTipX = 1f;
+    float filteredTipY = 1f;
+    // 滤波后的指尖速度 (归一化单位 / 秒)
+    float tipSpeed;
+
+    // 手部外接框 (整帧归一化坐标)
+    float handLeft;
+    float handTop;
+    float handRight;
+    float handBottom;
+
+    // 静止悬停 (拍照识物)
+    float dwellProgress;
+    boolean dwellTriggered;
+
+    // 捏合 (拍照识物)：pinchProgress 为合拢进度，触发帧的 pinchAnchor 为合拢前食指指向的位置
+    boolean pinched;
+    float pinchProgress;
+    boolean pinchTriggered;
+    float pinchAnchorX;
+    float pinchAnchorY;
+
+    // 悬停区域：region 为区域下标，-1 表示不在任何区域内
+    int region = -1;
+    float regionProgress;
+    boolean regionTriggered;
+
+    void clear() {
+        handStatus = HAND_NONE;
+        category = GestureCategory.NONE;
+        tipX = 1f;
+        tipY = 1f;
+        filteredTipX = 1f;
+        filteredTipY = 1f;
+        tipSpeed = 0f;
+        handLeft = 0f;
+        handTop = 0f;
+        handRight = 0f;
+        handBottom = 0f;
+        dwellProgress = 0f;
+        dwellTriggered = false;
+        pinched = false;
+        pinchProgress = 0f;
+        pinchTriggered = false;
+        pinchAnchorX = 0f;
+        pinchAnchorY = 0f;
+        region = -1;
+        regionProgress = 0f;
+        regionTriggered = false;
+    }
+
+    public int getHandStatus() {
+        return handStatus;
+    }
+
+    public boolean isTracked() {
+        return handStatus == HAND_TRACKED;
+    }
+
+    public GestureCategory getCategory() {
+        return category;
+    }
+
+    public float getTipX() {
+        return tipX;
+    }
+
+    public float getTipY() {
+        return tipY;
+    }
+
+    public float getFilteredTipX() {
+        return filteredTipX;
+    }
+
+    public float getFilteredTipY() {
+        return filteredTipY;
+    }
+
+    public float getTipSpeed() {
+        return tipSpeed;
+    }
+
+    public float getHandLeft() {
+        return handLeft;
+    }
+
+    public float getHandTop() {
+        return handTop;
+    }
+
+    public float getHandRight() {
+        return handRight;
+    }
+
+    public float getHandBottom() {
+        return handBottom;
+    }
+
+    public float getHandWidth() {
+        return Math.max(0f, handRight - handLeft);
+    }
+
+    public float getHandHeight() {
+        return Math.max(0f, handBottom - handTop);
+    }
+
+    public float getDwellProgress() {
+        return dwellProgress;
+    }
+
+    public boolean isDwellTriggered() {
+        return dwellTriggered;
+    }
+
+    public boolean isPinched() {
+        return pinched;
+    }
+
+    public float getPinchProgress() {
+        return pinchProgress;
+    }
+
+    public boolean isPinchTriggered() {
+        return pinchTriggered;
+    }
+
+    public float getPinchAnchorX() {
+        return pinchAnchorX;
+    }
+
+    public float getPinchAnchorY() {
+        return pinchAnchorY;
+    }
+
+    /**
+     * 本帧是否触发拍照识物 (静止悬停或捏合)
+     */
+    public boolean isCaptureTriggered() {
+        return dwellTriggered || pinchTriggered;
+    }
+
+    public int getRegion() {
+        return region;
+    }
+
+    public float getRegionProgress() {
+        return regionProgress;
+    }
+
+    public boolean isRegionTriggered() {
+        return regionTriggered;
+    }
+}
@@ -0,0 +1,201 @@
+package com.narc.arclient.gesture;
+
+import com.narc.arclient.enums.CaptureTrigger;
+import com.narc.arclient.utils.CursorFilter;
+
+/**
+ * 手势 / 悬停状态机 (纯 Java，不依赖 Android 与 MediaPipe，可在 JVM 上单测与基准)
+ *
+ * 输入：已映射到整帧归一化坐标的关键点数组、手势类别与帧的传感器时间戳；输出原地写入调用方复用的 GestureState。
+ * 每帧依次做：手部过滤 (只认右手) -> 指尖滤波 -> 外接框 -> 捏合检测 -> 悬停区域计时 -> 拍照触发 (捏合 / 静止悬停)。
+ * 稳态下每帧零分配；实例非线程安全，只在结果处理线程上调用
+ */
+public class GestureStateMachine {
+    public static final int WRIST = 0;
+    public static final int INDEX_TIP = 8;
+
+    // 前置摄像头镜像：手腕 X < 0.5 在画面左侧 = 用户的左手，忽略
+    private static final float MIN_WRIST_X = 0.5f;
+    // 静止悬停触发后，隔这么久才重新开始计时 (避免连续触发)
+    private static final long DWELL_REARM_MS = 2000;
+    // 指尖速度低于该值 (归一化单位 / 秒) 视为静止悬停
+    private static final float DWELL_MAX_SPEED = 0.6f;
+    // 指尖 One-Euro 滤波参数 (归一化坐标)
+    private static final float TIP_MIN_CUTOFF = 1.0f;
+    private static final float TIP_BETA = 10.0f;
+    private static final float TIP_DERIVATIVE_CUTOFF = 1.0f;
+    private static final float TIP_SNAP_DISTANCE = 0.3f;
+    // 捏合滞回阈值 (拇指-食指指尖距离 / 手掌长度)
+    private static final float PINCH_CLOSE_RATIO = 0.25f;
+    private static final float PINCH_OPEN_RATIO = 0.45f;
+
+    private final DwellRegion[] regions;
+    private final long dwellDurationMs;
+    private final CaptureTrigger captureTrigger;
+    private final PinchDetector pinch = new PinchDetector(PINCH_CLOSE_RATIO, PINCH_OPEN_RATIO);
+    private final CursorFilter tipFilter = new CursorFilter(TIP_MIN_CUTOFF, TIP_BETA, TIP_DERIVATIVE_CUTOFF,
+            TIP_SNAP_DISTANCE);
+
+    // 计时起点均为传感器时钟毫秒，0 表示未开始
+    private long dwellStartMs = 0;
+    private int activeRegion = -1;
+    private long regionStartMs = 0;
+
+    /**
+     * @param regions         悬停区域 (按下标优先级判定，先命中者生效)
+     * @param dwellDurationMs 区域之外指尖静止多久触发一次 (拍照识物)
+     * @param captureTrigger  拍照识物的触发方式
+     */
+    public GestureStateMachine(DwellRegion[] regions, long dwellDurationMs, CaptureTrigger captureTrigger) {
+        this.regions = regions.clone();
+        this.dwellDurationMs = dwellDurationMs;
+        this.captureTrigger = captureTrigger;
+    }
+
+    // 只用静止悬停触发
+    public GestureStateMachine(DwellRegion[] regions, long dwellDurationMs) {
+        this(regions, dwellDurationMs, CaptureTrigger.DWELL);
+    }
+
+    /**
+     * 推进一帧
+     *
+     * @param xs          关键点 X (整帧归一化坐标)
+     * @param ys          关键点 Y
+     * @param count       关键点个数，0 表示本帧没有手
+     * @param category    手势类别
+     * @param timestampNs 帧的传感器时间戳 (纳秒)
+     * @param out         输出，整体覆盖
+     */
+    public void update(float[] xs, float[] ys, int count, GestureCategory category, long timestampNs,
+                       GestureState out) {
+        out.clear();
+        if (count == 0) {
+            reset();
+            return;
+        }
+        if (count <= INDEX_TIP || xs[WRIST] < MIN_WRIST_X) {
+            reset();
+            out.handStatus = GestureState.HAND_IGNORED;
+            return;
+        }
+
+        out.handStatus = GestureState.HAND_TRACKED;
+        out.category = category;
+        long nowMs = timestampNs / 1_000_000L;
+
+        // 指尖：悬停判定用滤波后的位置与速度
+        float rawX = xs[INDEX_TIP];
+        float rawY = ys[INDEX_TIP];
+        tipFilter.update(rawX, rawY, timestampNs);
+        float cx = tipFilter.getX();
+        float cy = tipFilter.getY();
+        out.tipX = rawX;
+        out.tipY = rawY;
+        out.filteredTipX = cx;
+        out.filteredTipY = cy;
+        float speed = (float) Math.hypot(tipFilter.getVelocityX(), tipFilter.getVelocityY());
+        out.tipSpeed = speed;
+
+        // 手部外接框
+        float minX = 1f, minY = 1f, maxX = 0f, maxY = 0f;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        out.handLeft = minX;
+        out.handTop = minY;
+        out.handRight = maxX;
+        out.handBottom = maxY;
+
+        // 张手 = 关闭手势，暂停一切悬停计时
+        if (category == GestureCategory.OPEN_PALM) {
+            dwellStartMs = 0;
+            activeRegion = -1;
+            regionStartMs = 0;
+            pinch.reset();
+            return;
+        }
+
+        // 捏合状态每帧都要推进 (滞回依赖连续的历史)，但只在区域之外触发拍照
+        boolean pinchEnabled = captureTrigger != CaptureTrigger.DWELL && count > PinchDetector.MIDDLE_MCP;
+        boolean pinchStarted = pinchEnabled && pinch.update(xs, ys, INDEX_TIP);
+
+        int hit = findRegion(cx, cy);
+        if (hit >= 0) {
+            dwellStartMs = 0;
+            out.region = hit;
+            if (hit != activeRegion || regionStartMs == 0) {
+                activeRegion = hit;
+                regionStartMs = nowMs;
+            } else {
+                long duration = nowMs - regionStartMs;
+                long required = regions[hit].getDurationMs();
+                out.regionProgress = Math.min(1.0f, (float) duration / required);
+                if (duration >= required) {
+                    out.regionTriggered = true;
+                    regionStartMs = 0;
+                }
+            }
+            return;
+        }
+
+        activeRegion = -1;
+        regionStartMs = 0;
+        if (pinchEnabled) {
+            out.pinched = pinch.isPinched();
+            out.pinchProgress = pinch.getProgress();
+            if (pinchStarted) {
+                out.pinchTriggered = true;
+                out.pinchAnchorX = pinch.getAnchorX();
+                out.pinchAnchorY = pinch.getAnchorY();
+                // 捏合已触发，悬停计时同样进入冷却，避免同一次停留再触发一次
+                dwellStartMs = nowMs + DWELL_REARM_MS;
+                return;
+            }
+            // 捏合中 (或正在合拢) 不累计悬停
+            if (out.pinchProgress > 0f) {
+                if (dwellStartMs <= nowMs)
+                    dwellStartMs = 0;
+                return;
+            }
+        }
+        if (captureTrigger == CaptureTrigger.PINCH)
+            return;
+        if (speed < DWELL_MAX_SPEED) {
+            if (dwellStartMs == 0) {
+                dwellStartMs = nowMs;
+            } else {
+                long duration = nowMs - dwellStartMs;
+                out.dwellProgress = Math.max(0f, Math.min(1.0f, (float) duration / dwellDurationMs));
+                if (duration >= dwellDurationMs) {
+                    out.dwellTriggered = true;
+                    dwellStartMs = nowMs + DWELL_REARM_MS;
+                }
+            }
+        } else {
+            dwellStartMs = 0;
+        }
+    }
+
+    private int findRegion(float x, float y) {
+        for (int i = 0; i < regions.length; i++) {
+            if (regions[i].contains(x, y))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 丢手 / 忽略时清空所有计时与滤波轨迹
+     */
+    public void reset() {
+        dwellStartMs = 0;
+        activeRegion = -1;
+        regionStartMs = 0;
+        tipFilter.reset();
+        pinch.reset();
+    }
+}
@@ -0,0 +1,110 @@
+package com.narc.arclient.gesture;
+
+/**
+ * 基于关键点的规则手势分类 (纯 Java，零分配)：只区分应用用到的 Open_Palm / Victory / Thumb_Up，其余归为 NONE
+ *
+ * 输入为 21 个关键点的三维坐标 (HandLandmarker 的 world landmarks，单位米，原点在手中心，y 轴向下)，
+ * 每根手指按关节弯曲角之和判定伸直 / 蜷曲，角度与手的远近、画面宽高比无关。
+ * 两个阈值之间的手指视为"不确定"，不参与任何一类的判定，宁可输出 NONE 也不误判
+ */
+public final class LandmarkGestureClassifier {
+    public static final int LANDMARK_COUNT = 21;
+
+    // 各手指的四个关节下标：拇指 CMC/MCP/IP/TIP，其余 MCP/PIP/DIP/TIP
+    private static final int[][] FINGERS = {
+            {1, 2, 3, 4},
+            {5, 6, 7, 8},
+            {9, 10, 11, 12},
+            {13, 14, 15, 16},
+            {17, 18, 19, 20}
+    };
+    private static final int THUMB = 0;
+    private static final int INDEX = 1;
+    private static final int MIDDLE = 2;
+    private static final int RING = 3;
+    private static final int PINKY = 4;
+
+    // 三段指骨之间两个弯曲角之和 (度)
+    private static final float EXTENDED_MAX_CURL = 60f;
+    private static final float FOLDED_MIN_CURL = 100f;
+    // 拇指关节短、活动范围小，阈值单独设
+    private static final float THUMB_EXTENDED_MAX_CURL = 45f;
+    private static final float THUMB_FOLDED_MIN_CURL = 70f;
+    // 拇指伸直时指尖离食指根至少这么远 (手掌长度的倍数)，排除贴着食指的"伸直"拇指
+    private static final float THUMB_MIN_SPREAD = 0.5f;
+    // 竖拇指：拇指 MCP -> TIP 方向与竖直向上夹角的余弦下限
+    private static final float THUMB_UP_MIN_COS = 0.7f;
+
+    private static final int EXTENDED = 1;
+    private static final int FOLDED = -1;
+    private static final int UNSURE = 0;
+
+    private LandmarkGestureClassifier() {
+    }
+
+    /**
+     * @param count 关键点个数，不足 21 个时返回 NONE
+     */
+    public static GestureCategory classify(float[] xs, float[] ys, float[] zs, int count) {
+        if (count < LANDMARK_COUNT)
+            return GestureCategory.NONE;
+        int thumb = thumbState(xs, ys, zs);
+        int index = fingerState(xs, ys, zs, INDEX);
+        int middle = fingerState(xs, ys, zs, MIDDLE);
+        int ring = fingerState(xs, ys, zs, RING);
+        int pinky = fingerState(xs, ys, zs, PINKY);
+
+        if (index == EXTENDED && middle == EXTENDED && ring == EXTENDED && pinky == EXTENDED && thumb == EXTENDED)
+            return GestureCategory.OPEN_PALM;
+        if (index == EXTENDED && middle == EXTENDED && ring == FOLDED && pinky == FOLDED)
+            return GestureCategory.VICTORY;
+        if (thumb == EXTENDED && index == FOLDED && middle == FOLDED && ring == FOLDED && pinky == FOLDED
+                && pointsUp(xs, ys, zs, FINGERS[THUMB][1], FINGERS[THUMB][3]))
+            return GestureCategory.THUMB_UP;
+        return GestureCategory.NONE;
+    }
+
+    private static int fingerState(float[] xs, float[] ys, float[] zs, int finger) {
+        int[] j = FINGERS[finger];
+        float curl = angle(xs, ys, zs, j[0], j[1], j[2]) + angle(xs, ys, zs, j[1], j[2], j[3]);
+        if (curl < EXTENDED_MAX_CURL)
+            return EXTENDED;
+        if (curl > FOLDED_MIN_CURL)
+            return FOLDED;
+        return UNSURE;
+    }
+
+    private static int thumbState(float[] xs, float[] ys, float[] zs) {
+        int[] j = FINGERS[THUMB];
+        float curl = angle(xs, ys, zs, j[0], j[1], j[2]) + angle(xs, ys, zs, j[1], j[2], j[3]);
+        float palm = distance(xs, ys, zs, GestureStateMachine.WRIST, FINGERS[MIDDLE][0]);
+        float spread = distance(xs, ys, zs, j[3], FINGERS[INDEX][0]);
+        if (curl < THUMB_EXTENDED_MAX_CURL && spread > palm * THUMB_MIN_SPREAD)
+            return EXTENDED;
+        if (curl > THUMB_FOLDED_MIN_CURL || spread < palm * THUMB_MIN_SPREAD)
+            return FOLDED;
+        return UNSURE;
+    }
+
+    // a -> b 与 b -> c 两段之间的弯曲角 (度)，0 表示共线伸直
+    private static float angle(float[] xs, float[] ys, float[] zs, int a, int b, int c) {
+        float ux = xs[b] - xs[a], uy = ys[b] - ys[a], uz = zs[b] - zs[a];
+        float vx = xs[c] - xs[b], vy = ys[c] - ys[b], vz = zs[c] - zs[b];
+        double lengths = Math.sqrt((ux * ux + uy * uy + uz * uz) * (double) (vx * vx + vy * vy + vz * vz));
+        if (lengths <= 0)
+            return 0f;
+        double cos = (ux * vx + uy * vy + uz * vz) / lengths;
+        return (float) Math.toDegrees(Math.acos(Math.max(-1.0, Math.min(1.0, cos))));
+    }
+
+    // from -> to 方向是否朝上 (y 轴向下)
+    private static boolean pointsUp(float[] xs, float[] ys, float[] zs, int from, int to) {
+        float length = distance(xs, ys, zs, from, to);
+        return length > 0f && (ys[from] - ys[to]) / length > THUMB_UP_MIN_COS;
+    }
+
+    private static float distance(float[] xs, float[] ys, float[] zs, int a, int b) {
+        float dx = xs[a] - xs[b], dy = ys[a] - ys[b], dz = zs[a] - zs[b];
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,97 @@
+package com.narc.arclient.gesture;
+
+/**
+ * 捏合检测：拇指指尖与食指指尖的距离除以手掌长度 (手腕 -> 中指根)，与手离镜头的远近无关
+ *
+ * 比值低于 closeRatio 进入捏合、高于 openRatio 才松开，两阈值之间保持原状态 (滞回)，
+ * 关键点在阈值附近抖动时不会反复触发；每次捏合只在进入时触发一次。
+ * 同时记录开始合拢 (比值首次低于 openRatio) 时的食指指尖位置：捏合过程中食指会被拇指带偏，
+ * 拍照应以合拢前指向的位置为准。实例非线程安全，零分配
+ */
+public class PinchDetector {
+    public static final int THUMB_TIP = 4;
+    public static final int MIDDLE_MCP = 9;
+
+    private final float closeRatio;
+    private final float openRatio;
+
+    private boolean pinched = false;
+    private boolean closing = false;
+    private float anchorX;
+    private float anchorY;
+    private float ratio = Float.MAX_VALUE;
+
+    /**
+     * @param closeRatio 进入捏合的距离比
+     * @param openRatio  松开的距离比 (需大于 closeRatio)
+     */
+    public PinchDetector(float closeRatio, float openRatio) {
+        this.closeRatio = closeRatio;
+        this.openRatio = openRatio;
+    }
+
+    /**
+     * 推进一帧 (关键点为整帧归一化坐标，至少包含到 MIDDLE_MCP)
+     *
+     * @return 本帧是否刚进入捏合 (触发)
+     */
+    public boolean update(float[] xs, float[] ys, int indexTip) {
+        float palm = distance(xs, ys, GestureStateMachine.WRIST, MIDDLE_MCP);
+        if (palm <= 0f)
+            return false;
+        ratio = distance(xs, ys, THUMB_TIP, indexTip) / palm;
+
+        if (pinched) {
+            if (ratio > openRatio) {
+                pinched = false;
+                closing = false;
+            }
+            return false;
+        }
+        if (ratio >= openRatio) {
+            closing = false;
+            return false;
+        }
+        if (!closing) {
+            closing = true;
+            anchorX = xs[indexTip];
+            anchorY = ys[indexTip];
+        }
+        if (ratio < closeRatio) {
+            pinched = true;
+            return true;
+        }
+        return false;
+    }
+
+    private static float distance(float[] xs, float[] ys, int a, int b) {
+        return (float) Math.hypot(xs[a] - xs[b], ys[a] - ys[b]);
+    }
+
+    /**
+     * 合拢进度：比值从 openRatio 降到 closeRatio 对应 0 -> 1，捏合中为 1
+     */
+    public float getProgress() {
+        if (pinched)
+            return 1f;
+        return Math.max(0f, Math.min(1f, (openRatio - ratio) / (openRatio - closeRatio)));
+    }
+
+    public boolean isPinched() {
+        return pinched;
+    }
+
+    public float getAnchorX() {
+        return anchorX;
+    }
+
+    public float getAnchorY() {
+        return anchorY;
+    }
+
+    public void reset() {
+        pinched = false;
+        closing = false;
+        ratio = Float.MAX_VALUE;
+    }
+}
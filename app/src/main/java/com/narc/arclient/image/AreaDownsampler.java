@@ -0,0 +1,211 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.enums.ColorConversionMode;
+
+/**
+ * 精确面积加权降采样 (等价于 OpenCV INTER_AREA)：每个输出像素是其覆盖的源矩形内像素按覆盖面积的加权平均，
+ * 非整数缩放比 (如 480 -> 400) 时边界像素按覆盖比例计入，不会因整数分箱产生忽宽忽窄的采样格
+ *
+ * 可分离实现：先对源行做水平加权得到中间行，再按垂直权重累加；亮度与色度 (半分辨率平面) 各自建表。
+ * 权重表只在尺寸变化时重建，之后每帧不分配内存；实例非线程安全，由 YuvConverter 按线程缓存
+ */
+final class AreaDownsampler {
+    // 权重精度：单轴权重之和为 1 << WEIGHT_BITS
+    private static final int WEIGHT_BITS = 12;
+    private static final int WEIGHT_ONE = 1 << WEIGHT_BITS;
+    // 水平结果保留 4 位小数后再做垂直累加 (255 << 4 << 12 不溢出 int)
+    private static final int H_SHIFT = WEIGHT_BITS - 4;
+    private static final int OUT_SHIFT = 4 + WEIGHT_BITS;
+
+    private int srcLeft = -1;
+    private int srcTop = -1;
+    private int srcW = -1;
+    private int srcH = -1;
+    private int outW = -1;
+    private int outH = -1;
+    private int uvShift = -1;
+
+    private Axis lumaX;
+    private Axis lumaY;
+    private Axis chromaX;
+    private Axis chromaY;
+
+    private int[] rowY;
+    private int[] rowU;
+    private int[] rowV;
+    private int[] accY;
+    private int[] accU;
+    private int[] accV;
+
+    /**
+     * 单个轴的采样表：输出 i 覆盖源索引 [start[i], start[i] + count[i])，对应权重从 weights[offset[i]] 开始
+     */
+    private static final class Axis {
+        final int[] start;
+        final int[] count;
+        final int[] offset;
+        final int[] weights;
+
+        Axis(int[] start, int[] count, int[] offset, int[] weights) {
+            this.start = start;
+            this.count = count;
+            this.offset = offset;
+            this.weights = weights;
+        }
+    }
+
+    void downsample(ColorConversionMode mode, YuvFrame f, int srcLeft, int srcTop, int srcW, int srcH,
+                    int[] out, int outW, int outH) {
+        prepare(srcLeft, srcTop, srcW, srcH, outW, outH, f.uvRowShift);
+
+        byte[] yData = f.yData;
+        byte[] uData = f.uData;
+        byte[] vData = f.vData;
+        int yMax = f.yLength - 1;
+        int uvMax = Math.min(f.uLength, f.vLength) - 1;
+        int yRowStride = f.yRowStride;
+        int uvRowStride = f.uvRowStride;
+        int pixelStride = f.uvPixelStride;
+        boolean lut = mode == ColorConversionMode.LUT;
+
+        int p = 0;
+        for (int y = 0; y < outH; y++) {
+            // 亮度：垂直方向逐个源行累加
+            clear(accY, outW);
+            int ys = lumaY.start[y];
+            int yOff = lumaY.offset[y];
+            for (int k = 0; k < lumaY.count[y]; k++) {
+                horizontal(yData, (ys + k) * yRowStride, 1, yMax, lumaX, rowY, outW);
+                accumulate(accY, rowY, lumaY.weights[yOff + k], outW);
+            }
+
+            // 色度：同样流程，在半分辨率平面上进行
+            clear(accU, outW);
+            clear(accV, outW);
+            int cs = chromaY.start[y];
+            int cOff = chromaY.offset[y];
+            for (int k = 0; k < chromaY.count[y]; k++) {
+                int row = (cs + k) * uvRowStride;
+                int wy = chromaY.weights[cOff + k];
+                horizontal(uData, row, pixelStride, uvMax, chromaX, rowU, outW);
+                horizontal(vData, row, pixelStride, uvMax, chromaX, rowV, outW);
+                accumulate(accU, rowU, wy, outW);
+                accumulate(accV, rowV, wy, outW);
+            }
+
+            int round = 1 << (OUT_SHIFT - 1);
+            for (int x = 0; x < outW; x++) {
+                int luma = (accY[x] + round) >> OUT_SHIFT;
+                int u = (accU[x] + round) >> OUT_SHIFT;
+                int v = (accV[x] + round) >> OUT_SHIFT;
+                out[p++] = lut ? YuvLut.yuvToArgb(luma, u, v) : YuvConverter.yuvToArgb(luma, u, v);
+            }
+        }
+    }
+
+    // 一个源行的水平加权，结果为 Q4 定点
+    private static void horizontal(byte[] data, int rowBase, int pixelStride, int max, Axis axis, int[] row, int outW) {
+        int[] start = axis.start;
+        int[] count = axis.count;
+        int[] offset = axis.offset;
+        int[] weights = axis.weights;
+        int half = 1 << (H_SHIFT - 1);
+        // 整行都在平面内时 (绝大多数行) 走无钳位的内层循环
+        boolean inside = rowBase + (start[outW - 1] + count[outW - 1] - 1) * pixelStride <= max;
+        for (int x = 0; x < outW; x++) {
+            int index = rowBase + start[x] * pixelStride;
+            int w = offset[x];
+            int sum = 0;
+            if (inside) {
+                for (int k = count[x]; k > 0; k--) {
+                    sum += (data[index] & 0xFF) * weights[w++];
+                    index += pixelStride;
+                }
+            } else {
+                for (int k = count[x]; k > 0; k--) {
+                    sum += (data[Math.min(index, max)] & 0xFF) * weights[w++];
+                    index += pixelStride;
+                }
+            }
+            row[x] = (sum + half) >> H_SHIFT;
+        }
+    }
+
+    private static void accumulate(int[] acc, int[] row, int weight, int outW) {
+        for (int x = 0; x < outW; x++) {
+            acc[x] += row[x] * weight;
+        }
+    }
+
+    private static void clear(int[] acc, int outW) {
+        for (int x = 0; x < outW; x++) {
+            acc[x] = 0;
+        }
+    }
+
+    private void prepare(int srcLeft, int srcTop, int srcW, int srcH, int outW, int outH, int uvShift) {
+        if (srcLeft == this.srcLeft && srcTop == this.srcTop && srcW == this.srcW && srcH == this.srcH
+                && outW == this.outW && outH == this.outH && uvShift == this.uvShift)
+            return;
+        this.srcLeft = srcLeft;
+        this.srcTop = srcTop;
+        this.srcW = srcW;
+        this.srcH = srcH;
+        this.outW = outW;
+        this.outH = outH;
+        this.uvShift = uvShift;
+
+        lumaX = buildAxis(srcLeft, (double) srcW / outW, outW);
+        lumaY = buildAxis(srcTop, (double) srcH / outH, outH);
+        // 色度列为亮度的一半；色度行 = 亮度行 >> uvShift
+        chromaX = buildAxis(srcLeft / 2.0, srcW / 2.0 / outW, outW);
+        int rowScale = 1 << uvShift;
+        chromaY = buildAxis((double) srcTop / rowScale, (double) srcH / rowScale / outH, outH);
+
+        rowY = new int[outW];
+        rowU = new int[outW];
+        rowV = new int[outW];
+        accY = new int[outW];
+        accU = new int[outW];
+        accV = new int[outW];
+    }
+
+    /**
+     * 输出 i 覆盖连续区间 [origin + i * scale, origin + (i + 1) * scale)，
+     * 与之相交的每个源像素按重叠长度计权，量化后把舍入误差补到最大权重上，保证权重和恰为 WEIGHT_ONE
+     */
+    static Axis buildAxis(double origin, double scale, int outCount) {
+        int[] start = new int[outCount];
+        int[] count = new int[outCount];
+        int[] offset = new int[outCount];
+        int total = 0;
+        for (int i = 0; i < outCount; i++) {
+            double a = origin + i * scale;
+            double b = a + scale;
+            start[i] = (int) Math.floor(a);
+            count[i] = Math.max(1, (int) Math.ceil(b - 1e-9) - start[i]);
+            offset[i] = total;
+            total += count[i];
+        }
+
+        int[] weights = new int[total];
+        for (int i = 0; i < outCount; i++) {
+            double a = origin + i * scale;
+            double b = a + scale;
+            int sum = 0;
+            int largest = offset[i];
+            for (int k = 0; k < count[i]; k++) {
+                int s = start[i] + k;
+                double overlap = Math.min(b, s + 1) - Math.max(a, s);
+                int w = (int) Math.round(Math.max(0, overlap) / scale * WEIGHT_ONE);
+                weights[offset[i] + k] = w;
+                sum += w;
+                if (w > weights[largest])
+                    largest = offset[i] + k;
+            }
+            weights[largest] += WEIGHT_ONE - sum;
+        }
+        return new Axis(start, count, offset, weights);
+    }
+}
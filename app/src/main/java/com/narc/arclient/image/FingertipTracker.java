@@ -0,0 +1,161 @@
+package com.narc.arclient.image;
+
+/**
+ * 两次推理之间的指尖跟踪：在推理帧的亮度平面上以识别出的指尖为中心截取模板，
+ * 后续帧在预测位置附近做 SAD 模板匹配，最优位置再用抛物线拟合到亚像素
+ *
+ * 匹配残差 (平均每像素 SAD) 过大视为跟丢，调用方应立即回到推理；坐标均为整帧像素。
+ * 只做平移跟踪，不处理旋转 / 缩放，所以每次推理都会重新取模板；实例非线程安全，只在相机线程使用
+ */
+public class FingertipTracker {
+    // 模板边长 (网格单位)
+    public static final int TEMPLATE_SIZE = 16;
+    // 平均每像素 SAD 超过该值视为跟丢
+    private static final int MAX_MEAN_SAD = 24;
+    // 模板太平坦 (没有纹理) 时匹配不可信
+    private static final int MIN_TEMPLATE_CONTRAST = 12;
+
+    private final int[] template = new int[TEMPLATE_SIZE * TEMPLATE_SIZE];
+    private boolean hasTemplate = false;
+    // 当前指尖位置 (像素)
+    private float x;
+    private float y;
+    private long timestampNs;
+    private int lastMeanSad;
+
+    /**
+     * 以 (tipX, tipY) 像素为中心截取模板，指尖太靠边或模板没有纹理时返回 false
+     */
+    public boolean setTemplate(LumaPlane plane, float tipX, float tipY) {
+        int half = TEMPLATE_SIZE / 2;
+        int left = Math.round(tipX / plane.step) - half;
+        int top = Math.round(tipY / plane.step) - half;
+        hasTemplate = false;
+        if (left < 0 || top < 0 || left + TEMPLATE_SIZE > plane.gridWidth || top + TEMPLATE_SIZE > plane.gridHeight)
+            return false;
+        int min = 255;
+        int max = 0;
+        int i = 0;
+        for (int ty = 0; ty < TEMPLATE_SIZE; ty++) {
+            for (int tx = 0; tx < TEMPLATE_SIZE; tx++) {
+                int v = plane.at(left + tx, top + ty);
+                template[i++] = v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        if (max - min < MIN_TEMPLATE_CONTRAST)
+            return false;
+        hasTemplate = true;
+        x = (left + half) * plane.step;
+        y = (top + half) * plane.step;
+        timestampNs = plane.timestampNs;
+        return true;
+    }
+
+    /**
+     * 在 (predictX, predictY) 周围 ±radius 个网格内搜索模板
+     *
+     * @return 匹配成功时更新位置并返回 true；跟丢返回 false (模板随之失效)
+     */
+    public boolean track(LumaPlane plane, float predictX, float predictY, int radius) {
+        if (!hasTemplate)
+            return false;
+        int half = TEMPLATE_SIZE / 2;
+        int cx = Math.round(predictX / plane.step) - half;
+        int cy = Math.round(predictY / plane.step) - half;
+        int minLeft = Math.max(0, cx - radius);
+        int maxLeft = Math.min(plane.gridWidth - TEMPLATE_SIZE, cx + radius);
+        int minTop = Math.max(0, cy - radius);
+        int maxTop = Math.min(plane.gridHeight - TEMPLATE_SIZE, cy + radius);
+        if (minLeft > maxLeft || minTop > maxTop) {
+            hasTemplate = false;
+            return false;
+        }
+
+        int best = Integer.MAX_VALUE;
+        int bestLeft = minLeft;
+        int bestTop = minTop;
+        for (int top = minTop; top <= maxTop; top++) {
+            for (int left = minLeft; left <= maxLeft; left++) {
+                int sad = sad(plane, left, top, best);
+                if (sad < best) {
+                    best = sad;
+                    bestLeft = left;
+                    bestTop = top;
+                }
+            }
+        }
+        lastMeanSad = best / (TEMPLATE_SIZE * TEMPLATE_SIZE);
+        if (lastMeanSad > MAX_MEAN_SAD) {
+            hasTemplate = false;
+            return false;
+        }
+
+        // 亚像素：最优点左右 / 上下的 SAD 做抛物线拟合
+        float dx = 0f;
+        float dy = 0f;
+        if (bestLeft > 0 && bestLeft < plane.gridWidth - TEMPLATE_SIZE) {
+            dx = parabolaOffset(sad(plane, bestLeft - 1, bestTop, Integer.MAX_VALUE), best,
+                    sad(plane, bestLeft + 1, bestTop, Integer.MAX_VALUE));
+        }
+        if (bestTop > 0 && bestTop < plane.gridHeight - TEMPLATE_SIZE) {
+            dy = parabolaOffset(sad(plane, bestLeft, bestTop - 1, Integer.MAX_VALUE), best,
+                    sad(plane, bestLeft, bestTop + 1, Integer.MAX_VALUE));
+        }
+        x = (bestLeft + half + dx) * plane.step;
+        y = (bestTop + half + dy) * plane.step;
+        timestampNs = plane.timestampNs;
+        return true;
+    }
+
+    // 累加到超过当前最优值即提前退出
+    private int sad(LumaPlane plane, int left, int top, int limit) {
+        byte[] data = plane.data;
+        int rowStride = plane.rowStride;
+        int step = plane.step;
+        int sum = 0;
+        int i = 0;
+        for (int ty = 0; ty < TEMPLATE_SIZE; ty++) {
+            int index = (top + ty) * rowStride + left * step;
+            for (int tx = 0; tx < TEMPLATE_SIZE; tx++) {
+                sum += Math.abs((data[index] & 0xFF) - template[i++]);
+                index += step;
+            }
+            if (sum >= limit)
+                return sum;
+        }
+        return sum;
+    }
+
+    private static float parabolaOffset(int left, int center, int right) {
+        int denominator = left - 2 * center + right;
+        if (denominator <= 0)
+            return 0f;
+        return Math.max(-0.5f, Math.min(0.5f, 0.5f * (left - right) / denominator));
+    }
+
+    public boolean hasTemplate() {
+        return hasTemplate;
+    }
+
+    public void reset() {
+        hasTemplate = false;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public long getTimestampNs() {
+        return timestampNs;
+    }
+
+    public int getLastMeanSad() {
+        return lastMeanSad;
+    }
+}
@@ -0,0 +1,52 @@
+package com.narc.arclient.image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 亮度平面的按行抽样拷贝：只保留第 0, step, 2*step... 行，列方向按 step 读取
+ * 网格坐标 (gx, gy) 对应像素 (gx * step, gy * step)，双流 480 宽时 step = 1 即整平面
+ */
+public class LumaPlane {
+    byte[] data = new byte[0];
+    int rowStride;
+    int step = 1;
+    int gridWidth;
+    int gridHeight;
+    long timestampNs;
+
+    /**
+     * 从相机 Y 平面拷贝 (ByteBuffer 位置会被修改)
+     */
+    public void copyFrom(ByteBuffer yBuffer, int rowStride, int width, int height, int step, long timestampNs) {
+        int rows = height / step;
+        if (data.length < rows * rowStride) {
+            data = new byte[rows * rowStride];
+        }
+        for (int r = 0; r < rows; r++) {
+            int srcOffset = r * step * rowStride;
+            // 最后一行可能短于 rowStride（平面末尾没有 padding）
+            int length = Math.min(rowStride, yBuffer.limit() - srcOffset);
+            if (length <= 0)
+                break;
+            yBuffer.position(srcOffset);
+            yBuffer.get(data, r * rowStride, length);
+        }
+        this.rowStride = rowStride;
+        this.step = step;
+        this.gridWidth = width / step;
+        this.gridHeight = rows;
+        this.timestampNs = timestampNs;
+    }
+
+    int at(int gx, int gy) {
+        return data[gy * rowStride + gx * step] & 0xFF;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    public long getTimestampNs() {
+        return timestampNs;
+    }
+}
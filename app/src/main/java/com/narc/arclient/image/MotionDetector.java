@@ -0,0 +1,92 @@
+package com.narc.arclient.image;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 空闲模式的运动检测：把亮度平面缩成 THUMB_WIDTH x THUMB_HEIGHT 的缩略图 (每格取 4x4 个点的均值)，与上一张逐格比较
+ *
+ * 先扣除整体亮度的平均变化 (自动曝光调整、灯光渐变不算运动)，再统计变化超过 CELL_THRESHOLD 的格子占比；
+ * 每帧只读约 2 万个像素，不拷贝平面。实例非线程安全，只在相机线程使用
+ */
+public class MotionDetector {
+    public static final int THUMB_WIDTH = 40;
+    public static final int THUMB_HEIGHT = 30;
+    private static final int CELLS = THUMB_WIDTH * THUMB_HEIGHT;
+    // 每格在横 / 纵方向各取的采样点数
+    private static final int SAMPLES = 4;
+    // 单格亮度变化 (去掉整体变化后) 超过该值才算变化
+    private static final int CELL_THRESHOLD = 12;
+
+    private final float minChangedFraction;
+    private int[] previous = new int[CELLS];
+    private int[] current = new int[CELLS];
+    private boolean hasPrevious = false;
+    private float changedFraction;
+
+    /**
+     * @param minChangedFraction 变化格子占比超过该值视为运动
+     */
+    public MotionDetector(float minChangedFraction) {
+        this.minChangedFraction = minChangedFraction;
+    }
+
+    /**
+     * 读入一帧亮度平面 (只用绝对位置读取，不改变 ByteBuffer 状态)
+     *
+     * @return 与上一帧相比是否有运动；第一帧 (或 reset 之后) 只建立基准，返回 false
+     */
+    public boolean update(ByteBuffer yBuffer, int rowStride, int width, int height) {
+        int limit = yBuffer.limit();
+        long total = 0;
+        for (int cy = 0; cy < THUMB_HEIGHT; cy++) {
+            for (int cx = 0; cx < THUMB_WIDTH; cx++) {
+                int sum = 0;
+                for (int sy = 0; sy < SAMPLES; sy++) {
+                    // 采样点取在格子内均匀分布的位置 (各小块中心)
+                    int y = ((cy * SAMPLES + sy) * 2 + 1) * height / (THUMB_HEIGHT * SAMPLES * 2);
+                    int rowBase = y * rowStride;
+                    for (int sx = 0; sx < SAMPLES; sx++) {
+                        int x = ((cx * SAMPLES + sx) * 2 + 1) * width / (THUMB_WIDTH * SAMPLES * 2);
+                        sum += yBuffer.get(Math.min(rowBase + x, limit - 1)) & 0xFF;
+                    }
+                }
+                int value = sum / (SAMPLES * SAMPLES);
+                current[cy * THUMB_WIDTH + cx] = value;
+                total += value;
+            }
+        }
+
+        boolean motion = false;
+        if (hasPrevious) {
+            long previousTotal = 0;
+            for (int i = 0; i < CELLS; i++) {
+                previousTotal += previous[i];
+            }
+            int shift = (int) ((total - previousTotal) / CELLS);
+            int changed = 0;
+            for (int i = 0; i < CELLS; i++) {
+                if (Math.abs(current[i] - previous[i] - shift) > CELL_THRESHOLD)
+                    changed++;
+            }
+            changedFraction = (float) changed / CELLS;
+            motion = changedFraction > minChangedFraction;
+        }
+        int[] swap = previous;
+        previous = current;
+        current = swap;
+        hasPrevious = true;
+        return motion;
+    }
+
+    /**
+     * 丢弃基准帧 (恢复活跃后再进入空闲时，旧缩略图已经过时)
+     */
+    public void reset() {
+        hasPrevious = false;
+        changedFraction = 0f;
+    }
+
+    public float getChangedFraction() {
+        return changedFraction;
+    }
+}
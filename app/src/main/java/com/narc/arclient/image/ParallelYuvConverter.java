@@ -0,0 +1,133 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.enums.ColorConversionMode;
+import com.narc.arclient.enums.ProcessorEnums;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 并行整帧 / 裁剪 YUV -> ARGB 转换：按行分带，在大核数量大小的 ForkJoinPool 上执行
+ * 每个带调用 YuvConverter.convertRows (Q16 定点)，结果与单线程逐位一致
+ */
+public class ParallelYuvConverter {
+    // 每个带至少这么多行，避免任务切得过碎
+    private static final int MIN_BAND_ROWS = 64;
+
+    private static volatile ParallelYuvConverter instance;
+
+    private final ForkJoinPool pool;
+
+    public ParallelYuvConverter(int parallelism) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    public static ParallelYuvConverter getInstance() {
+        if (instance == null) {
+            synchronized (ParallelYuvConverter.class) {
+                if (instance == null) {
+                    instance = new ParallelYuvConverter(bigCoreCount());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public void full(YuvFrame frame, int[] out) {
+        full(ProcessorEnums.COLOR_CONVERSION_MODE, frame, out);
+    }
+
+    public void full(ColorConversionMode mode, YuvFrame frame, int[] out) {
+        crop(mode, frame, 0, 0, frame.width, frame.height, out);
+    }
+
+    public void crop(YuvFrame frame, int left, int top, int width, int height, int[] out) {
+        crop(ProcessorEnums.COLOR_CONVERSION_MODE, frame, left, top, width, height, out);
+    }
+
+    public void crop(ColorConversionMode mode, YuvFrame frame, int left, int top, int width, int height, int[] out) {
+        int bandRows = Math.max(MIN_BAND_ROWS, (height + pool.getParallelism() - 1) / pool.getParallelism());
+        pool.invoke(new RowBand(mode, frame, left, top, width, out, 0, height, bandRows));
+    }
+
+    private static class RowBand extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ColorConversionMode mode;
+        private final YuvFrame frame;
+        private final int left;
+        private final int top;
+        private final int width;
+        private final int[] out;
+        private final int rowStart;
+        private final int rowEnd;
+        private final int bandRows;
+
+        RowBand(ColorConversionMode mode, YuvFrame frame, int left, int top, int width, int[] out,
+                int rowStart, int rowEnd, int bandRows) {
+            this.mode = mode;
+            this.frame = frame;
+            this.left = left;
+            this.top = top;
+            this.width = width;
+            this.out = out;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = rowEnd - rowStart;
+            if (rows <= bandRows) {
+                YuvConverter.convertRows(mode, frame, left, top, width, out, 0, width, rowStart, rowEnd);
+                return;
+            }
+            // 对半拆分，切点对齐到偶数行，两行共享同一色度行的数据留在同一个带里
+            int mid = (rowStart + rows / 2) & ~1;
+            invokeAll(new RowBand(mode, frame, left, top, width, out, rowStart, mid, bandRows),
+                    new RowBand(mode, frame, left, top, width, out, mid, rowEnd, bandRows));
+        }
+    }
+
+    /**
+     * 大核数量：读取 /sys 下各核 cpuinfo_max_freq，统计高于最低频簇的核心
+     * (big.LITTLE 上小核簇不参与，避免被最慢的带拖住)；读取失败时退回全部核心数
+     */
+    static int bigCoreCount() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        long[] maxFreq = new long[cpus];
+        long lowest = Long.MAX_VALUE;
+        for (int i = 0; i < cpus; i++) {
+            maxFreq[i] = readLong(new File("/sys/devices/system/cpu/cpu" + i + "/cpufreq/cpuinfo_max_freq"));
+            if (maxFreq[i] <= 0)
+                return cpus;
+            lowest = Math.min(lowest, maxFreq[i]);
+        }
+        int big = 0;
+        for (long freq : maxFreq) {
+            if (freq > lowest)
+                big++;
+        }
+        // 同构 CPU (所有核心频率相同) 或大核过少时用全部核心
+        return big >= 2 ? big : cpus;
+    }
+
+    private static long readLong(File file) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            return line != null ? Long.parseLong(line.trim()) : -1;
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.enums.ColorConversionMode;
+import com.narc.arclient.enums.DownsampleKernel;
+import com.narc.arclient.enums.ProcessorEnums;
+
+/**
+ * 统一的 YUV_420_888 -> ARGB 转换库 (纯 Java，不依赖 Android，可在 JVM 上跑 JMH)
+ *
+ * 取代原先散落的三套循环：
+ * - CameraImageAvailableListener.fastYUVtoARGB (点采样降采样)
+ * - MainActivity.cropYUVToRGB (裁剪)
+ * - MainActivity.convertFullYUVToRGB (整帧，浮点)
+ *
+ * 颜色公式统一为 BT.601 full range，Q16 定点整数运算。
+ * 色度项可选逐像素乘法 (ARITHMETIC) 或查表 (LUT，见 YuvLut)，两者结果逐位一致；
+ * 不带 ColorConversionMode 参数的重载使用 ProcessorEnums.COLOR_CONVERSION_MODE。
+ * 输出均为 0xAARRGGBB，行优先写入 int[]。
+ */
+public final class YuvConverter {
+    // BT.601 系数 (Q16 定点)：1.370705, 0.337633, 0.698001, 1.732446
+    static final int SHIFT = 16;
+    static final int HALF = 1 << (SHIFT - 1);
+    static final int CR_TO_R = 89831;
+    static final int CB_TO_G = 22127;
+    static final int CR_TO_G = 45744;
+    static final int CB_TO_B = 113538;
+
+    // AREA 内核的权重表与行缓冲按线程缓存，尺寸不变时每帧零分配
+    private static final ThreadLocal<AreaDownsampler> AREA = new ThreadLocal<AreaDownsampler>() {
+        @Override
+        protected AreaDownsampler initialValue() {
+            return new AreaDownsampler();
+        }
+    };
+
+    private YuvConverter() {
+    }
+
+    // ================= 颜色转换 =================
+
+    /**
+     * 单像素 YUV -> ARGB，u/v 为 0~255 原始值
+     */
+    public static int yuvToArgb(int y, int u, int v) {
+        int cb = u - 128;
+        int cr = v - 128;
+        int r = y + ((CR_TO_R * cr + HALF) >> SHIFT);
+        int g = y - ((CB_TO_G * cb + CR_TO_G * cr + HALF) >> SHIFT);
+        int b = y + ((CB_TO_B * cb + HALF) >> SHIFT);
+        return pack(r, g, b);
+    }
+
+    private static int pack(int r, int g, int b) {
+        r = (r < 0) ? 0 : (r > 255) ? 255 : r;
+        g = (g < 0) ? 0 : (g > 255) ? 255 : g;
+        b = (b < 0) ? 0 : (b > 255) ? 255 : b;
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+
+    // 色度列偏移：半平面 (pixelStride == 2) 时 (x/2)*2 直接等于 x & ~1
+    private static int uvColumn(int x, int pixelStride) {
+        return pixelStride == 2 ? (x & ~1) : (x >> 1) * pixelStride;
+    }
+
+    // ================= 降采样 =================
+
+    /**
+     * 整帧降采样到 outW x outH
+     */
+    public static void downsample(DownsampleKernel kernel, YuvFrame src, int[] out, int outW, int outH) {
+        downsample(kernel, ProcessorEnums.COLOR_CONVERSION_MODE, src, 0, 0, src.width, src.height, out, outW, outH);
+    }
+
+    /**
+     * 将源矩形 [srcLeft, srcTop, srcW, srcH] 降采样到 outW x outH
+     */
+    public static void downsample(DownsampleKernel kernel, YuvFrame src, int srcLeft, int srcTop, int srcW, int srcH,
+                                  int[] out, int outW, int outH) {
+        downsample(kernel, ProcessorEnums.COLOR_CONVERSION_MODE, src, srcLeft, srcTop, srcW, srcH, out, outW, outH);
+    }
+
+    /**
+     * 同上，显式指定色度计算方式
+     */
+    public static void downsample(DownsampleKernel kernel, ColorConversionMode mode, YuvFrame src,
+                                  int srcLeft, int srcTop, int srcW, int srcH, int[] out, int outW, int outH) {
+        switch (kernel) {
+            case BOX:
+                box(mode, src, srcLeft, srcTop, srcW, srcH, out, outW, outH);
+                break;
+            case BILINEAR:
+                bilinear(mode, src, srcLeft, srcTop, srcW, srcH, out, outW, outH);
+                break;
+            case AREA:
+                area(mode, src, srcLeft, srcTop, srcW, srcH, out, outW, outH);
+                break;
+            case NEAREST:
+            default:
+                nearest(mode, src, srcLeft, srcTop, srcW, srcH, out, outW, outH);
+                break;
+        }
+    }
+
+    /**
+     * 最近邻点采样：每个输出像素取源矩形中对应格子的左上角像素，最快
+     */
+    public static void nearest(ColorConversionMode mode, YuvFrame f, int srcLeft, int srcTop, int srcW, int srcH,
+                               int[] out, int outW, int outH) {
+        byte[] yData = f.yData;
+        byte[] uData = f.uData;
+        byte[] vData = f.vData;
+        int yMax = f.yLength - 1;
+        int uvMax = Math.min(f.uLength, f.vLength) - 1;
+        int yRowStride = f.yRowStride;
+        int uvRowStride = f.uvRowStride;
+        int pixelStride = f.uvPixelStride;
+        int uvShift = f.uvRowShift;
+
+        // Q16 步长，避免每像素除法
+        int xStep = (srcW << 16) / outW;
+        int yStep = (srcH << 16) / outH;
+
+        boolean lut = mode == ColorConversionMode.LUT;
+
+        int p = 0;
+        for (int y = 0; y < outH; y++) {
+            int sy = srcTop + ((y * yStep) >> 16);
+            int yRow = sy * yRowStride;
+            int uvRow = (sy >> uvShift) * uvRowStride;
+            if (lut) {
+                for (int x = 0; x < outW; x++) {
+                    int sx = srcLeft + ((x * xStep) >> 16);
+                    int yIndex = Math.min(yRow + sx, yMax);
+                    int uvIndex = Math.min(uvRow + uvColumn(sx, pixelStride), uvMax);
+                    out[p++] = YuvLut.yuvToArgb(yData[yIndex] & 0xFF, uData[uvIndex] & 0xFF, vData[uvIndex] & 0xFF);
+                }
+            } else {
+                for (int x = 0; x < outW; x++) {
+                    int sx = srcLeft + ((x * xStep) >> 16);
+                    int yIndex = Math.min(yRow + sx, yMax);
+                    int uvIndex = Math.min(uvRow + uvColumn(sx, pixelStride), uvMax);
+                    out[p++] = yuvToArgb(yData[yIndex] & 0xFF, uData[uvIndex] & 0xFF, vData[uvIndex] & 0xFF);
+                }
+            }
+        }
+    }
+
+    /**
+     * 面积平均 (box filter)：每个输出像素取其覆盖的源像素块均值，抗混叠，关键点更稳
+     */
+    public static void box(ColorConversionMode mode, YuvFrame f, int srcLeft, int srcTop, int srcW, int srcH,
+                           int[] out, int outW, int outH) {
+        byte[] yData = f.yData;
+        byte[] uData = f.uData;
+        byte[] vData = f.vData;
+        int yMax = f.yLength - 1;
+        int uvMax = Math.min(f.uLength, f.vLength) - 1;
+        int yRowStride = f.yRowStride;
+        int uvRowStride = f.uvRowStride;
+        int pixelStride = f.uvPixelStride;
+        int uvShift = f.uvRowShift;
+        boolean lut = mode == ColorConversionMode.LUT;
+
+        int p = 0;
+        for (int y = 0; y < outH; y++) {
+            int sy0 = srcTop + y * srcH / outH;
+            int sy1 = Math.max(sy0 + 1, srcTop + (y + 1) * srcH / outH);
+            int cy0 = sy0 >> uvShift;
+            int cy1 = ((sy1 - 1) >> uvShift) + 1;
+            for (int x = 0; x < outW; x++) {
+                int sx0 = srcLeft + x * srcW / outW;
+                int sx1 = Math.max(sx0 + 1, srcLeft + (x + 1) * srcW / outW);
+
+                int sumY = 0;
+                for (int sy = sy0; sy < sy1; sy++) {
+                    int row = sy * yRowStride;
+                    for (int sx = sx0; sx < sx1; sx++) {
+                        sumY += yData[Math.min(row + sx, yMax)] & 0xFF;
+                    }
+                }
+                int countY = (sy1 - sy0) * (sx1 - sx0);
+
+                int cx0 = sx0 >> 1;
+                int cx1 = ((sx1 - 1) >> 1) + 1;
+                int sumU = 0;
+                int sumV = 0;
+                for (int cy = cy0; cy < cy1; cy++) {
+                    int row = cy * uvRowStride;
+                    for (int cx = cx0; cx < cx1; cx++) {
+                        int uvIndex = Math.min(row + cx * pixelStride, uvMax);
+                        sumU += uData[uvIndex] & 0xFF;
+                        sumV += vData[uvIndex] & 0xFF;
+                    }
+                }
+                int countUV = (cy1 - cy0) * (cx1 - cx0);
+
+                int avgY = (sumY + (countY >> 1)) / countY;
+                int avgU = (sumU + (countUV >> 1)) / countUV;
+                int avgV = (sumV + (countUV >> 1)) / countUV;
+                out[p++] = lut ? YuvLut.yuvToArgb(avgY, avgU, avgV) : yuvToArgb(avgY, avgU, avgV);
+            }
+        }
+    }
+
+    /**
+     * 精确面积加权：可分离的 INTER_AREA，边界像素按覆盖比例计权，任意缩放比下都不混叠 (见 AreaDownsampler)
+     */
+    public static void area(ColorConversionMode mode, YuvFrame f, int srcLeft, int srcTop, int srcW, int srcH,
+                            int[] out, int outW, int outH) {
+        AREA.get().downsample(mode, f, srcLeft, srcTop, srcW, srcH, out, outW, outH);
+    }
+
+    /**
+     * 双线性：亮度在像素中心位置做 2x2 插值，色度取最近点（色度本身已是半分辨率）
+     */
+    public static void bilinear(ColorConversionMode mode, YuvFrame f, int srcLeft, int srcTop, int srcW, int srcH,
+                                int[] out, int outW, int outH) {
+        byte[] yData = f.yData;
+        byte[] uData = f.uData;
+        byte[] vData = f.vData;
+        int yMax = f.yLength - 1;
+        int uvMax = Math.min(f.uLength, f.vLength) - 1;
+        int yRowStride = f.yRowStride;
+        int uvRowStride = f.uvRowStride;
+        int pixelStride = f.uvPixelStride;
+        int uvShift = f.uvRowShift;
+        int maxFx = (srcW - 1) << 16;
+        int maxFy = (srcH - 1) << 16;
+        boolean lut = mode == ColorConversionMode.LUT;
+
+        int p = 0;
+        for (int y = 0; y < outH; y++) {
+            // 像素中心对齐：(y + 0.5) * srcH / outH - 0.5，Q16
+            int fy = (int) ((((long) (2 * y + 1) * srcH) << 15) / outH) - 0x8000;
+            fy = fy < 0 ? 0 : Math.min(fy, maxFy);
+            int y0 = fy >> 16;
+            int y1 = Math.min(y0 + 1, srcH - 1);
+            int wy = (fy >> 8) & 0xFF;
+            int row0 = (srcTop + y0) * yRowStride + srcLeft;
+            int row1 = (srcTop + y1) * yRowStride + srcLeft;
+            int uvRow = ((srcTop + ((fy + 0x8000) >> 16)) >> uvShift) * uvRowStride;
+
+            for (int x = 0; x < outW; x++) {
+                int fx = (int) ((((long) (2 * x + 1) * srcW) << 15) / outW) - 0x8000;
+                fx = fx < 0 ? 0 : Math.min(fx, maxFx);
+                int x0 = fx >> 16;
+                int x1 = Math.min(x0 + 1, srcW - 1);
+                int wx = (fx >> 8) & 0xFF;
+
+                int a = yData[Math.min(row0 + x0, yMax)] & 0xFF;
+                int b = yData[Math.min(row0 + x1, yMax)] & 0xFF;
+                int c = yData[Math.min(row1 + x0, yMax)] & 0xFF;
+                int d = yData[Math.min(row1 + x1, yMax)] & 0xFF;
+                int top = a * (256 - wx) + b * wx;
+                int bottom = c * (256 - wx) + d * wx;
+                int luma = (top * (256 - wy) + bottom * wy + 0x8000) >> 16;
+
+                int sx = srcLeft + ((fx + 0x8000) >> 16);
+                int uvIndex = Math.min(uvRow + uvColumn(sx, pixelStride), uvMax);
+                int u = uData[uvIndex] & 0xFF;
+                int v = vData[uvIndex] & 0xFF;
+                out[p++] = lut ? YuvLut.yuvToArgb(luma, u, v) : yuvToArgb(luma, u, v);
+            }
+        }
+    }
+
+    // ================= 1:1 裁剪 / 整帧 =================
+
+    /**
+     * 整帧 1:1 转换，out 长度至少 width * height
+     */
+    public static void full(YuvFrame f, int[] out) {
+        full(ProcessorEnums.COLOR_CONVERSION_MODE, f, out);
+    }
+
+    public static void full(ColorConversionMode mode, YuvFrame f, int[] out) {
+        crop(mode, f, 0, 0, f.width, f.height, out);
+    }
+
+    /**
+     * 裁剪 [left, top, width, height] 并 1:1 转换，out 长度至少 width * height
+     */
+    public static void crop(YuvFrame f, int left, int top, int width, int height, int[] out) {
+        crop(ProcessorEnums.COLOR_CONVERSION_MODE, f, left, top, width, height, out);
+    }
+
+    public static void crop(ColorConversionMode mode, YuvFrame f, int left, int top, int width, int height, int[] out) {
+        convertRows(mode, f, left, top, width, out, 0, width, 0, height);
+    }
+
+    /**
+     * 1:1 转换裁剪区域内的 [rowStart, rowEnd) 行，写入 out[outOffset + row * outStride]
+     * 各行互不依赖，可按行分带并行调用
+     */
+    public static void convertRows(YuvFrame f, int left, int top, int width, int[] out, int outOffset, int outStride,
+                                   int rowStart, int rowEnd) {
+        convertRows(ProcessorEnums.COLOR_CONVERSION_MODE, f, left, top, width, out, outOffset, outStride,
+                rowStart, rowEnd);
+    }
+
+    public static void convertRows(ColorConversionMode mode, YuvFrame f, int left, int top, int width, int[] out,
+                                   int outOffset, int outStride, int rowStart, int rowEnd) {
+        if (rowEnd <= rowStart || width <= 0)
+            return;
+        if (!fitsInPlanes(f, left, top + rowStart, width, rowEnd - rowStart)) {
+            // 个别机型 stride 对齐异常：退回逐像素钳制索引的慢路径
+            convertRowsClamped(f, left, top, width, out, outOffset, outStride, rowStart, rowEnd);
+            return;
+        }
+        if (mode == ColorConversionMode.LUT) {
+            convertRowsLut(f, left, top, width, out, outOffset, outStride, rowStart, rowEnd);
+            return;
+        }
+
+        byte[] yData = f.yData;
+        byte[] uData = f.uData;
+        byte[] vData = f.vData;
+        int yRowStride = f.yRowStride;
+        int uvRowStride = f.uvRowStride;
+        int pixelStride = f.uvPixelStride;
+        int uvShift = f.uvRowShift;
+
+        for (int row = rowStart; row < rowEnd; row++) {
+            int sy = top + row;
+            int yIndex = sy * yRowStride + left;
+            int uvIndex = (sy >> uvShift) * uvRowStride + uvColumn(left, pixelStride);
+            int p = outOffset + row * outStride;
+            int x = 0;
+
+            // 奇数起点：先单独处理一个像素，之后两两共用一组色度
+            if ((left & 1) != 0) {
+                out[p++] = yuvToArgb(yData[yIndex++] & 0xFF, uData[uvIndex] & 0xFF, vData[uvIndex] & 0xFF);
+                uvIndex += pixelStride;
+                x = 1;
+            }
+
+            if (pixelStride == 2) {
+                // 半平面 (NV12/NV21) 快速路径：色度步长为常量 2
+                for (; x + 1 < width; x += 2, uvIndex += 2) {
+                    int cb = (uData[uvIndex] & 0xFF) - 128;
+                    int cr = (vData[uvIndex] & 0xFF) - 128;
+                    int rAdd = (CR_TO_R * cr + HALF) >> SHIFT;
+                    int gSub = (CB_TO_G * cb + CR_TO_G * cr + HALF) >> SHIFT;
+                    int bAdd = (CB_TO_B * cb + HALF) >> SHIFT;
+                    int y0 = yData[yIndex++] & 0xFF;
+                    int y1 = yData[yIndex++] & 0xFF;
+                    out[p++] = pack(y0 + rAdd, y0 - gSub, y0 + bAdd);
+                    out[p++] = pack(y1 + rAdd, y1 - gSub, y1 + bAdd);
+                }
+            } else {
+                for (; x + 1 < width; x += 2, uvIndex += pixelStride) {
+                    int cb = (uData[uvIndex] & 0xFF) - 128;
+                    int cr = (vData[uvIndex] & 0xFF) - 128;
+                    int rAdd = (CR_TO_R * cr + HALF) >> SHIFT;
+                    int gSub = (CB_TO_G * cb + CR_TO_G * cr + HALF) >> SHIFT;
+                    int bAdd = (CB_TO_B * cb + HALF) >> SHIFT;
+                    int y0 = yData[yIndex++] & 0xFF;
+                    int y1 = yData[yIndex++] & 0xFF;
+                    out[p++] = pack(y0 + rAdd, y0 - gSub, y0 + bAdd);
+                    out[p++] = pack(y1 + rAdd, y1 - gSub, y1 + bAdd);
+                }
+            }
+
+            if (x < width) {
+                out[p] = yuvToArgb(yData[yIndex] & 0xFF, uData[uvIndex] & 0xFF, vData[uvIndex] & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * 查表版本的 convertRows：两个像素共用一组色度查表结果，钳制也走表
+     * 调用前已由 fitsInPlanes 确认索引不越界
+     */
+    private static void convertRowsLut(YuvFrame f, int left, int top, int width, int[] out, int outOffset,
+                                       int outStride, int rowStart, int rowEnd) {
+        byte[] yData = f.yData;
+        byte[] uData = f.uData;
+        byte[] vData = f.vData;
+        int yRowStride = f.yRowStride;
+        int uvRowStride = f.uvRowStride;
+        int pixelStride = f.uvPixelStride;
+        int uvShift = f.uvRowShift;
+        int[] rV = YuvLut.R_V;
+        int[] gU = YuvLut.G_U;
+        int[] gV = YuvLut.G_V;
+        int[] bU = YuvLut.B_U;
+        int[] clamp = YuvLut.CLAMP;
+
+        for (int row = rowStart; row < rowEnd; row++) {
+            int sy = top + row;
+            int yIndex = sy * yRowStride + left;
+            int uvIndex = (sy >> uvShift) * uvRowStride + uvColumn(left, pixelStride);
+            int p = outOffset + row * outStride;
+            int x = 0;
+
+            if ((left & 1) != 0) {
+                out[p++] = YuvLut.yuvToArgb(yData[yIndex++] & 0xFF, uData[uvIndex] & 0xFF, vData[uvIndex] & 0xFF);
+                uvIndex += pixelStride;
+                x = 1;
+            }
+
+            for (; x + 1 < width; x += 2, uvIndex += pixelStride) {
+                int u = uData[uvIndex] & 0xFF;
+                int v = vData[uvIndex] & 0xFF;
+                // 色度项预先并入钳制表下标偏移，每像素只剩三次加法和三次查表
+                int rBase = YuvLut.CLAMP_OFFSET + rV[v];
+                int gBase = YuvLut.CLAMP_OFFSET - ((gU[u] + gV[v]) >> SHIFT);
+                int bBase = YuvLut.CLAMP_OFFSET + bU[u];
+                int y0 = yData[yIndex++] & 0xFF;
+                int y1 = yData[yIndex++] & 0xFF;
+                out[p++] = 0xFF000000 | (clamp[y0 + rBase] << 16) | (clamp[y0 + gBase] << 8) | clamp[y0 + bBase];
+                out[p++] = 0xFF000000 | (clamp[y1 + rBase] << 16) | (clamp[y1 + gBase] << 8) | clamp[y1 + bBase];
+            }
+
+            if (x < width) {
+                out[p] = YuvLut.yuvToArgb(yData[yIndex] & 0xFF, uData[uvIndex] & 0xFF, vData[uvIndex] & 0xFF);
+            }
+        }
+    }
+
+    private static void convertRowsClamped(YuvFrame f, int left, int top, int width, int[] out, int outOffset,
+                                           int outStride, int rowStart, int rowEnd) {
+        int yMax = f.yLength - 1;
+        int uvMax = Math.min(f.uLength, f.vLength) - 1;
+        for (int row = rowStart; row < rowEnd; row++) {
+            int sy = top + row;
+            int yRow = sy * f.yRowStride;
+            int uvRow = (sy >> f.uvRowShift) * f.uvRowStride;
+            int p = outOffset + row * outStride;
+            for (int x = 0; x < width; x++) {
+                int sx = left + x;
+                int yIndex = Math.max(0, Math.min(yRow + sx, yMax));
+                int uvIndex = Math.max(0, Math.min(uvRow + uvColumn(sx, f.uvPixelStride), uvMax));
+                out[p++] = yuvToArgb(f.yData[yIndex] & 0xFF, f.uData[uvIndex] & 0xFF, f.vData[uvIndex] & 0xFF);
+            }
+        }
+    }
+
+    // 区域内最大的 Y / UV 索引是否都落在有效数据内
+    private static boolean fitsInPlanes(YuvFrame f, int left, int top, int width, int height) {
+        if (left < 0 || top < 0)
+            return false;
+        int lastRow = top + height - 1;
+        int lastCol = left + width - 1;
+        long maxY = (long) lastRow * f.yRowStride + lastCol;
+        long maxUV = (long) (lastRow >> f.uvRowShift) * f.uvRowStride + uvColumn(lastCol, f.uvPixelStride);
+        return maxY < f.yLength && maxUV < f.uLength && maxUV < f.vLength;
+    }
+}
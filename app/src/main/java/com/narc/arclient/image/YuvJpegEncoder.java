@@ -0,0 +1,473 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+
+import java.util.Arrays;
+
+/**
+ * 直接从 YUV_420_888 平面编码 baseline JPEG (纯 Java，不经过 ARGB / Bitmap)
+ *
+ * - 相机输出本身就是 4:2:0，Y 平面按 8x8 块直接编码，U/V 平面直接作为 Cb/Cr，无需再做色度下采样
+ * - AAN 浮点 DCT，缩放因子并入量化除数
+ * - 标准 (Annex K) 量化表按 IJG 公式随质量缩放，标准 Huffman 表
+ * - 支持整帧或任意矩形区域，边缘不足 16 像素的 MCU 复制边缘像素补齐
+ *
+ * 实例持有工作缓冲，非线程安全；每次拍照 new 一个即可（构造只做查表，开销可忽略）
+ */
+public class YuvJpegEncoder {
+    private static final int[] ZIGZAG = {
+            0, 1, 8, 16, 9, 2, 3, 10, 17, 24, 32, 25, 18, 11, 4, 5,
+            12, 19, 26, 33, 40, 48, 41, 34, 27, 20, 13, 6, 7, 14, 21, 28,
+            35, 42, 49, 56, 57, 50, 43, 36, 29, 22, 15, 23, 30, 37, 44, 51,
+            58, 59, 52, 45, 38, 31, 39, 46, 53, 60, 61, 54, 47, 55, 62, 63
+    };
+
+    // 标准亮度 / 色度量化表 (自然顺序)
+    private static final int[] LUMA_QUANT = {
+            16, 11, 10, 16, 24, 40, 51, 61,
+            12, 12, 14, 19, 26, 58, 60, 55,
+            14, 13, 16, 24, 40, 57, 69, 56,
+            14, 17, 22, 29, 51, 87, 80, 62,
+            18, 22, 37, 56, 68, 109, 103, 77,
+            24, 35, 55, 64, 81, 104, 113, 92,
+            49, 64, 78, 87, 103, 121, 120, 101,
+            72, 92, 95, 98, 112, 100, 103, 99
+    };
+    private static final int[] CHROMA_QUANT = {
+            17, 18, 24, 47, 99, 99, 99, 99,
+            18, 21, 26, 66, 99, 99, 99, 99,
+            24, 26, 56, 99, 99, 99, 99, 99,
+            47, 66, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99,
+            99, 99, 99, 99, 99, 99, 99, 99
+    };
+
+    // 标准 Huffman 表：各码长的符号数 (1~16) + 符号
+    private static final int[] DC_LUMA_BITS = {0, 1, 5, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0};
+    private static final int[] DC_LUMA_VALUES = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+    private static final int[] DC_CHROMA_BITS = {0, 3, 1, 1, 1, 1, 1, 1, 1, 1, 1, 0, 0, 0, 0, 0};
+    private static final int[] DC_CHROMA_VALUES = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+    private static final int[] AC_LUMA_BITS = {0, 2, 1, 3, 3, 2, 4, 3, 5, 5, 4, 4, 0, 0, 1, 0x7d};
+    private static final int[] AC_LUMA_VALUES = {
+            0x01, 0x02, 0x03, 0x00, 0x04, 0x11, 0x05, 0x12, 0x21, 0x31, 0x41, 0x06, 0x13, 0x51, 0x61, 0x07,
+            0x22, 0x71, 0x14, 0x32, 0x81, 0x91, 0xa1, 0x08, 0x23, 0x42, 0xb1, 0xc1, 0x15, 0x52, 0xd1, 0xf0,
+            0x24, 0x33, 0x62, 0x72, 0x82, 0x09, 0x0a, 0x16, 0x17, 0x18, 0x19, 0x1a, 0x25, 0x26, 0x27, 0x28,
+            0x29, 0x2a, 0x34, 0x35, 0x36, 0x37, 0x38, 0x39, 0x3a, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48, 0x49,
+            0x4a, 0x53, 0x54, 0x55, 0x56, 0x57, 0x58, 0x59, 0x5a, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68, 0x69,
+            0x6a, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78, 0x79, 0x7a, 0x83, 0x84, 0x85, 0x86, 0x87, 0x88, 0x89,
+            0x8a, 0x92, 0x93, 0x94, 0x95, 0x96, 0x97, 0x98, 0x99, 0x9a, 0xa2, 0xa3, 0xa4, 0xa5, 0xa6, 0xa7,
+            0xa8, 0xa9, 0xaa, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xb9, 0xba, 0xc2, 0xc3, 0xc4, 0xc5,
+            0xc6, 0xc7, 0xc8, 0xc9, 0xca, 0xd2, 0xd3, 0xd4, 0xd5, 0xd6, 0xd7, 0xd8, 0xd9, 0xda, 0xe1, 0xe2,
+            0xe3, 0xe4, 0xe5, 0xe6, 0xe7, 0xe8, 0xe9, 0xea, 0xf1, 0xf2, 0xf3, 0xf4, 0xf5, 0xf6, 0xf7, 0xf8,
+            0xf9, 0xfa
+    };
+    private static final int[] AC_CHROMA_BITS = {0, 2, 1, 2, 4, 4, 3, 4, 7, 5, 4, 4, 0, 1, 2, 0x77};
+    private static final int[] AC_CHROMA_VALUES = {
+            0x00, 0x01, 0x02, 0x03, 0x11, 0x04, 0x05, 0x21, 0x31, 0x06, 0x12, 0x41, 0x51, 0x07, 0x61, 0x71,
+            0x13, 0x22, 0x32, 0x81, 0x08, 0x14, 0x42, 0x91, 0xa1, 0xb1, 0xc1, 0x09, 0x23, 0x33, 0x52, 0xf0,
+            0x15, 0x62, 0x72, 0xd1, 0x0a, 0x16, 0x24, 0x34, 0xe1, 0x25, 0xf1, 0x17, 0x18, 0x19, 0x1a, 0x26,
+            0x27, 0x28, 0x29, 0x2a, 0x35, 0x36, 0x37, 0x38, 0x39, 0x3a, 0x43, 0x44, 0x45, 0x46, 0x47, 0x48,
+            0x49, 0x4a, 0x53, 0x54, 0x55, 0x56, 0x57, 0x58, 0x59, 0x5a, 0x63, 0x64, 0x65, 0x66, 0x67, 0x68,
+            0x69, 0x6a, 0x73, 0x74, 0x75, 0x76, 0x77, 0x78, 0x79, 0x7a, 0x82, 0x83, 0x84, 0x85, 0x86, 0x87,
+            0x88, 0x89, 0x8a, 0x92, 0x93, 0x94, 0x95, 0x96, 0x97, 0x98, 0x99, 0x9a, 0xa2, 0xa3, 0xa4, 0xa5,
+            0xa6, 0xa7, 0xa8, 0xa9, 0xaa, 0xb2, 0xb3, 0xb4, 0xb5, 0xb6, 0xb7, 0xb8, 0xb9, 0xba, 0xc2, 0xc3,
+            0xc4, 0xc5, 0xc6, 0xc7, 0xc8, 0xc9, 0xca, 0xd2, 0xd3, 0xd4, 0xd5, 0xd6, 0xd7, 0xd8, 0xd9, 0xda,
+            0xe2, 0xe3, 0xe4, 0xe5, 0xe6, 0xe7, 0xe8, 0xe9, 0xea, 0xf2, 0xf3, 0xf4, 0xf5, 0xf6, 0xf7, 0xf8,
+            0xf9, 0xfa
+    };
+
+    // AAN DCT 每个频率分量的缩放因子
+    private static final float[] AAN_SCALE = {
+            1.0f, 1.387039845f, 1.306562965f, 1.175875602f,
+            1.0f, 0.785694958f, 0.541196100f, 0.275899379f
+    };
+
+    // Huffman 编码表 (按符号索引：码字 / 码长)，所有实例共享
+    private static final int[] DC_LUMA_CODE = new int[12];
+    private static final int[] DC_LUMA_SIZE = new int[12];
+    private static final int[] DC_CHROMA_CODE = new int[12];
+    private static final int[] DC_CHROMA_SIZE = new int[12];
+    private static final int[] AC_LUMA_CODE = new int[256];
+    private static final int[] AC_LUMA_SIZE = new int[256];
+    private static final int[] AC_CHROMA_CODE = new int[256];
+    private static final int[] AC_CHROMA_SIZE = new int[256];
+
+    static {
+        buildHuffman(DC_LUMA_BITS, DC_LUMA_VALUES, DC_LUMA_CODE, DC_LUMA_SIZE);
+        buildHuffman(DC_CHROMA_BITS, DC_CHROMA_VALUES, DC_CHROMA_CODE, DC_CHROMA_SIZE);
+        buildHuffman(AC_LUMA_BITS, AC_LUMA_VALUES, AC_LUMA_CODE, AC_LUMA_SIZE);
+        buildHuffman(AC_CHROMA_BITS, AC_CHROMA_VALUES, AC_CHROMA_CODE, AC_CHROMA_SIZE);
+    }
+
+    private final int quality;
+    // 量化表 (自然顺序，写入 DQT 时再转 zigzag)
+    private final int[] lumaQuant = new int[64];
+    private final int[] chromaQuant = new int[64];
+    // 量化除数的倒数，已并入 AAN 缩放
+    private final float[] lumaDivisors = new float[64];
+    private final float[] chromaDivisors = new float[64];
+
+    // 工作缓冲
+    private final float[] block = new float[64];
+    private final int[] coefficients = new int[64];
+    private byte[] out;
+    private int outSize;
+    private int bitBuffer;
+    private int bitCount;
+
+    /**
+     * @param quality 1~100，与 Bitmap.compress 的 JPEG quality 含义一致 (IJG 缩放)
+     */
+    public YuvJpegEncoder(int quality) {
+        this.quality = Math.max(1, Math.min(100, quality));
+        int scale = this.quality < 50 ? 5000 / this.quality : 200 - this.quality * 2;
+        for (int i = 0; i < 64; i++) {
+            lumaQuant[i] = Math.max(1, Math.min(255, (LUMA_QUANT[i] * scale + 50) / 100));
+            chromaQuant[i] = Math.max(1, Math.min(255, (CHROMA_QUANT[i] * scale + 50) / 100));
+        }
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                int i = row * 8 + col;
+                float aan = AAN_SCALE[row] * AAN_SCALE[col] * 8f;
+                lumaDivisors[i] = 1f / (lumaQuant[i] * aan);
+                chromaDivisors[i] = 1f / (chromaQuant[i] * aan);
+            }
+        }
+    }
+
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * 整帧编码
+     */
+    public byte[] encode(YuvFrame frame) {
+        return encode(frame, 0, 0, frame.width, frame.height);
+    }
+
+    /**
+     * 编码帧内矩形 [left, top, width, height]，区域必须位于帧内
+     */
+    public byte[] encode(YuvFrame frame, int left, int top, int width, int height) {
+        if (width <= 0 || height <= 0 || left < 0 || top < 0
+                || left + width > frame.width || top + height > frame.height) {
+            throw new IllegalArgumentException(String.format("JPEG 编码区域越界: [%d,%d,%d,%d] frame %dx%d",
+                    left, top, width, height, frame.width, frame.height));
+        }
+
+        int mcuCols = (width + 15) >> 4;
+        int mcuRows = (height + 15) >> 4;
+        int paddedW = mcuCols << 4;
+        int paddedH = mcuRows << 4;
+
+        // 预先算好补齐后每行 / 每列在平面里的偏移，越过区域边缘的复制最后一个像素
+        int[] yCols = new int[paddedW];
+        int[] yRows = new int[paddedH];
+        int[] cCols = new int[paddedW >> 1];
+        int[] cRows = new int[paddedH >> 1];
+        for (int x = 0; x < paddedW; x++) {
+            yCols[x] = left + Math.min(x, width - 1);
+        }
+        for (int y = 0; y < paddedH; y++) {
+            yRows[y] = (top + Math.min(y, height - 1)) * frame.yRowStride;
+        }
+        for (int x = 0; x < cCols.length; x++) {
+            cCols[x] = ((left + Math.min(x << 1, width - 1)) >> 1) * frame.uvPixelStride;
+        }
+        for (int y = 0; y < cRows.length; y++) {
+            cRows[y] = ((top + Math.min(y << 1, height - 1)) >> frame.uvRowShift) * frame.uvRowStride;
+        }
+
+        // 4:2:0 数据量上限约 1.5 字节/像素，初始按 1/4 预留，不够再扩
+        out = new byte[Math.max(4096, width * height / 4)];
+        outSize = 0;
+        bitBuffer = 0;
+        bitCount = 0;
+
+        writeHeaders(width, height);
+
+        int prevY = 0;
+        int prevCb = 0;
+        int prevCr = 0;
+        for (int mcuY = 0; mcuY < mcuRows; mcuY++) {
+            for (int mcuX = 0; mcuX < mcuCols; mcuX++) {
+                int px = mcuX << 4;
+                int py = mcuY << 4;
+                // 4 个亮度块 (左上、右上、左下、右下)
+                for (int b = 0; b < 4; b++) {
+                    loadBlock(frame.yData, yRows, yCols, py + ((b >> 1) << 3), px + ((b & 1) << 3));
+                    prevY = encodeBlock(lumaDivisors, prevY, DC_LUMA_CODE, DC_LUMA_SIZE, AC_LUMA_CODE, AC_LUMA_SIZE);
+                }
+                // 色度直接取自 U / V 平面 (半分辨率)
+                loadBlock(frame.uData, cRows, cCols, py >> 1, px >> 1);
+                prevCb = encodeBlock(chromaDivisors, prevCb, DC_CHROMA_CODE, DC_CHROMA_SIZE, AC_CHROMA_CODE, AC_CHROMA_SIZE);
+                loadBlock(frame.vData, cRows, cCols, py >> 1, px >> 1);
+                prevCr = encodeBlock(chromaDivisors, prevCr, DC_CHROMA_CODE, DC_CHROMA_SIZE, AC_CHROMA_CODE, AC_CHROMA_SIZE);
+            }
+        }
+
+        // 剩余位用 1 填充到字节边界，然后 EOI
+        if (bitCount > 0) {
+            writeBits(0x7F, 8 - bitCount);
+        }
+        writeMarker(0xD9);
+
+        byte[] result = Arrays.copyOf(out, outSize);
+        out = null;
+        return result;
+    }
+
+    // ================= 块处理 =================
+
+    private void loadBlock(byte[] plane, int[] rows, int[] cols, int row0, int col0) {
+        float[] blk = block;
+        int i = 0;
+        for (int r = 0; r < 8; r++) {
+            int rowOffset = rows[row0 + r];
+            for (int c = 0; c < 8; c++) {
+                blk[i++] = (plane[rowOffset + cols[col0 + c]] & 0xFF) - 128;
+            }
+        }
+    }
+
+    private int encodeBlock(float[] divisors, int prevDc, int[] dcCode, int[] dcSize, int[] acCode, int[] acSize) {
+        forwardDct(block);
+
+        int[] coef = coefficients;
+        for (int i = 0; i < 64; i++) {
+            // 与 jpeg-6b 相同的就近取整 (避免负数截断偏差)
+            coef[i] = (int) (block[i] * divisors[i] + 16384.5f) - 16384;
+        }
+
+        // DC 差分
+        int dc = coef[0];
+        int diff = dc - prevDc;
+        int nbits = bitLength(diff);
+        writeBits(dcCode[nbits], dcSize[nbits]);
+        if (nbits > 0) {
+            writeBits(diff < 0 ? diff - 1 : diff, nbits);
+        }
+
+        // AC 游程
+        int run = 0;
+        for (int k = 1; k < 64; k++) {
+            int value = coef[ZIGZAG[k]];
+            if (value == 0) {
+                run++;
+                continue;
+            }
+            while (run > 15) {
+                writeBits(acCode[0xF0], acSize[0xF0]);
+                run -= 16;
+            }
+            nbits = bitLength(value);
+            int symbol = (run << 4) | nbits;
+            writeBits(acCode[symbol], acSize[symbol]);
+            writeBits(value < 0 ? value - 1 : value, nbits);
+            run = 0;
+        }
+        if (run > 0) {
+            writeBits(acCode[0x00], acSize[0x00]); // EOB
+        }
+        return dc;
+    }
+
+    private static int bitLength(int value) {
+        return 32 - Integer.numberOfLeadingZeros(value < 0 ? -value : value);
+    }
+
+    /**
+     * AAN 浮点前向 DCT (jfdctflt)，输出未缩放，缩放在量化时完成
+     */
+    private static void forwardDct(float[] d) {
+        for (int pass = 0; pass < 2; pass++) {
+            // 第一遍处理行 (步长 1)，第二遍处理列 (步长 8)
+            int step = pass == 0 ? 1 : 8;
+            int lineStep = pass == 0 ? 8 : 1;
+            for (int line = 0; line < 8; line++) {
+                int o = line * lineStep;
+                float d0 = d[o], d1 = d[o + step], d2 = d[o + 2 * step], d3 = d[o + 3 * step];
+                float d4 = d[o + 4 * step], d5 = d[o + 5 * step], d6 = d[o + 6 * step], d7 = d[o + 7 * step];
+
+                float tmp0 = d0 + d7;
+                float tmp7 = d0 - d7;
+                float tmp1 = d1 + d6;
+                float tmp6 = d1 - d6;
+                float tmp2 = d2 + d5;
+                float tmp5 = d2 - d5;
+                float tmp3 = d3 + d4;
+                float tmp4 = d3 - d4;
+
+                // 偶数部分
+                float tmp10 = tmp0 + tmp3;
+                float tmp13 = tmp0 - tmp3;
+                float tmp11 = tmp1 + tmp2;
+                float tmp12 = tmp1 - tmp2;
+
+                d[o] = tmp10 + tmp11;
+                d[o + 4 * step] = tmp10 - tmp11;
+
+                float z1 = (tmp12 + tmp13) * 0.707106781f;
+                d[o + 2 * step] = tmp13 + z1;
+                d[o + 6 * step] = tmp13 - z1;
+
+                // 奇数部分
+                tmp10 = tmp4 + tmp5;
+                tmp11 = tmp5 + tmp6;
+                tmp12 = tmp6 + tmp7;
+
+                float z5 = (tmp10 - tmp12) * 0.382683433f;
+                float z2 = 0.541196100f * tmp10 + z5;
+                float z4 = 1.306562965f * tmp12 + z5;
+                float z3 = tmp11 * 0.707106781f;
+
+                float z11 = tmp7 + z3;
+                float z13 = tmp7 - z3;
+
+                d[o + 5 * step] = z13 + z2;
+                d[o + 3 * step] = z13 - z2;
+                d[o + step] = z11 + z4;
+                d[o + 7 * step] = z11 - z4;
+            }
+        }
+    }
+
+    // ================= 文件头 =================
+
+    private void writeHeaders(int width, int height) {
+        writeMarker(0xD8); // SOI
+
+        // APP0 JFIF
+        writeMarker(0xE0);
+        writeShort(16);
+        writeByte('J');
+        writeByte('F');
+        writeByte('I');
+        writeByte('F');
+        writeByte(0);
+        writeByte(1); // 版本 1.01
+        writeByte(1);
+        writeByte(0); // 无单位
+        writeShort(1);
+        writeShort(1);
+        writeByte(0); // 无缩略图
+        writeByte(0);
+
+        // DQT：表 0 亮度，表 1 色度
+        writeMarker(0xDB);
+        writeShort(2 + 2 * 65);
+        writeByte(0);
+        for (int i = 0; i < 64; i++) {
+            writeByte(lumaQuant[ZIGZAG[i]]);
+        }
+        writeByte(1);
+        for (int i = 0; i < 64; i++) {
+            writeByte(chromaQuant[ZIGZAG[i]]);
+        }
+
+        // SOF0：8 bit，3 分量，Y 2x2 采样，Cb/Cr 1x1
+        writeMarker(0xC0);
+        writeShort(17);
+        writeByte(8);
+        writeShort(height);
+        writeShort(width);
+        writeByte(3);
+        writeByte(1);
+        writeByte(0x22);
+        writeByte(0);
+        writeByte(2);
+        writeByte(0x11);
+        writeByte(1);
+        writeByte(3);
+        writeByte(0x11);
+        writeByte(1);
+
+        // DHT
+        writeHuffmanTable(0x00, DC_LUMA_BITS, DC_LUMA_VALUES);
+        writeHuffmanTable(0x10, AC_LUMA_BITS, AC_LUMA_VALUES);
+        writeHuffmanTable(0x01, DC_CHROMA_BITS, DC_CHROMA_VALUES);
+        writeHuffmanTable(0x11, AC_CHROMA_BITS, AC_CHROMA_VALUES);
+
+        // SOS
+        writeMarker(0xDA);
+        writeShort(12);
+        writeByte(3);
+        writeByte(1);
+        writeByte(0x00);
+        writeByte(2);
+        writeByte(0x11);
+        writeByte(3);
+        writeByte(0x11);
+        writeByte(0);
+        writeByte(63);
+        writeByte(0);
+    }
+
+    private void writeHuffmanTable(int classAndId, int[] bits, int[] values) {
+        writeMarker(0xC4);
+        writeShort(2 + 1 + 16 + values.length);
+        writeByte(classAndId);
+        for (int b : bits) {
+            writeByte(b);
+        }
+        for (int v : values) {
+            writeByte(v);
+        }
+    }
+
+    private static void buildHuffman(int[] bits, int[] values, int[] codes, int[] sizes) {
+        int code = 0;
+        int k = 0;
+        for (int length = 1; length <= 16; length++) {
+            for (int i = 0; i < bits[length - 1]; i++) {
+                codes[values[k]] = code;
+                sizes[values[k]] = length;
+                code++;
+                k++;
+            }
+            code <<= 1;
+        }
+    }
+
+    // ================= 字节输出 =================
+
+    /**
+     * 写入熵编码数据的低 size 位 (高位在前)，遇到 0xFF 补 0x00
+     */
+    private void writeBits(int value, int size) {
+        int buffer = bitBuffer;
+        int count = bitCount;
+        buffer = (buffer << size) | (value & ((1 << size) - 1));
+        count += size;
+        while (count >= 8) {
+            int c = (buffer >> (count - 8)) & 0xFF;
+            writeByte(c);
+            if (c == 0xFF) {
+                writeByte(0);
+            }
+            count -= 8;
+        }
+        bitBuffer = buffer & ((1 << count) - 1);
+        bitCount = count;
+    }
+
+    private void writeMarker(int marker) {
+        writeByte(0xFF);
+        writeByte(marker);
+    }
+
+    private void writeShort(int value) {
+        writeByte(value >> 8);
+        writeByte(value);
+    }
+
+    private void writeByte(int value) {
+        if (outSize == out.length) {
+            out = Arrays.copyOf(out, out.length * 2);
+        }
+        out[outSize++] = (byte) value;
+    }
+}
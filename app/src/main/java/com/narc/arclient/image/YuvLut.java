@@ -0,0 +1,47 @@
+package com.narc.arclient.image;
+
+/**
+ * YUV -> RGB 查表：按 U / V 原始值 (0~255) 预计算色度贡献，外加一张 [0,255] 钳制表
+ *
+ * 表项直接由 YuvConverter 的 Q16 系数生成，结果与算术路径逐位一致：
+ * - R_V[v] = round(1.370705 * (v-128))
+ * - G_U[u] + G_V[v] 为未移位的 Q16 和 (舍入常量并入 G_U)，相加后再右移，舍入与算术路径相同
+ * - B_U[u] = round(1.732446 * (u-128))
+ * 四张 int[256] + 一张 int[768] 共约 7KB，可常驻 L1
+ */
+final class YuvLut {
+    // 钳制表下标偏移：y + 色度项的范围约为 [-222, 475]
+    static final int CLAMP_OFFSET = 256;
+
+    static final int[] R_V = new int[256];
+    static final int[] G_U = new int[256];
+    static final int[] G_V = new int[256];
+    static final int[] B_U = new int[256];
+    static final int[] CLAMP = new int[768];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int c = i - 128;
+            R_V[i] = (YuvConverter.CR_TO_R * c + YuvConverter.HALF) >> YuvConverter.SHIFT;
+            G_U[i] = YuvConverter.CB_TO_G * c + YuvConverter.HALF;
+            G_V[i] = YuvConverter.CR_TO_G * c;
+            B_U[i] = (YuvConverter.CB_TO_B * c + YuvConverter.HALF) >> YuvConverter.SHIFT;
+        }
+        for (int i = 0; i < CLAMP.length; i++) {
+            int value = i - CLAMP_OFFSET;
+            CLAMP[i] = value < 0 ? 0 : Math.min(value, 255);
+        }
+    }
+
+    private YuvLut() {
+    }
+
+    /**
+     * 单像素查表转换，u/v 为 0~255 原始值
+     */
+    static int yuvToArgb(int y, int u, int v) {
+        int yo = y + CLAMP_OFFSET;
+        int gSub = (G_U[u] + G_V[v]) >> YuvConverter.SHIFT;
+        return 0xFF000000 | (CLAMP[yo + R_V[v]] << 16) | (CLAMP[yo - gSub] << 8) | CLAMP[yo + B_U[u]];
+    }
+}
@@ -11,10 +11,17 @@ import retrofit2.http.Part;
 public interface ApiService {
     // 图片识别接口：POST /process_stream
     // 参数：file (图片), input_type (固定为"image"), session_id (可选)
+    // crop_x / crop_y / crop_w / crop_h / frame_w / frame_h (可选)：图片在高清帧中的区域，传 null 时不发送
     @Multipart
     @POST("process_stream")
     Call<ResponseBody> uploadImage(
             @Part MultipartBody.Part file,
             @Part("input_type") RequestBody inputType,
-            @Part("session_id") RequestBody sessionId);
+            @Part("session_id") RequestBody sessionId,
+            @Part("crop_x") RequestBody cropX,
+            @Part("crop_y") RequestBody cropY,
+            @Part("crop_w") RequestBody cropW,
+            @Part("crop_h") RequestBody cropH,
+            @Part("frame_w") RequestBody frameW,
+            @Part("frame_h") RequestBody frameH);
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.narc.arclient.process;
+
+import com.narc.arclient.entity.HandTrack;
+import com.narc.arclient.enums.InferenceCadence;
+import com.narc.arclient.enums.ProcessorEnums;
+import com.narc.arclient.image.FingertipTracker;
+import com.narc.arclient.image.LumaPlane;
+import com.narc.arclient.process.processor.RecognizeProcessor;
+import com.narc.arclient.utils.SensorClock;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 跳帧推理 (相机线程)：每帧先拷贝亮度平面，决定本帧送去推理还是只跟踪指尖
+ *
+ * 推理结果回来时 (HandTrack 时间戳变化) 在该推理帧的亮度平面上以识别出的指尖重新取模板，
+ * 之后的跳过帧在预测位置附近模板匹配，结果经 publishTrackedTip 发布，光标保持相机帧率移动。
+ * 推理间隔按指尖速度在 1 ~ SKIP_MAX_INTERVAL 之间线性调整；无手、跟丢、正在捏合、拍照 armed 时每帧推理
+ */
+public class FrameSkipController {
+    private static FrameSkipController instance;
+
+    // 推理帧的亮度平面要保留到结果回来 (信箱 1 + 推理中 1 + 余量)，另留 1 个槽位写当前帧
+    private static final int HISTORY = 3;
+    // 亮度平面的目标网格宽度，分析流 ~480 宽时不抽样
+    private static final int LUMA_GRID_WIDTH = 480;
+    // 搜索半径 (网格单位)：按速度 × 帧龄估算位移，再加固定余量
+    private static final int MIN_SEARCH_RADIUS = 6;
+    private static final int MAX_SEARCH_RADIUS = 24;
+
+    private final LumaPlane[] planes = new LumaPlane[HISTORY + 1];
+    private int writeIndex = 0;
+    private final FingertipTracker tracker = new FingertipTracker();
+    // 当前模板来自的推理帧时间戳
+    private long anchorTimestampNs = 0;
+    private int framesSinceInference = 0;
+    private int interval = 1;
+
+    private final AtomicLong inferred = new AtomicLong();
+    private final AtomicLong tracked = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+    private long lastInferred = 0;
+    private long lastTracked = 0;
+
+    public static synchronized FrameSkipController getInstance() {
+        if (instance == null) {
+            instance = new FrameSkipController();
+        }
+        return instance;
+    }
+
+    private FrameSkipController() {
+        for (int i = 0; i < planes.length; i++) {
+            planes[i] = new LumaPlane();
+        }
+    }
+
+    /**
+     * 相机线程：每帧调用一次 (ByteBuffer 位置会被修改)
+     *
+     * @param forceInference 拍照即将发生等必须推理的情况
+     * @return true 表示本帧应送去推理；false 表示已由指尖跟踪处理，调用方直接结束本帧
+     */
+    public boolean onFrame(ByteBuffer yBuffer, int rowStride, int width, int height, long timestampNs,
+                           boolean forceInference) {
+        if (ProcessorEnums.INFERENCE_CADENCE != InferenceCadence.ADAPTIVE_SKIP)
+            return true;
+
+        LumaPlane current = planes[writeIndex];
+        current.copyFrom(yBuffer, rowStride, width, height, Math.max(1, width / LUMA_GRID_WIDTH), timestampNs);
+
+        RecognizeProcessor recognizer = RecognizeProcessor.getInstance();
+        HandTrack hand = recognizer.getHandTrack(timestampNs);
+        if (hand == null) {
+            tracker.reset();
+            anchorTimestampNs = 0;
+            return infer();
+        }
+        if (hand.getFrameTimestampNs() != anchorTimestampNs) {
+            anchor(hand, width, height);
+            // 正在捏合时每帧推理，捏合触发只依赖关键点，不能等到下一个推理间隔
+            interval = hand.getPinchProgress() > 0f ? 1 : intervalFor(hand.getTipSpeed());
+        }
+        if (forceInference || !tracker.hasTemplate() || framesSinceInference + 1 >= interval)
+            return infer();
+
+        // 以上次跟踪位置为中心搜索，半径按推理得到的指尖速度 × 距上次跟踪的时间放大 (速度只有大小，不外推方向)
+        float dtSec = SensorClock.toMillis(timestampNs - tracker.getTimestampNs()) / 1000f;
+        float motion = hand.getTipSpeed() * dtSec * width / current.getStep();
+        int radius = Math.min(MAX_SEARCH_RADIUS, MIN_SEARCH_RADIUS + Math.round(motion));
+        if (!tracker.track(current, tracker.getX(), tracker.getY(), radius)) {
+            lost.incrementAndGet();
+            return infer();
+        }
+        framesSinceInference++;
+        tracked.incrementAndGet();
+        recognizer.getMailbox().noteSkipped(timestampNs);
+        recognizer.publishTrackedTip(tracker.getX() / width, tracker.getY() / height, timestampNs);
+        return false;
+    }
+
+    // 本帧送去推理：保留其亮度平面，结果回来时在上面取模板
+    private boolean infer() {
+        writeIndex = (writeIndex + 1) % planes.length;
+        framesSinceInference = 0;
+        inferred.incrementAndGet();
+        return true;
+    }
+
+    // 在推理帧的亮度平面上以识别出的指尖重新取模板；该平面已被覆盖时 (结果太晚) 模板失效
+    private void anchor(HandTrack hand, int width, int height) {
+        anchorTimestampNs = hand.getFrameTimestampNs();
+        tracker.reset();
+        for (int i = 0; i < planes.length; i++) {
+            if (i == writeIndex)
+                continue;
+            LumaPlane plane = planes[i];
+            if (plane.getTimestampNs() == anchorTimestampNs) {
+                tracker.setTemplate(plane, hand.getTipX() * width, hand.getTipY() * height);
+                return;
+            }
+        }
+    }
+
+    // 指尖速度 -> 推理间隔：慢时 SKIP_MAX_INTERVAL，快时 1
+    static int intervalFor(float speed) {
+        float slow = ProcessorEnums.SKIP_SLOW_SPEED;
+        float fast = ProcessorEnums.SKIP_FAST_SPEED;
+        float t = Math.max(0f, Math.min(1f, (fast - speed) / (fast - slow)));
+        return 1 + Math.round(t * (ProcessorEnums.SKIP_MAX_INTERVAL - 1));
+    }
+
+    public String statsString() {
+        long i = inferred.get();
+        long t = tracked.get();
+        String stats = String.format(Locale.US, "FrameSkip inferred=%d(+%d) tracked=%d(+%d) lost=%d interval=%d",
+                i, i - lastInferred, t, t - lastTracked, lost.get(), interval);
+        lastInferred = i;
+        lastTracked = t;
+        return stats;
+    }
+}
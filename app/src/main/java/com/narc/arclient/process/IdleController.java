@@ -0,0 +1,213 @@
+package com.narc.arclient.process;
+
+import com.narc.arclient.camera.ICameraManager;
+import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.enums.IdleMode;
+import com.narc.arclient.enums.ProcessorEnums;
+import com.narc.arclient.image.MotionDetector;
+import com.narc.arclient.process.processor.RecognizeProcessor;
+import com.narc.arclient.utils.SensorClock;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 空闲 / 活跃双速 (相机线程)：连续 IDLE_AFTER_MS 没有识别到手即进入空闲，
+ * 传感器降到 IDLE_FPS (设备不支持时软件限频)，每帧只在亮度缩略图上做帧差，不转换也不推理
+ *
+ * 检测到运动、探测帧 (每 IDLE_PROBE_MS 放一帧推理) 发现了手、或拍照请求时立即恢复全速。
+ * 统计两种唤醒延迟：唤醒帧 -> 恢复全速出帧 (传感器切换帧率的开销)、唤醒帧 -> 第一次识别到手 (用户感知到的延迟)，
+ * 以及两种模式各自累计的时间
+ */
+public class IdleController {
+    private static IdleController instance;
+
+    // 缩略图中变化格子占比超过该值视为运动 (40x30 中约 24 格)
+    private static final float MOTION_MIN_FRACTION = 0.02f;
+    // 恢复全速的判定：相邻帧间隔小于 1.5 个全速帧周期
+    private static final long ACTIVE_PERIOD_NS = 1_000_000_000L / CameraEnums.FPS;
+    private static final long IDLE_PERIOD_NS = 1_000_000_000L / CameraEnums.IDLE_FPS;
+
+    private final MotionDetector motion = new MotionDetector(MOTION_MIN_FRACTION);
+
+    // 以下状态只在相机线程读写 (idle / modeSinceNs 供 Monitor 读取)
+    private volatile boolean idle = false;
+    private volatile long modeSinceNs = 0;
+    private long activeSinceNs = 0;
+    private boolean hardwareRate = false;
+    private long lastCheckNs = 0;
+    private long lastProbeNs = 0;
+    private long lastFrameNs = 0;
+    private long awaitingFullRateNs = 0;
+
+    // 推理线程写：最近一次识别到手的帧时间戳
+    private volatile long lastHandNs = 0;
+    // 唤醒帧时间戳，等待第一次识别到手 (0 表示没有在等)
+    private final AtomicLong awaitingHandNs = new AtomicLong();
+
+    private final AtomicLong idleNs = new AtomicLong();
+    private final AtomicLong activeNs = new AtomicLong();
+    private final AtomicLong motionWakes = new AtomicLong();
+    private final AtomicLong handWakes = new AtomicLong();
+    private final AtomicLong captureWakes = new AtomicLong();
+    private final LatencyStat wakeToFullRate = new LatencyStat();
+    private final LatencyStat wakeToHand = new LatencyStat();
+
+    private static class LatencyStat {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalNs = new AtomicLong();
+        final AtomicLong maxNs = new AtomicLong();
+
+        void record(long ns) {
+            count.incrementAndGet();
+            totalNs.addAndGet(ns);
+            maxNs.accumulateAndGet(ns, Math::max);
+        }
+
+        String format() {
+            long n = count.get();
+            return String.format(Locale.US, "n=%d avg=%dms max=%dms", n,
+                    n > 0 ? SensorClock.toMillis(totalNs.get() / n) : 0, SensorClock.toMillis(maxNs.get()));
+        }
+    }
+
+    public static synchronized IdleController getInstance() {
+        if (instance == null) {
+            instance = new IdleController();
+        }
+        return instance;
+    }
+
+    /**
+     * 相机线程：每帧最先调用
+     *
+     * @param forceActive 拍照请求等必须全速处理的情况
+     * @return true 表示本帧走正常流程 (活跃、唤醒帧或空闲探测帧)；false 表示空闲中已处理完，调用方直接结束本帧
+     */
+    public boolean onFrame(ByteBuffer yBuffer, int rowStride, int width, int height, long timestampNs,
+                           boolean forceActive) {
+        if (ProcessorEnums.IDLE_MODE != IdleMode.MOTION_WAKE)
+            return true;
+        if (modeSinceNs == 0) {
+            modeSinceNs = timestampNs;
+            activeSinceNs = timestampNs;
+        }
+        noteFrameInterval(timestampNs);
+
+        if (!idle) {
+            // 唤醒时切回全速失败：传感器仍在空闲帧率，每帧重试直到成功
+            if (hardwareRate)
+                restoreFullRate();
+            long lastActivityNs = Math.max(lastHandNs, activeSinceNs);
+            if (forceActive || SensorClock.toMillis(timestampNs - lastActivityNs) < ProcessorEnums.IDLE_AFTER_MS)
+                return true;
+            enterIdle(timestampNs);
+        }
+
+        // 空闲中：降帧率后帧间隔本来就大，不能算作流水线丢帧
+        RecognizeProcessor.getInstance().getMailbox().noteSkipped(timestampNs);
+        if (forceActive) {
+            // 拍照请求
+            wake(timestampNs);
+            captureWakes.incrementAndGet();
+            return true;
+        }
+        if (lastHandNs > modeSinceNs) {
+            // 探测帧识别到了 (静止的) 手
+            wake(timestampNs);
+            handWakes.incrementAndGet();
+            return true;
+        }
+        // 设备不支持降帧率时软件限频
+        if (!hardwareRate && timestampNs - lastCheckNs < IDLE_PERIOD_NS - ACTIVE_PERIOD_NS / 2)
+            return false;
+        lastCheckNs = timestampNs;
+        if (motion.update(yBuffer, rowStride, width, height)) {
+            wake(timestampNs);
+            motionWakes.incrementAndGet();
+            return true;
+        }
+        if (SensorClock.toMillis(timestampNs - lastProbeNs) >= ProcessorEnums.IDLE_PROBE_MS) {
+            lastProbeNs = timestampNs;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 结果处理线程：每个推理结果调用一次
+     */
+    public void onInferenceResult(boolean hasHand, long frameTimestampNs) {
+        if (!hasHand)
+            return;
+        lastHandNs = Math.max(lastHandNs, frameTimestampNs);
+        long wakeNs = awaitingHandNs.get();
+        if (wakeNs != 0 && frameTimestampNs >= wakeNs && awaitingHandNs.compareAndSet(wakeNs, 0)) {
+            wakeToHand.record(SensorClock.nowNs() - wakeNs);
+        }
+    }
+
+    private void enterIdle(long timestampNs) {
+        activeNs.addAndGet(timestampNs - modeSinceNs);
+        idle = true;
+        modeSinceNs = timestampNs;
+        lastProbeNs = timestampNs;
+        lastCheckNs = 0;
+        awaitingFullRateNs = 0;
+        awaitingHandNs.set(0);
+        motion.reset();
+        ICameraManager camera = ICameraManager.getInstance();
+        hardwareRate = camera != null && camera.setIdleFrameRate(true);
+    }
+
+    private void wake(long timestampNs) {
+        idleNs.addAndGet(timestampNs - modeSinceNs);
+        idle = false;
+        modeSinceNs = timestampNs;
+        activeSinceNs = timestampNs;
+        awaitingHandNs.set(timestampNs);
+        motion.reset();
+        if (hardwareRate) {
+            awaitingFullRateNs = timestampNs;
+            restoreFullRate();
+        }
+    }
+
+    /**
+     * 请求传感器切回全速；只有切换成功才清掉 hardwareRate，失败时留给下一帧重试
+     */
+    private void restoreFullRate() {
+        ICameraManager camera = ICameraManager.getInstance();
+        if (camera != null && camera.setIdleFrameRate(false))
+            hardwareRate = false;
+    }
+
+    // 唤醒后第一次出现全速帧间隔，即传感器已切回全速
+    private void noteFrameInterval(long timestampNs) {
+        long last = lastFrameNs;
+        lastFrameNs = timestampNs;
+        if (awaitingFullRateNs == 0 || last == 0)
+            return;
+        if (timestampNs - last < ACTIVE_PERIOD_NS * 3 / 2) {
+            wakeToFullRate.record(timestampNs - awaitingFullRateNs);
+            awaitingFullRateNs = 0;
+        }
+    }
+
+    public boolean isIdle() {
+        return idle;
+    }
+
+    public String statsString() {
+        long since = modeSinceNs;
+        long current = since > 0 ? Math.max(0, SensorClock.nowNs() - since) : 0;
+        long idleMs = SensorClock.toMillis(idleNs.get() + (idle ? current : 0));
+        long activeMs = SensorClock.toMillis(activeNs.get() + (idle ? 0 : current));
+        long totalMs = Math.max(1, idleMs + activeMs);
+        return String.format(Locale.US,
+                "Idle mode=%s idle=%ds(%d%%) active=%ds wakes motion=%d hand=%d capture=%d wake->fullRate %s wake->hand %s",
+                idle ? "IDLE" : "ACTIVE", idleMs / 1000, idleMs * 100 / totalMs, activeMs / 1000,
+                motionWakes.get(), handWakes.get(), captureWakes.get(), wakeToFullRate.format(), wakeToHand.format());
+    }
+}
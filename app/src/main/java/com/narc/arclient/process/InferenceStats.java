@@ -0,0 +1,48 @@
+package com.narc.arclient.process;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 手势推理的延迟与吞吐量统计：提交推理 -> 拿到结果的耗时，以及每个 Monitor 窗口内完成的帧数
+ *
+ * LIVE_STREAM 模式下 MediaPipe 会在内部丢弃来不及处理的帧 (不回调)，单独记为 engineDropped
+ */
+public class InferenceStats {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumNs = new AtomicLong();
+    private final AtomicLong maxNs = new AtomicLong();
+    private final AtomicLong engineDropped = new AtomicLong();
+
+    private long windowStartNs = System.nanoTime(); // 仅 Monitor 线程读写
+
+    public void record(long latencyNs) {
+        count.incrementAndGet();
+        sumNs.addAndGet(latencyNs);
+        long max;
+        while (latencyNs > (max = maxNs.get()) && !maxNs.compareAndSet(max, latencyNs)) {
+            // 重试
+        }
+    }
+
+    public void noteEngineDropped(int frames) {
+        engineDropped.addAndGet(frames);
+    }
+
+    /**
+     * 打印当前窗口并清零 (Monitor 线程周期性调用)
+     */
+    public String statsString(Object mode) {
+        long now = System.nanoTime();
+        double windowSec = Math.max(1e-3, (now - windowStartNs) / 1e9);
+        windowStartNs = now;
+        long n = count.getAndSet(0);
+        long sum = sumNs.getAndSet(0);
+        long max = maxNs.getAndSet(0);
+        long dropped = engineDropped.getAndSet(0);
+        if (n == 0)
+            return String.format(Locale.US, "Inference[%s] n=0 engineDropped=%d", mode, dropped);
+        return String.format(Locale.US, "Inference[%s] n=%d rate=%.1f/s mean=%.1fms max=%.1fms engineDropped=%d",
+                mode, n, n / windowSec, sum / 1e6 / n, max / 1e6, dropped);
+    }
+}
@@ -0,0 +1,132 @@
+package com.narc.arclient.process;
+
+import com.narc.arclient.entity.RecognizeTask;
+import com.narc.arclient.enums.CameraEnums;
+import com.narc.arclient.process.processor.BitmapProcessor;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 转换阶段 (相机线程) 与推理阶段 (推理线程) 之间的单槽信箱：新帧覆盖旧帧 (latest-wins)
+ *
+ * 推理慢于出帧时，槽里等待的旧帧被新帧替换并立即归还输入缓冲，推理线程拿到的永远是最新一帧；
+ * 统计三类计数：dropped (相机出帧但未被转换，由传感器时间戳间隔推算)、
+ * superseded (已转换但还没来得及推理就被覆盖)、processed (完成推理)
+ */
+public class LatestFrameMailbox {
+    private final Object lock = new Object();
+    private RecognizeTask slot;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private long lastFrameTimestampNs = 0; // 仅相机线程写
+
+    // Monitor 上次打印时的计数，用于计算窗口内增量
+    private long lastProcessed = 0;
+    private long lastSuperseded = 0;
+    private long lastDropped = 0;
+
+    /**
+     * 相机线程：投递一帧，覆盖槽内尚未被取走的旧帧
+     */
+    public void post(RecognizeTask task) {
+        noteFrame(task.getFrameTimestampNs());
+        RecognizeTask old;
+        synchronized (lock) {
+            old = slot;
+            slot = task;
+            lock.notify();
+        }
+        if (old != null) {
+            superseded.incrementAndGet();
+            recycle(old);
+        }
+    }
+
+    /**
+     * 推理线程：阻塞直到有帧可取
+     */
+    public RecognizeTask take() throws InterruptedException {
+        synchronized (lock) {
+            while (slot == null) {
+                lock.wait();
+            }
+            RecognizeTask task = slot;
+            slot = null;
+            return task;
+        }
+    }
+
+    /**
+     * 相机线程：跳帧推理时被有意跳过的帧 (已由指尖跟踪处理)，只推进时间戳，不计入 dropped
+     */
+    public void noteSkipped(long timestampNs) {
+        lastFrameTimestampNs = timestampNs;
+    }
+
+    public void markProcessed() {
+        processed.incrementAndGet();
+    }
+
+    /**
+     * 丢弃槽内等待的帧 (退出时调用)
+     */
+    public void clear() {
+        RecognizeTask old;
+        synchronized (lock) {
+            old = slot;
+            slot = null;
+        }
+        if (old != null) {
+            recycle(old);
+        }
+    }
+
+    /**
+     * 相邻两帧的传感器时间戳间隔超过 1.5 个帧周期，说明中间有帧在相机端就被丢弃了
+     */
+    private void noteFrame(long timestampNs) {
+        long last = lastFrameTimestampNs;
+        lastFrameTimestampNs = timestampNs;
+        if (last <= 0 || timestampNs <= last)
+            return;
+        long expectedNs = 1_000_000_000L / CameraEnums.FPS;
+        long missed = ((timestampNs - last) * 2 + expectedNs) / (2 * expectedNs) - 1;
+        if (missed > 0) {
+            dropped.addAndGet(missed);
+        }
+    }
+
+    private static void recycle(RecognizeTask task) {
+        BitmapProcessor.getInstance().release(task);
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getSuperseded() {
+        return superseded.get();
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * 累计值与距上次调用的增量 (Monitor 线程周期性调用)
+     */
+    public String statsString() {
+        long p = processed.get();
+        long s = superseded.get();
+        long d = dropped.get();
+        String stats = String.format(Locale.US, "Pipeline processed=%d(+%d) superseded=%d(+%d) dropped=%d(+%d)",
+                p, p - lastProcessed, s, s - lastSuperseded, d, d - lastDropped);
+        lastProcessed = p;
+        lastSuperseded = s;
+        lastDropped = d;
+        return stats;
+    }
+}
@@ -8,6 +8,11 @@ import android.os.BatteryManager;
 import android.util.Log;
 
 import com.narc.arclient.MainActivity;
+import com.narc.arclient.camera.frame.FrameIntervalHistogram;
+import com.narc.arclient.camera.frame.YuvFrameRing;
+import com.narc.arclient.process.processor.BitmapProcessor;
+import com.narc.arclient.process.processor.RecognizeProcessor;
+import com.narc.arclient.utils.SensorClock;
 // [已删除] import com.narc.arclient.network.RemoteRecognizeServiceStub;
 
 import java.io.BufferedReader;
@@ -77,6 +82,18 @@ public class ProcessorManager {
             int normalExecutorQueueSize = normalExecutor.getQueue().size();
             int imageCopyExecutorQueueSize = imageCopyExecutor.getQueue().size();
             Log.d(TAG, String.format("normalExecutor queue size: %d imageCopyExecutor queue size: %d", normalExecutorQueueSize, imageCopyExecutorQueueSize));
+            Log.d(TAG, YuvFrameRing.getInstance().statsString());
+            Log.d(TAG, FrameIntervalHistogram.getInstance().statsString());
+            Log.d(TAG, SensorClock.statsString());
+            if (RecognizeProcessor.getInstance() != null) {
+                Log.d(TAG, RecognizeProcessor.getInstance().getMailbox().statsString());
+                Log.d(TAG, FrameSkipController.getInstance().statsString());
+                Log.d(TAG, IdleController.getInstance().statsString());
+                Log.d(TAG, RecognizeProcessor.getInstance().inferenceStatsString());
+                Log.d(TAG, BitmapProcessor.getInstance().statsString());
+                Log.d(TAG, RecognizeProcessor.getInstance().getRenderState().statsString());
+            }
+            Log.d(TAG, UiEventQueue.getInstance().statsString());
         }
 
         private void monitorSystemResources() {
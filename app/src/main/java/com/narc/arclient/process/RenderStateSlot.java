@@ -0,0 +1,61 @@
+package com.narc.arclient.process;
+
+import com.narc.arclient.entity.RenderData;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 推理结果 -> 渲染的无锁最新状态槽：推理侧每帧 publish 覆盖，主线程在每个 vsync 的 Choreographer.doFrame (pumpUiState) 里取一次
+ *
+ * 不再为每个结果向主线程 post 消息，主线程繁忙时积压的旧结果直接被覆盖 (计入 coalesced)；
+ * 发布 null (本帧手被忽略) 也是一次有效更新
+ */
+public class RenderStateSlot {
+    private final AtomicReference<RenderData> latest = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private long consumedVersion = 0; // 仅主线程
+
+    private final AtomicLong consumed = new AtomicLong();
+    // Monitor 上次打印时的计数
+    private long lastPublished = 0;
+    private long lastConsumed = 0;
+
+    /**
+     * 推理侧 (推理线程 / LIVE_STREAM 回调线程) 调用；跳帧跟踪时相机线程也会发布
+     */
+    public void publish(RenderData data) {
+        latest.set(data);
+        version.incrementAndGet();
+    }
+
+    /**
+     * 主线程：自上次 take 以来是否有新结果
+     */
+    public boolean hasUpdate() {
+        return version.get() != consumedVersion;
+    }
+
+    /**
+     * 主线程：取最新结果并标记为已消费 (先读版本再读值，读到的值不会比版本旧)
+     */
+    public RenderData take() {
+        consumedVersion = version.get();
+        consumed.incrementAndGet();
+        return latest.get();
+    }
+
+    /**
+     * 累计值与窗口增量：coalesced = 发布了但没被任何一帧取走的结果数
+     */
+    public String statsString() {
+        long p = version.get();
+        long c = consumed.get();
+        String stats = String.format(Locale.US, "RenderState published=%d(+%d) consumed=%d(+%d) coalesced=%d",
+                p, p - lastPublished, c, c - lastConsumed, p - c);
+        lastPublished = p;
+        lastConsumed = c;
+        return stats;
+    }
+}
@@ -0,0 +1,49 @@
+package com.narc.arclient.process;
+
+import com.narc.arclient.entity.UiEvent;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 离散 UI 事件的小容量队列：任意线程 post，主线程在每帧 onDraw 前 drain
+ *
+ * 事件本身很稀疏 (触发有冷却)，队列满说明主线程长时间没有出帧，此时丢弃新事件并计数，不向主线程 post 消息
+ */
+public class UiEventQueue {
+    private static final int CAPACITY = 16;
+
+    private static UiEventQueue instance;
+
+    private final ArrayBlockingQueue<UiEvent> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicLong posted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public static synchronized UiEventQueue getInstance() {
+        if (instance == null) {
+            instance = new UiEventQueue();
+        }
+        return instance;
+    }
+
+    public void post(UiEvent event) {
+        if (queue.offer(event)) {
+            posted.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * 主线程：取下一个事件，没有时返回 null
+     */
+    public UiEvent poll() {
+        return queue.poll();
+    }
+
+    public String statsString() {
+        return String.format(Locale.US, "UiEvents posted=%d pending=%d dropped=%d",
+                posted.get(), queue.size(), dropped.get());
+    }
+}
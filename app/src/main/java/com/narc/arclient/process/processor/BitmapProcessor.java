@@ -1,14 +1,112 @@
 package com.narc.arclient.process.processor;
 
+import android.graphics.Bitmap;
+
 import com.narc.arclient.entity.RecognizeTask;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * 空壳处理器：旧逻辑已废弃
+ * 推理输入缓冲池：相机线程把转换好的像素写进复用的 direct ByteBuffer (RGBA，模型输入尺寸)，
+ * RecognizeProcessor 用 ByteBufferImageBuilder 包装后直接送入 MediaPipe，稳态下不再创建任何 Bitmap
+ *
+ * 缓冲在推理完成、被信箱覆盖或出错时经 release 归还；池满时本帧放弃 (计入 exhausted)
+ * 手部跟踪模式下整帧输入与裁剪输入尺寸不同，按容量分池，两种尺寸交替时不会反复丢弃重建
  */
 public class BitmapProcessor {
+    // 同时在用的缓冲上限：相机线程写入 1 + 信箱等待 1 + 推理中 1，LIVE_STREAM 下再留 1 个在途余量
+    private static final int POOL_SIZE = 4;
+
+    private static BitmapProcessor instance;
+
+    // 容量 -> 该尺寸的缓冲池
+    private final ConcurrentHashMap<Integer, Pool> pools = new ConcurrentHashMap<>();
+
+    private final AtomicLong exhausted = new AtomicLong();
+
+    private static class Pool {
+        final ArrayBlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(POOL_SIZE);
+        int allocated = 0; // 仅相机线程写
+    }
+
+    public static synchronized BitmapProcessor getInstance() {
+        if (instance == null) {
+            instance = new BitmapProcessor();
+        }
+        return instance;
+    }
+
+    /**
+     * 相机线程调用：把 ARGB 像素写入池中缓冲并挂到 task 上
+     *
+     * @param argb 0xAARRGGBB 像素，写入时原地改为 RGBA 字节序 (调用方下一帧会重新填充)
+     * @return 池已耗尽时返回 false，调用方应放弃这一帧
+     */
+    public boolean fill(RecognizeTask task, int[] argb, int width, int height) {
+        int pixels = width * height;
+        ByteBuffer buffer = obtain(pixels * 4);
+        if (buffer == null) {
+            exhausted.incrementAndGet();
+            return false;
+        }
+        // ARGB 循环左移 8 位得到 RRGGBBAA，按大端整型写入即为 RGBA 字节
+        for (int i = 0; i < pixels; i++) {
+            int c = argb[i];
+            argb[i] = (c << 8) | (c >>> 24);
+        }
+        buffer.clear();
+        buffer.asIntBuffer().put(argb, 0, pixels);
+        buffer.limit(pixels * 4);
+        task.setInputBuffer(buffer, width, height);
+        return true;
+    }
+
+    /**
+     * 归还 task 持有的推理缓冲 (旧路径的 Bitmap 一并回收)，可重复调用
+     */
+    public void release(RecognizeTask task) {
+        if (task == null)
+            return;
+        ByteBuffer buffer = task.getInputBuffer();
+        task.setInputBuffer(null, 0, 0);
+        if (buffer != null) {
+            Pool pool = pools.get(buffer.capacity());
+            if (pool != null)
+                pool.free.offer(buffer);
+        }
+        Bitmap bitmap = task.getOriginBitmap();
+        if (bitmap != null && !bitmap.isRecycled()) {
+            bitmap.recycle();
+        }
+    }
+
+    private ByteBuffer obtain(int capacity) {
+        Pool pool = pools.get(capacity);
+        if (pool == null) {
+            pool = new Pool();
+            pools.put(capacity, pool);
+        }
+        ByteBuffer buffer = pool.free.poll();
+        if (buffer == null && pool.allocated < POOL_SIZE) {
+            buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.BIG_ENDIAN);
+            pool.allocated++;
+        }
+        return buffer;
+    }
 
-    public RecognizeTask process(RecognizeTask task) {
-        // 直接透传，不做任何处理
-        return task;
+    public String statsString() {
+        int allocated = 0;
+        int free = 0;
+        for (Pool pool : pools.values()) {
+            allocated += pool.allocated;
+            free += pool.free.size();
+        }
+        return String.format(Locale.US, "InputPool sizes=%d size=%d free=%d exhausted=%d",
+                pools.size(), allocated, free, exhausted.get());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.narc.arclient.process.processor;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import com.narc.arclient.entity.RecognizeTask;
+import com.narc.arclient.enums.ProcessorEnums;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 推理输入录制 (调试用，RECORD_GESTURE_FRAMES 开启时)：把每一帧送入模型的整帧 RGBA 输入存成 PNG，最多 RECORD_MAX_FRAMES 帧
+ * 文件名为帧的传感器时间戳，按名字排序即时间顺序。录制期间 RecognizeProcessor 不再按手部区域裁剪，录下的是连续的整帧，
+ * androidTest 的 GestureEngineAgreementTest 按原时间戳回放，两种引擎都能像线上整帧检测时一样在内部跟踪
+ *
+ * 推理线程上只做一次像素拷贝 (输入缓冲随后归还)，编码与写盘在单独的线程上进行
+ */
+class GestureFrameRecorder {
+    private static final String TAG = "GestureFrameRecorder";
+    static final String DIRECTORY = "gesture_frames";
+
+    private final File directory;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    private int saved = 0;
+
+    GestureFrameRecorder(Context context) {
+        directory = context.getExternalFilesDir(DIRECTORY);
+    }
+
+    /**
+     * 推理线程调用，必须在输入缓冲归还之前
+     */
+    void record(RecognizeTask task) {
+        if (directory == null || saved >= ProcessorEnums.RECORD_MAX_FRAMES)
+            return;
+        ByteBuffer input = task.getInputBuffer();
+        // 裁剪输入 (录制开启前已在跟踪的那几帧) 不录，回放序列里只有整帧
+        if (input == null || task.getInputRegion() != null)
+            return;
+        // ARGB_8888 的内存布局就是 RGBA 字节序，直接拷贝
+        Bitmap bitmap = Bitmap.createBitmap(task.getInputWidth(), task.getInputHeight(), Bitmap.Config.ARGB_8888);
+        ByteBuffer pixels = input.duplicate();
+        pixels.rewind();
+        bitmap.copyPixelsFromBuffer(pixels);
+        saved++;
+        File file = new File(directory, String.format(Locale.US, "%019d.png", task.getFrameTimestampNs()));
+        writer.execute(() -> {
+            try (OutputStream out = new FileOutputStream(file)) {
+                bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+            } catch (IOException e) {
+                Log.w(TAG, "写入失败: " + file, e);
+            } finally {
+                bitmap.recycle();
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.narc.arclient.process.processor;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.core.BaseOptions;
+import com.google.mediapipe.tasks.core.Delegate;
+import com.google.mediapipe.tasks.vision.core.RunningMode;
+import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizer;
+import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizer.GestureRecognizerOptions;
+import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizerResult;
+import com.narc.arclient.enums.GestureEngine;
+import com.narc.arclient.enums.InferenceMode;
+import com.narc.arclient.gesture.GestureCategory;
+
+import java.util.function.Consumer;
+
+/**
+ * 完整的 GestureRecognizer 任务：手部检测 + 关键点 + 手势嵌入 + 分类头，类别直接取模型输出
+ */
+class GestureRecognizerEngine implements HandEngine {
+    private static final String TAG = "GestureRecognizerEngine";
+
+    private final GestureRecognizer recognizer;
+
+    GestureRecognizerEngine(Context context, Delegate delegate, InferenceMode mode, Consumer<HandResult> listener) {
+        BaseOptions baseOptions = BaseOptions.builder()
+                .setModelAssetPath(HandEngine.modelAsset(GestureEngine.GESTURE_RECOGNIZER))
+                .setDelegate(delegate)
+                .build();
+        GestureRecognizerOptions.Builder builder = GestureRecognizerOptions.builder()
+                .setBaseOptions(baseOptions)
+                .setMinHandDetectionConfidence(0.2f)
+                .setMinHandPresenceConfidence(0.2f)
+                .setMinTrackingConfidence(0.2f);
+        if (mode == InferenceMode.LIVE_STREAM) {
+            builder.setRunningMode(RunningMode.LIVE_STREAM)
+                    .setResultListener((result, input) -> listener.accept(convert(result)))
+                    .setErrorListener(e -> Log.e(TAG, "MediaPipe LiveStream Error", e));
+        } else {
+            builder.setRunningMode(RunningMode.VIDEO);
+        }
+        recognizer = GestureRecognizer.createFromOptions(context, builder.build());
+    }
+
+    @Override
+    public HandResult detectForVideo(MPImage image, long timestampMs) {
+        return convert(recognizer.recognizeForVideo(image, timestampMs));
+    }
+
+    @Override
+    public void detectAsync(MPImage image, long timestampMs) {
+        recognizer.recognizeAsync(image, timestampMs);
+    }
+
+    @Override
+    public void close() {
+        recognizer.close();
+    }
+
+    private static HandResult convert(GestureRecognizerResult result) {
+        if (result.landmarks().isEmpty())
+            return new HandResult(null, GestureCategory.NONE, result.timestampMs());
+        GestureCategory category = GestureCategory.NONE;
+        if (!result.gestures().isEmpty() && !result.gestures().get(0).isEmpty()) {
+            category = GestureCategory.fromLabel(result.gestures().get(0).get(0).categoryName());
+        }
+        return new HandResult(result.landmarks().get(0), category, result.timestampMs());
+    }
+}
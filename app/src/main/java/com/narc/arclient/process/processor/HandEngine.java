@@ -0,0 +1,45 @@
+package com.narc.arclient.process.processor;
+
+import android.content.Context;
+
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.core.Delegate;
+import com.narc.arclient.enums.GestureEngine;
+import com.narc.arclient.enums.InferenceMode;
+import com.narc.arclient.enums.ProcessorEnums;
+
+import java.util.function.Consumer;
+
+/**
+ * 手部推理引擎：GestureRecognizer (关键点 + 模型分类) 或 HandLandmarker (只出关键点，Java 规则分类)
+ * 两者输出统一为 HandResult，RecognizeProcessor / 校准 / 对比测试不关心具体是哪一个
+ */
+interface HandEngine {
+    /**
+     * VIDEO 模式同步推理
+     */
+    HandResult detectForVideo(MPImage image, long timestampMs);
+
+    /**
+     * LIVE_STREAM 模式异步提交，结果交给创建时传入的 listener
+     */
+    void detectAsync(MPImage image, long timestampMs);
+
+    void close();
+
+    // 引擎对应的模型文件 (assets)
+    static String modelAsset(GestureEngine engine) {
+        return engine == GestureEngine.HAND_LANDMARKER ? ProcessorEnums.MP_LANDMARKER_TASK
+                : ProcessorEnums.MP_RECOGNIZER_TASK;
+    }
+
+    /**
+     * @param listener 仅 LIVE_STREAM 使用 (MediaPipe 回调线程)，VIDEO 传 null
+     */
+    static HandEngine create(Context context, GestureEngine engine, Delegate delegate, InferenceMode mode,
+                             Consumer<HandResult> listener) {
+        if (engine == GestureEngine.HAND_LANDMARKER)
+            return new HandLandmarkerEngine(context, delegate, mode, listener);
+        return new GestureRecognizerEngine(context, delegate, mode, listener);
+    }
+}
@@ -0,0 +1,88 @@
+package com.narc.arclient.process.processor;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.components.containers.Landmark;
+import com.google.mediapipe.tasks.core.BaseOptions;
+import com.google.mediapipe.tasks.core.Delegate;
+import com.google.mediapipe.tasks.vision.core.RunningMode;
+import com.google.mediapipe.tasks.vision.handlandmarker.HandLandmarker;
+import com.google.mediapipe.tasks.vision.handlandmarker.HandLandmarker.HandLandmarkerOptions;
+import com.google.mediapipe.tasks.vision.handlandmarker.HandLandmarkerResult;
+import com.narc.arclient.enums.GestureEngine;
+import com.narc.arclient.enums.InferenceMode;
+import com.narc.arclient.gesture.GestureCategory;
+import com.narc.arclient.gesture.LandmarkGestureClassifier;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 轻量引擎：只跑 HandLandmarker (手部检测 + 关键点)，跳过手势嵌入与分类头，
+ * 类别由 LandmarkGestureClassifier 在 world landmarks 上按关节角度规则判定
+ */
+class HandLandmarkerEngine implements HandEngine {
+    private static final String TAG = "HandLandmarkerEngine";
+
+    private final HandLandmarker landmarker;
+    // world landmarks 拷贝，分类时复用 (VIDEO: 推理线程；LIVE_STREAM: 回调线程，同一时刻只有一个)
+    private final float[] worldX = new float[LandmarkGestureClassifier.LANDMARK_COUNT];
+    private final float[] worldY = new float[LandmarkGestureClassifier.LANDMARK_COUNT];
+    private final float[] worldZ = new float[LandmarkGestureClassifier.LANDMARK_COUNT];
+
+    HandLandmarkerEngine(Context context, Delegate delegate, InferenceMode mode, Consumer<HandResult> listener) {
+        BaseOptions baseOptions = BaseOptions.builder()
+                .setModelAssetPath(HandEngine.modelAsset(GestureEngine.HAND_LANDMARKER))
+                .setDelegate(delegate)
+                .build();
+        HandLandmarkerOptions.Builder builder = HandLandmarkerOptions.builder()
+                .setBaseOptions(baseOptions)
+                .setNumHands(1)
+                .setMinHandDetectionConfidence(0.2f)
+                .setMinHandPresenceConfidence(0.2f)
+                .setMinTrackingConfidence(0.2f);
+        if (mode == InferenceMode.LIVE_STREAM) {
+            builder.setRunningMode(RunningMode.LIVE_STREAM)
+                    .setResultListener((result, input) -> listener.accept(convert(result)))
+                    .setErrorListener(e -> Log.e(TAG, "MediaPipe LiveStream Error", e));
+        } else {
+            builder.setRunningMode(RunningMode.VIDEO);
+        }
+        landmarker = HandLandmarker.createFromOptions(context, builder.build());
+    }
+
+    @Override
+    public HandResult detectForVideo(MPImage image, long timestampMs) {
+        return convert(landmarker.detectForVideo(image, timestampMs));
+    }
+
+    @Override
+    public void detectAsync(MPImage image, long timestampMs) {
+        landmarker.detectAsync(image, timestampMs);
+    }
+
+    @Override
+    public void close() {
+        landmarker.close();
+    }
+
+    private HandResult convert(HandLandmarkerResult result) {
+        if (result.landmarks().isEmpty())
+            return new HandResult(null, GestureCategory.NONE, result.timestampMs());
+        GestureCategory category = GestureCategory.NONE;
+        if (!result.worldLandmarks().isEmpty()) {
+            List<Landmark> world = result.worldLandmarks().get(0);
+            int count = Math.min(world.size(), LandmarkGestureClassifier.LANDMARK_COUNT);
+            for (int i = 0; i < count; i++) {
+                Landmark landmark = world.get(i);
+                worldX[i] = landmark.x();
+                worldY[i] = landmark.y();
+                worldZ[i] = landmark.z();
+            }
+            category = LandmarkGestureClassifier.classify(worldX, worldY, worldZ, count);
+        }
+        return new HandResult(result.landmarks().get(0), category, result.timestampMs());
+    }
+}
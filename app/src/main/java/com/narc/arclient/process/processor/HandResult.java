@@ -0,0 +1,21 @@
+package com.narc.arclient.process.processor;
+
+import com.google.mediapipe.tasks.components.containers.NormalizedLandmark;
+import com.narc.arclient.gesture.GestureCategory;
+
+import java.util.List;
+
+/**
+ * 两种推理引擎的统一结果：第一只手的关键点 (推理输入上的归一化坐标，没有手时为 null)、手势类别与推理时间戳
+ */
+final class HandResult {
+    final List<NormalizedLandmark> landmarks;
+    final GestureCategory category;
+    final long timestampMs;
+
+    HandResult(List<NormalizedLandmark> landmarks, GestureCategory category, long timestampMs) {
+        this.landmarks = landmarks;
+        this.category = category;
+        this.timestampMs = timestampMs;
+    }
+}
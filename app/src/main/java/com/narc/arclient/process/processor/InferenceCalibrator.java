@@ -0,0 +1,273 @@
+package com.narc.arclient.process.processor;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.util.Log;
+
+import com.google.mediapipe.framework.image.ByteBufferImageBuilder;
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.core.Delegate;
+import com.narc.arclient.entity.InferenceProfile;
+import com.narc.arclient.enums.InferenceMode;
+import com.narc.arclient.enums.ProcessorEnums;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 推理后端 / 输入尺寸的启动校准
+ *
+ * 在每个 (后端, 输入宽度) 组合上创建当前推理引擎，预热后计时若干合成帧，取中位数；按宽度从高到低选第一个
+ * 满足 INFERENCE_TARGET_FPS 的组合 (同宽度取更快的后端)，都不满足时取最快的。结果按设备指纹与模型缓存在
+ * SharedPreferences 中，之后启动直接读取；创建失败的后端 (如 GPU 不可用) 视为无穷慢，自然落到 CPU
+ *
+ * 合成帧里没有手，计时的只是手掌检测；有手时还要跑关键点 / 手势模型，所以运行中再用有手帧的实际耗时复核
+ * (onLiveFrame)：中位数超出预算时把多出的耗时记为"有手开销"、清掉缓存的选择，下次启动重新校准时每个组合
+ * 都加上这份开销再比预算；本次运行先退到下一个更窄的候选宽度
+ */
+class InferenceCalibrator {
+    private static final String TAG = "InferenceCalibrator";
+    private static final String PREFS_NAME = "inference_calibration";
+    private static final String KEY_FINGERPRINT = "fingerprint";
+    private static final String KEY_DELEGATE = "delegate";
+    private static final String KEY_WIDTH = "width";
+    private static final String KEY_FRAME_MS = "frame_ms";
+    private static final String KEY_HAND_OVERHEAD_MS = "hand_overhead_ms";
+    // 校准流程或候选项变化时加一，让旧缓存失效
+    private static final int CALIBRATION_VERSION = 1;
+
+    private static final Delegate[] DELEGATES = {Delegate.GPU, Delegate.CPU};
+
+    private final Context context;
+
+    // 运行中复核：当前生效的配置与有手帧的耗时样本，只在结果处理线程上使用
+    private InferenceProfile active;
+    private final long[] handSamples = new long[ProcessorEnums.CALIBRATION_RECHECK_FRAMES];
+    private int handSampleCount;
+    private boolean invalidated;
+
+    InferenceCalibrator(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * 读缓存，没有 (或设备 / 模型变化) 时现场校准并保存
+     */
+    InferenceProfile loadOrCalibrate() {
+        InferenceProfile cached = load();
+        if (cached != null) {
+            Log.d(TAG, "📦 使用缓存的推理配置: " + cached);
+            active = cached;
+            return cached;
+        }
+        InferenceProfile profile = calibrate();
+        if (profile == null) {
+            // 所有组合都失败：退回默认配置但不缓存，下次启动重新校准
+            Log.w(TAG, "⚠️ 校准全部失败，本次使用默认配置");
+            active = new InferenceProfile(Delegate.CPU.name(), ProcessorEnums.INFERENCE_WIDTH, 0f);
+            return active;
+        }
+        save(profile);
+        active = profile;
+        return profile;
+    }
+
+    /**
+     * 结果处理线程调用：记录一帧真实推理的耗时 (提交 -> 拿到结果)，只统计识别到手的帧
+     * 攒满 CALIBRATION_RECHECK_FRAMES 帧后取中位数与预算比较；超预算时记下有手开销、让缓存失效
+     *
+     * @return 本次运行应改用的更窄输入宽度；未超预算、样本未攒满或已是最窄候选时返回 0
+     */
+    int onLiveFrame(boolean handPresent, long latencyNs) {
+        if (!handPresent || active == null)
+            return 0;
+        handSamples[handSampleCount++] = latencyNs;
+        if (handSampleCount < handSamples.length)
+            return 0;
+        handSampleCount = 0;
+        long[] sorted = handSamples.clone();
+        Arrays.sort(sorted);
+        long medianNs = sorted[sorted.length / 2];
+        long budgetNs = 1_000_000_000L / ProcessorEnums.INFERENCE_TARGET_FPS;
+        if (medianNs <= budgetNs)
+            return 0;
+
+        if (!invalidated) {
+            // 有手开销只按校准选中的组合算一次 (其 frameMs 是实测的无手耗时)
+            float overheadMs = Math.max(0f, medianNs / 1_000_000f - active.getFrameMs());
+            Log.w(TAG, "⚠️ 有手帧耗时 " + medianNs / 1_000_000f + "ms 超出预算，" + active
+                    + "，有手开销约 " + overheadMs + "ms，下次启动重新校准");
+            invalidate(overheadMs);
+            invalidated = true;
+        }
+        int narrower = narrowerWidth(active.getInputWidth());
+        if (narrower == 0)
+            return 0;
+        active = new InferenceProfile(active.getDelegate(), narrower, active.getFrameMs());
+        return narrower;
+    }
+
+    /**
+     * 候选宽度中比 width 窄的最宽一个，没有时返回 0
+     */
+    static int narrowerWidth(int width) {
+        int best = 0;
+        for (int candidate : ProcessorEnums.CALIBRATION_WIDTHS) {
+            if (candidate < width && candidate > best)
+                best = candidate;
+        }
+        return best;
+    }
+
+    /**
+     * @return 选中的组合；所有组合都创建 / 推理失败时返回 null
+     */
+    private InferenceProfile calibrate() {
+        long budgetNs = 1_000_000_000L / ProcessorEnums.INFERENCE_TARGET_FPS;
+        // 之前运行中测得的有手开销 (没有时为 0)：合成帧只计时手掌检测，比预算时补上
+        float handOverheadMs = loadHandOverheadMs();
+        InferenceProfile fastest = null;
+        InferenceProfile chosen = null;
+        for (int width : ProcessorEnums.CALIBRATION_WIDTHS) {
+            InferenceProfile bestAtWidth = null;
+            for (Delegate delegate : DELEGATES) {
+                long frameNs = measure(delegate, width);
+                Log.d(TAG, "⏱️ " + delegate + " width=" + width + ": "
+                        + (frameNs == Long.MAX_VALUE ? "不可用" : (frameNs / 1_000_000f) + "ms"));
+                if (frameNs == Long.MAX_VALUE)
+                    continue;
+                InferenceProfile candidate = new InferenceProfile(delegate.name(), width, frameNs / 1_000_000f);
+                if (bestAtWidth == null || candidate.getFrameMs() < bestAtWidth.getFrameMs())
+                    bestAtWidth = candidate;
+            }
+            if (bestAtWidth == null)
+                continue;
+            if (fastest == null || bestAtWidth.getFrameMs() < fastest.getFrameMs())
+                fastest = bestAtWidth;
+            if ((bestAtWidth.getFrameMs() + handOverheadMs) * 1_000_000f <= budgetNs) {
+                chosen = bestAtWidth;
+                break;
+            }
+        }
+        if (chosen == null)
+            chosen = fastest;
+        if (chosen == null)
+            return null;
+        Log.d(TAG, "✅ 校准完成，选用: " + chosen + " (有手开销 " + handOverheadMs + "ms)");
+        return chosen;
+    }
+
+    /**
+     * 单个组合的单帧耗时中位数 (纳秒)，创建或推理失败时返回 Long.MAX_VALUE
+     */
+    private long measure(Delegate delegate, int width) {
+        HandEngine engine = null;
+        try {
+            engine = HandEngine.create(context, ProcessorEnums.GESTURE_ENGINE, delegate, InferenceMode.VIDEO, null);
+            int height = inputHeight(width);
+            MPImage image = syntheticImage(width, height);
+            long timestampMs = 0;
+            for (int i = 0; i < ProcessorEnums.INFERENCE_WARMUP_FRAMES; i++) {
+                engine.detectForVideo(image, ++timestampMs);
+            }
+            long[] samples = new long[ProcessorEnums.CALIBRATION_FRAMES];
+            for (int i = 0; i < samples.length; i++) {
+                long start = System.nanoTime();
+                engine.detectForVideo(image, ++timestampMs);
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            return samples[samples.length / 2];
+        } catch (Exception e) {
+            Log.w(TAG, "⚠️ " + delegate + " width=" + width + " 校准失败: " + e.getMessage());
+            return Long.MAX_VALUE;
+        } finally {
+            if (engine != null) {
+                try {
+                    engine.close();
+                } catch (Exception ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * 推理输入高度：校准时相机还没打开，按常见的 16:9 估算 (与真实输入差别只在高度几行)
+     */
+    static int inputHeight(int width) {
+        return width * 9 / 16;
+    }
+
+    /**
+     * 与真实输入同尺寸、同格式 (RGBA direct 缓冲) 的合成帧：平滑渐变叠加噪声
+     */
+    static MPImage syntheticImage(int width, int height) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(width * height * 4).order(ByteOrder.BIG_ENDIAN);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(32);
+                buffer.put((byte) (x * 255 / width ^ noise));
+                buffer.put((byte) (y * 255 / height ^ noise));
+                buffer.put((byte) (128 + noise));
+                buffer.put((byte) 0xFF);
+            }
+        }
+        buffer.rewind();
+        return new ByteBufferImageBuilder(buffer, width, height, MPImage.IMAGE_FORMAT_RGBA).build();
+    }
+
+    private InferenceProfile load() {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (!fingerprint().equals(prefs.getString(KEY_FINGERPRINT, null)))
+            return null;
+        String delegate = prefs.getString(KEY_DELEGATE, null);
+        int width = prefs.getInt(KEY_WIDTH, 0);
+        if (delegate == null || width <= 0)
+            return null;
+        return new InferenceProfile(delegate, width, prefs.getFloat(KEY_FRAME_MS, 0f));
+    }
+
+    private float loadHandOverheadMs() {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        if (!fingerprint().equals(prefs.getString(KEY_FINGERPRINT, null)))
+            return 0f;
+        return prefs.getFloat(KEY_HAND_OVERHEAD_MS, 0f);
+    }
+
+    /**
+     * 清掉缓存的选择 (下次启动重新校准)，保留设备指纹并记下有手开销；开销只增不减，避免在两个组合间来回切换
+     */
+    private void invalidate(float handOverheadMs) {
+        float overheadMs = Math.max(handOverheadMs, loadHandOverheadMs());
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .putString(KEY_FINGERPRINT, fingerprint())
+                .remove(KEY_DELEGATE)
+                .remove(KEY_WIDTH)
+                .remove(KEY_FRAME_MS)
+                .putFloat(KEY_HAND_OVERHEAD_MS, overheadMs)
+                .apply();
+    }
+
+    private void save(InferenceProfile profile) {
+        context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE).edit()
+                .putString(KEY_FINGERPRINT, fingerprint())
+                .putString(KEY_DELEGATE, profile.getDelegate())
+                .putInt(KEY_WIDTH, profile.getInputWidth())
+                .putFloat(KEY_FRAME_MS, profile.getFrameMs())
+                // 指纹变化时 loadHandOverheadMs 已按 0 计，旧设备 / 模型上测的开销不随新指纹保留
+                .putFloat(KEY_HAND_OVERHEAD_MS, loadHandOverheadMs())
+                .apply();
+    }
+
+    /**
+     * 缓存键：系统构建 + 引擎模型 + 候选项 + 目标帧率，任何一项变化都重新校准
+     */
+    private static String fingerprint() {
+        return Build.FINGERPRINT + "|" + HandEngine.modelAsset(ProcessorEnums.GESTURE_ENGINE) + "|" + CALIBRATION_VERSION
+                + "|" + Arrays.toString(ProcessorEnums.CALIBRATION_WIDTHS) + "|" + ProcessorEnums.INFERENCE_TARGET_FPS;
+    }
+}
@@ -1,65 +1,124 @@
 package com.narc.arclient.process.processor;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.Matrix;
-import android.graphics.Paint;
 import android.graphics.PointF;
+import android.os.Process;
 import android.util.Log;
 
-import com.google.mediapipe.framework.image.BitmapImageBuilder;
+import com.google.mediapipe.framework.image.ByteBufferImageBuilder;
 import com.google.mediapipe.framework.image.MPImage;
-import com.google.mediapipe.tasks.core.BaseOptions;
 import com.google.mediapipe.tasks.core.Delegate;
-import com.google.mediapipe.tasks.vision.core.RunningMode;
-import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizer;
-import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizerResult;
-import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizer.GestureRecognizerOptions;
 import com.google.mediapipe.tasks.components.containers.NormalizedLandmark;
 
-import com.narc.arclient.MainActivity;
+import com.narc.arclient.entity.HandTrack;
+import com.narc.arclient.entity.InferenceProfile;
 import com.narc.arclient.entity.RecognizeTask;
+import com.narc.arclient.entity.Rectangle;
 import com.narc.arclient.entity.RenderData;
-
+import com.narc.arclient.entity.UiEvent;
+import com.narc.arclient.enums.InferenceMode;
+import com.narc.arclient.enums.InferenceRoiMode;
+import com.narc.arclient.enums.ProcessorEnums;
+import com.narc.arclient.gesture.DwellRegion;
+import com.narc.arclient.gesture.GestureCategory;
+import com.narc.arclient.gesture.GestureState;
+import com.narc.arclient.gesture.GestureStateMachine;
+import com.narc.arclient.process.IdleController;
+import com.narc.arclient.process.InferenceStats;
+import com.narc.arclient.process.LatestFrameMailbox;
+import com.narc.arclient.process.RenderStateSlot;
+import com.narc.arclient.process.UiEventQueue;
+import com.narc.arclient.utils.SensorClock;
+
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 public class RecognizeProcessor {
 
     private static final String TAG = "SilverSight";
     private static RecognizeProcessor instance;
     private Context context;
-    private GestureRecognizer gestureRecognizer;
+    private HandEngine handEngine;
 
     // FPS 统计
     private long lastFrameTime = 0;
     private int frameCount = 0;
 
-    private float lastX = 0f;
-    private float lastY = 0f;
-    private long hoverStartTime = 0;
-    private long micHoverStartTime = 0;
+    // 上一次送入 MediaPipe 的时间戳，两种模式都要求严格递增
+    private long lastInferenceTimestampMs = 0;
+    // 推理输入宽度，默认 INFERENCE_WIDTH，启动校准后可能更小
+    private volatile int inferenceWidth = ProcessorEnums.INFERENCE_WIDTH;
+    // 启动校准与运行中的有手帧复核，未启用校准时为 null
+    private InferenceCalibrator calibrator;
 
-    private static final float MOVE_THRESHOLD = 0.05f;
     private static final long HOVER_DURATION = 3000;
     private static final float BUTTON_AREA_X = 0.8f;
     private static final float BUTTON_AREA_Y = 0.75f;
+    // 悬停区域下标：右下角麦克风区 (延伸到画面外，指尖略出界也算)
+    private static final int MIC_REGION = 0;
+    private static final DwellRegion[] DWELL_REGIONS = {
+            new DwellRegion(BUTTON_AREA_X, BUTTON_AREA_Y, Float.MAX_VALUE, Float.MAX_VALUE, HOVER_DURATION)
+    };
+
+    // 手势 / 悬停状态机与其复用的输出，只在结果处理线程上使用
+    private final GestureStateMachine gestureMachine = new GestureStateMachine(DWELL_REGIONS, HOVER_DURATION,
+            ProcessorEnums.CAPTURE_TRIGGER);
+    private final GestureState gestureState = new GestureState();
+    // 悬停读条超过该进度即视为"即将拍照"，相机线程开始完整拷贝高清帧
+    private static final float CAPTURE_ARM_PROGRESS = 0.5f;
+
+    private volatile boolean captureArmed = false;
+
+    // 手部关键点个数 (MediaPipe Hands)
+    private static final int LANDMARK_COUNT = 21;
+    // 关键点映射回整帧后的归一化坐标，只在结果处理线程上使用 (VIDEO: 推理线程；LIVE_STREAM: 回调线程)
+    private final float[] landmarkX = new float[LANDMARK_COUNT];
+    private final float[] landmarkY = new float[LANDMARK_COUNT];
+    // 手部跟踪：最近一次识别到的右手 (外接框 + 指尖)，丢手时为 null，相机线程据此裁剪下一帧 / 跳帧跟踪指尖
+    private volatile HandTrack trackedHand;
+    // 最近一次推理得到的渲染数据，跳帧时以它为底替换指尖坐标后发布
+    private volatile RenderData lastRenderData;
+    // 最近一次由指尖跟踪发布的渲染数据；发布路径在 publishLock 下比较帧时间戳，状态槽里的连续状态只前进不后退
+    private RenderData lastTrackedData;
+    private final Object publishLock = new Object();
+
+    // 相机线程只负责转换并投递，推理在独立线程上进行：第 N 帧推理时第 N+1 帧已在转换
+    private final LatestFrameMailbox mailbox = new LatestFrameMailbox();
+    private final Thread inferenceThread;
+
+    private final InferenceStats inferenceStats = new InferenceStats();
+    // 调试录制，关闭时为 null
+    private final GestureFrameRecorder frameRecorder;
+    // 推理结果 -> 主线程：连续状态走最新状态槽，离散触发走 UiEventQueue
+    private final RenderStateSlot renderState = new RenderStateSlot();
+    // LIVE_STREAM：已提交、等待回调的帧 (按推理时间戳排序)，结果回来时据此找回 task 并归还输入缓冲
+    private final ConcurrentSkipListMap<Long, InFlight> inFlight = new ConcurrentSkipListMap<>();
+
+    private static class InFlight {
+        final RecognizeTask task;
+        final long submitNs;
+
+        InFlight(RecognizeTask task, long submitNs) {
+            this.task = task;
+            this.submitNs = submitNs;
+        }
+    }
 
-    private Bitmap resizedBitmap = null;
-    private Canvas resizeCanvas = null;
-    private Matrix resizeMatrix = new Matrix();
-    private Paint resizePaint = new Paint();
-
-    private AtomicBoolean isProcessing = new AtomicBoolean(false);
-
-    public boolean isReady() {
-        return !isProcessing.get();
+    /**
+     * 拍照是否已 armed（悬停读条过半），相机线程据此决定是否完整拷贝高清帧
+     */
+    public boolean isCaptureArmed() {
+        return captureArmed;
     }
 
     private RecognizeProcessor(Context context) {
         this.context = context;
-        initMediaPipe();
+        frameRecorder = ProcessorEnums.RECORD_GESTURE_FRAMES ? new GestureFrameRecorder(context) : null;
+        // 校准 / 初始化 / 预热都在推理线程上完成，不阻塞主线程；期间相机投递的帧在信箱里只保留最新一帧
+        inferenceThread = new Thread(this::inferenceLoop, "InferenceThread");
+        inferenceThread.start();
     }
 
     public static void init(Context context) {
@@ -71,99 +130,237 @@ public class RecognizeProcessor {
         return instance;
     }
 
-    private void initMediaPipe() {
+    /**
+     * 选定后端与输入宽度 (启动校准结果，首次运行现场测，之后读缓存)，创建识别器并预热
+     */
+    private void setupMediaPipe() {
+        Delegate delegate = Delegate.GPU;
+        if (ProcessorEnums.INFERENCE_CALIBRATION) {
+            calibrator = new InferenceCalibrator(context);
+            InferenceProfile profile = calibrator.loadOrCalibrate();
+            delegate = Delegate.valueOf(profile.getDelegate());
+            inferenceWidth = profile.getInputWidth();
+        }
+        // 首选后端创建失败 (GPU 不可用) 时退回 CPU，不再留下一个为 null 的识别器
+        if (!initMediaPipe(delegate) && delegate != Delegate.CPU) {
+            initMediaPipe(Delegate.CPU);
+        }
+        warmUp();
+    }
+
+    private boolean initMediaPipe(Delegate delegate) {
         try {
-            BaseOptions baseOptions = BaseOptions.builder()
-                    .setModelAssetPath("gesture_recognizer.task")
-                    .setDelegate(Delegate.GPU)
-                    .build();
-
-            GestureRecognizerOptions options = GestureRecognizerOptions.builder()
-                    .setBaseOptions(baseOptions)
-                    .setRunningMode(RunningMode.VIDEO)
-                    .setMinHandDetectionConfidence(0.2f)
-                    .setMinHandPresenceConfidence(0.2f)
-                    .setMinTrackingConfidence(0.2f)
-                    .build();
-
-            gestureRecognizer = GestureRecognizer.createFromOptions(context, options);
-            Log.d(TAG, "MediaPipe Init Success (GPU MODE 🚀)");
+            handEngine = HandEngine.create(context, ProcessorEnums.GESTURE_ENGINE, delegate,
+                    ProcessorEnums.INFERENCE_MODE, this::onLiveStreamResult);
+            Log.d(TAG, "MediaPipe Init Success (" + ProcessorEnums.GESTURE_ENGINE + ", " + delegate + " MODE 🚀, "
+                    + ProcessorEnums.INFERENCE_MODE + ", width=" + inferenceWidth + ")");
+            return true;
         } catch (Exception e) {
-            Log.e(TAG, "MediaPipe Init Error", e);
+            Log.e(TAG, "MediaPipe Init Error (" + delegate + ")", e);
+            return false;
+        }
+    }
+
+    /**
+     * 预热：用合成帧跑几次推理，GPU 后端的着色器编译等首帧开销不落在第一帧真实画面上
+     * 时间戳从 1 开始，远小于传感器时间戳，之后的真实帧依旧严格递增
+     */
+    private void warmUp() {
+        if (handEngine == null)
+            return;
+        long start = System.nanoTime();
+        try {
+            MPImage image = InferenceCalibrator.syntheticImage(inferenceWidth,
+                    InferenceCalibrator.inputHeight(inferenceWidth));
+            for (int i = 0; i < ProcessorEnums.INFERENCE_WARMUP_FRAMES; i++) {
+                long timestampMs = ++lastInferenceTimestampMs;
+                if (ProcessorEnums.INFERENCE_MODE == InferenceMode.LIVE_STREAM) {
+                    // 没有对应的在途记录，回调里会被直接忽略
+                    handEngine.detectAsync(image, timestampMs);
+                } else {
+                    handEngine.detectForVideo(image, timestampMs);
+                }
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "MediaPipe WarmUp Error", e);
+        }
+        Log.d(TAG, "🔥 预热完成: " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+
+    /**
+     * 推理输入宽度 (相机线程据此转换)，启用校准时由校准结果决定
+     */
+    public int getInferenceWidth() {
+        return inferenceWidth;
+    }
+
+    /**
+     * 相机线程调用：投递转换好的帧，推理线程空闲时立即处理，忙时只保留最新一帧
+     */
+    public void submit(RecognizeTask task) {
+        mailbox.post(task);
+    }
+
+    /**
+     * 相机线程调用：当前帧可用的手部外接框 (整帧归一化坐标)
+     * 未开启跟踪、手已丢失或外接框来自太早的帧时返回 null，调用方应整帧检测
+     */
+    public Rectangle getTrackingBox(long frameTimestampNs) {
+        // 录制引擎对比帧时只送整帧 (见 GestureFrameRecorder)
+        if (ProcessorEnums.INFERENCE_ROI_MODE != InferenceRoiMode.HAND_TRACKING || ProcessorEnums.RECORD_GESTURE_FRAMES)
+            return null;
+        HandTrack hand = getHandTrack(frameTimestampNs);
+        return hand != null ? hand.getBox() : null;
+    }
+
+    /**
+     * 相机线程调用：最近一次识别到的右手，已丢手或来自太早的帧时返回 null
+     */
+    public HandTrack getHandTrack(long frameTimestampNs) {
+        HandTrack hand = trackedHand;
+        if (hand == null)
+            return null;
+        if (SensorClock.toMillis(frameTimestampNs - hand.getFrameTimestampNs()) > ProcessorEnums.TRACKING_ROI_MAX_AGE_MS)
+            return null;
+        return hand;
+    }
+
+    /**
+     * 相机线程调用：跳过推理的帧上由指尖跟踪得到的新位置 (整帧归一化坐标)
+     * 其余字段沿用最近一次推理结果，触发类标志清零 (事件只由推理帧产生)
+     */
+    public void publishTrackedTip(float tipX, float tipY, long frameTimestampNs) {
+        RenderData last = lastRenderData;
+        if (last == null || frameTimestampNs <= last.getFrameTimestampNs())
+            return;
+        RenderData data = copyWithTip(last, tipX, tipY, false);
+        data.setFrameTimestampNs(frameTimestampNs);
+        synchronized (publishLock) {
+            lastTrackedData = data;
+            renderState.publish(data);
         }
     }
 
-    // ✅ 新增：公开查询方法
+    public RenderStateSlot getRenderState() {
+        return renderState;
+    }
+
+    public LatestFrameMailbox getMailbox() {
+        return mailbox;
+    }
+
+    public String inferenceStatsString() {
+        return inferenceStats.statsString(ProcessorEnums.INFERENCE_MODE) + " inFlight=" + inFlight.size();
+    }
+
+    private void inferenceLoop() {
+        Process.setThreadPriority(Process.THREAD_PRIORITY_DISPLAY);
+        setupMediaPipe();
+        while (!Thread.currentThread().isInterrupted()) {
+            RecognizeTask task;
+            try {
+                task = mailbox.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+            // VIDEO 模式在此同步等待结果；LIVE_STREAM 提交后立即取下一帧，结果在回调中处理
+            process(task);
+        }
+        mailbox.clear();
+    }
 
     public RecognizeTask process(RecognizeTask task) {
-        if (task == null || task.getOriginBitmap() == null || gestureRecognizer == null)
+        if (task == null || task.getInputBuffer() == null)
             return task;
-
-        if (!isProcessing.compareAndSet(false, true)) {
-            // 如果被丢帧了，直接回收 Bitmap，防止内存积压
-            task.getOriginBitmap().recycle();
+        BitmapProcessor pool = BitmapProcessor.getInstance();
+        if (handEngine == null) {
+            pool.release(task);
             return task;
         }
 
-        // 保存引用，方便后续回收
-        Bitmap origin = task.getOriginBitmap();
-
+        boolean async = ProcessorEnums.INFERENCE_MODE == InferenceMode.LIVE_STREAM;
         try {
             // FPS 监控
             if (frameCount % 60 == 0) {
-                Log.d(TAG, "📸 处理源: " + origin.getWidth() + "x" + origin.getHeight());
+                Log.d(TAG, "📸 处理源: " + task.getInputWidth() + "x" + task.getInputHeight());
             }
 
-            // 1. 缩放到 400px 进行推理
-            int targetWidth = 400;
-            if (origin.getWidth() > targetWidth) {
-                float scale = (float) targetWidth / origin.getWidth();
-                int targetHeight = (int) (origin.getHeight() * scale);
-
-                if (resizedBitmap == null || resizedBitmap.getWidth() != targetWidth
-                        || resizedBitmap.getHeight() != targetHeight) {
-                    if (resizedBitmap != null)
-                        resizedBitmap.recycle();
-                    resizedBitmap = Bitmap.createBitmap(targetWidth, targetHeight, Bitmap.Config.ARGB_8888);
-                    resizeCanvas = new Canvas(resizedBitmap);
+            // 输入缓冲已是模型输入尺寸的 RGBA，直接包装，不再经过 Bitmap / Canvas 缩放
+            MPImage mpImage = new ByteBufferImageBuilder(task.getInputBuffer(), task.getInputWidth(),
+                    task.getInputHeight(), MPImage.IMAGE_FORMAT_RGBA).build();
+            // 使用帧的传感器时间，丢帧时跟踪器看到的是真实的帧间隔
+            if (task.getFrameTimestampNs() <= 0) {
+                task.setFrameTimestampNs(SensorClock.nowNs());
+            }
+            long timestampMs = Math.max(SensorClock.toMillis(task.getFrameTimestampNs()), lastInferenceTimestampMs + 1);
+            lastInferenceTimestampMs = timestampMs;
+            // 调试录制：提交前拷贝，缓冲归还后就不能再读
+            if (frameRecorder != null) {
+                frameRecorder.record(task);
+            }
+            long submitNs = System.nanoTime();
+            if (async) {
+                // 缓冲在回调前都可能被读取，回调 (或确认被 MediaPipe 丢弃) 后才归还
+                inFlight.put(timestampMs, new InFlight(task, submitNs));
+                try {
+                    handEngine.detectAsync(mpImage, timestampMs);
+                } catch (RuntimeException e) {
+                    inFlight.remove(timestampMs);
+                    throw e;
                 }
-
-                resizeMatrix.reset();
-                resizeMatrix.setScale(scale, scale);
-                resizeCanvas.drawBitmap(origin, resizeMatrix, resizePaint);
-
-                processBitmap(resizedBitmap, task); // 把 task 传进去，以便决定是否保留 origin
-            } else {
-                processBitmap(origin, task);
+                return task;
             }
-
+            HandResult result = handEngine.detectForVideo(mpImage, timestampMs);
+            long latencyNs = System.nanoTime() - submitNs;
+            inferenceStats.record(latencyNs);
+            pool.release(task);
+            processResult(result, task, latencyNs);
         } catch (Exception e) {
-            Log.e(TAG, "Process Error", e);
-            // 出错也要回收
-            if (!origin.isRecycled())
-                origin.recycle();
-        } finally {
-            isProcessing.set(false);
+            Log.e(TAG, "MediaPipe Error", e);
+            // 出错也要归还缓冲
+            pool.release(task);
         }
         return task;
     }
 
-    private void processBitmap(Bitmap inputBitmap, RecognizeTask task) {
+    /**
+     * LIVE_STREAM 结果回调 (MediaPipe 线程)：取回对应的 task 并复用同步模式的处理逻辑
+     * 时间戳更早、仍未回调的帧已被 MediaPipe 内部丢弃，一并归还缓冲
+     */
+    private void onLiveStreamResult(HandResult result) {
+        BitmapProcessor pool = BitmapProcessor.getInstance();
+        long timestampMs = result.timestampMs;
+        InFlight done = null;
+        int skipped = 0;
+        Iterator<Map.Entry<Long, InFlight>> it = inFlight.headMap(timestampMs, true).entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, InFlight> entry = it.next();
+            it.remove();
+            InFlight item = entry.getValue();
+            if (entry.getKey() == timestampMs) {
+                done = item;
+            } else {
+                skipped++;
+                pool.release(item.task);
+            }
+        }
+        if (skipped > 0)
+            inferenceStats.noteEngineDropped(skipped);
+        if (done == null)
+            return;
+
+        long latencyNs = System.nanoTime() - done.submitNs;
+        inferenceStats.record(latencyNs);
+        pool.release(done.task);
         try {
-            MPImage mpImage = new BitmapImageBuilder(inputBitmap).build();
-            long timestamp = System.currentTimeMillis();
-            GestureRecognizerResult result = gestureRecognizer.recognizeForVideo(mpImage, timestamp);
-            processResult(result, task);
+            processResult(result, done.task, latencyNs);
         } catch (Exception e) {
-            Log.e(TAG, "MediaPipe Error", e);
-            // 出错回收
-            if (task.getOriginBitmap() != null && !task.getOriginBitmap().isRecycled()) {
-                task.getOriginBitmap().recycle();
-            }
+            Log.e(TAG, "Result Error", e);
         }
     }
 
-    private void processResult(GestureRecognizerResult result, RecognizeTask task) {
+    private void processResult(HandResult result, RecognizeTask task, long latencyNs) {
+        mailbox.markProcessed();
         frameCount++;
         long now = System.currentTimeMillis();
         if (now - lastFrameTime >= 1000) {
@@ -173,122 +370,120 @@ public class RecognizeProcessor {
         }
 
         // 计算 RenderData
-        RenderData data = calculateRenderData(result);
-
-        // 核心逻辑：是否保留 Bitmap？
-        // 只有当触发了事件（需要拍照/OCR）时，才把 Task 传给 UI
-        boolean shouldKeepBitmap = false;
-        if (data != null && (data.isTriggered() || data.isMicTriggered())) {
-            shouldKeepBitmap = true;
+        long frameTimestampNs = task.getFrameTimestampNs();
+        SensorClock.recordInferenceLatency(frameTimestampNs);
+        // 裁剪输入上的关键点先映射回整帧坐标，后续的悬停 / 按钮判定与整帧检测时完全一致
+        int landmarkCount = mapLandmarks(result, task.getInputRegion());
+        IdleController.getInstance().onInferenceResult(landmarkCount > 0, frameTimestampNs);
+        if (calibrator != null) {
+            // 有手帧的真实耗时复核启动校准 (校准帧里没有手)；超预算时退到更窄的输入宽度，相机线程下一帧生效
+            int narrower = calibrator.onLiveFrame(landmarkCount > 0, latencyNs);
+            if (narrower > 0) {
+                Log.w(TAG, "⏬ 推理输入宽度 " + inferenceWidth + " -> " + narrower);
+                inferenceWidth = narrower;
+            }
         }
-
-        // 更新 UI
-        if (context instanceof MainActivity) {
-            boolean finalShouldKeepBitmap = shouldKeepBitmap;
-            ((MainActivity) context).runOnUiThread(() -> {
-                // 如果需要保留，传 task；否则传 null
-                ((MainActivity) context).updateView(data, finalShouldKeepBitmap ? task : null);
-            });
+        RenderData data = calculateRenderData(result, landmarkCount, frameTimestampNs);
+        if (data != null) {
+            data.setFrameTimestampNs(frameTimestampNs);
         }
+        captureArmed = data != null && (data.getProgress() >= CAPTURE_ARM_PROGRESS || data.isTriggered());
+        lastRenderData = trackedHand != null ? data : null;
+
+        // 更新 UI：连续状态写入最新状态槽 (主线程每帧取一次，积压时旧结果被覆盖)，不再逐帧 post 到主线程
+        synchronized (publishLock) {
+            RenderData tracked = lastTrackedData;
+            if (data != null && tracked != null && tracked.getFrameTimestampNs() > frameTimestampNs) {
+                // 跳帧跟踪已发布了比本帧更新的指尖：保留跟踪位置与更新的时间戳 (光标不回跳、预测按新帧计龄)，
+                // 手势类别、进度等本帧状态照常更新
+                RenderData merged = copyWithTip(data, tracked.getTipX(), tracked.getTipY(), true);
+                merged.setFrameTimestampNs(tracked.getFrameTimestampNs());
+                renderState.publish(merged);
+            } else {
+                renderState.publish(data);
+            }
+        }
+        // 只有触发了事件（需要拍照/OCR）时，才经事件队列把 Task 交给 UI (UI 只用到帧时间戳，输入缓冲此时已归还)
+        if (data != null && data.isTriggered()) {
+            // 捏合时食指会被拇指带偏，拍照以合拢前指向的位置为准 (光标仍用当前指尖)
+            RenderData trigger = data.isPinchTriggered()
+                    ? copyWithTip(data, gestureState.getPinchAnchorX(), gestureState.getPinchAnchorY(), true)
+                    : data;
+            UiEventQueue.getInstance().post(UiEvent.objectTrigger(trigger, task));
+        }
+    }
 
-        // ⚠️ 极其重要：如果 UI 不需要这个 Bitmap，立刻回收！
-        // 这是解决 2FPS 的关键。
-        if (!shouldKeepBitmap && task.getOriginBitmap() != null && !task.getOriginBitmap().isRecycled()) {
-            task.getOriginBitmap().recycle();
+    /**
+     * 复制一份只替换指尖坐标的 RenderData；keepTriggers 为 false 时清掉触发类标志
+     */
+    private static RenderData copyWithTip(RenderData src, float tipX, float tipY, boolean keepTriggers) {
+        RenderData data = new RenderData(tipX, tipY, src.getProgress(), keepTriggers && src.isTriggered(),
+                src.isOpenPalm(), src.getCategory(), src.isMicHovered(), src.getMicProgress(),
+                keepTriggers && src.isMicTriggered());
+        data.setPinchTriggered(keepTriggers && src.isPinchTriggered());
+        data.setHandSize(src.getHandWidth(), src.getHandHeight());
+        data.setFrameTimestampNs(src.getFrameTimestampNs());
+        return data;
+    }
+
+    /**
+     * 把第一只手的关键点从推理输入坐标映射到整帧归一化坐标，写入 landmarkX / landmarkY
+     *
+     * @param region 推理输入在整帧中的区域，null 表示输入就是整帧
+     * @return 关键点个数，未识别到手时为 0
+     */
+    private int mapLandmarks(HandResult result, Rectangle region) {
+        if (result == null || result.landmarks == null)
+            return 0;
+        List<NormalizedLandmark> landmarks = result.landmarks;
+        int count = Math.min(landmarks.size(), LANDMARK_COUNT);
+        float left = region != null ? region.getX1() : 0f;
+        float top = region != null ? region.getY1() : 0f;
+        float width = region != null ? region.getWidth() : 1f;
+        float height = region != null ? region.getHeight() : 1f;
+        for (int i = 0; i < count; i++) {
+            NormalizedLandmark landmark = landmarks.get(i);
+            landmarkX[i] = left + landmark.x() * width;
+            landmarkY[i] = top + landmark.y() * height;
         }
+        return count;
     }
 
     // 将数据计算逻辑提取出来，保持代码整洁
-    private RenderData calculateRenderData(GestureRecognizerResult result) {
-        if (result == null || result.landmarks().isEmpty()) {
-            // if (frameCount % 30 == 0) {
-            // Log.w(TAG, "⚠️ 手势识别结果为空: result=" + (result == null) + ", landmarks=" +
-            // (result != null ? result.landmarks().size() : "null"));
-            // }
-            hoverStartTime = 0;
-            micHoverStartTime = 0;
+    // 关键点已由 mapLandmarks 映射到整帧坐标；过滤、滤波与悬停计时都在 GestureStateMachine 中完成
+    private RenderData calculateRenderData(HandResult result, int landmarkCount, long frameTimestampNs) {
+        GestureCategory category = result != null ? result.category : GestureCategory.NONE;
+
+        GestureState state = gestureState;
+        gestureMachine.update(landmarkX, landmarkY, landmarkCount, category, frameTimestampNs, state);
+
+        if (state.getHandStatus() == GestureState.HAND_NONE) {
+            // 丢手：下一帧回退整帧检测
+            trackedHand = null;
             // ⚠️ 返回默认RenderData而不是null，这样硬件拍照触发时有指尖坐标可用
             // 使用屏幕中心作为默认指尖位置
             return new RenderData(1.0f, 1.0f, 0f, false, false, "None", false, 0f, false);
         }
-
-        String categoryName = "None";
-        boolean isOpenPalm = false;
-        boolean isVictory = false;
-        boolean isThumbUp = false;
-        if (!result.gestures().isEmpty() && !result.gestures().get(0).isEmpty()) {
-            categoryName = result.gestures().get(0).get(0).categoryName();
-            isOpenPalm = "Open_Palm".equals(categoryName);
-            isVictory = "Victory".equals(categoryName);
-            isThumbUp = "Thumb_Up".equals(categoryName);
+        if (!state.isTracked()) {
+            // 用户的左手 (或关键点不全)，忽略，也不跟踪，下一帧整帧检测去找右手
+            trackedHand = null;
+            return null;
         }
 
-        List<NormalizedLandmark> landmarks = result.landmarks().get(0);
-        if (landmarks.size() > 8) {
-            // ✅ 只识别右手（用户视角）：基于手腕位置判断
-            // landmark[0] 是手腕，前置摄像头是镜像的
-            // 手腕 X < 0.5 说明在画面左侧 = 用户的左手 → 忽略
-            NormalizedLandmark wrist = landmarks.get(0);
-            if (wrist.x() < 0.5f) {
-                // 这是用户的左手，忽略
-                hoverStartTime = 0;
-                micHoverStartTime = 0;
-                return null;
-            }
-
-            NormalizedLandmark indexTip = landmarks.get(8);
-            float cx = indexTip.x();
-            float cy = indexTip.y();
-            // Log.d(TAG, "✅ 指尖坐标: X=" + String.format("%.3f", cx) + ", Y=" +
-            // String.format("%.3f", cy) + ", 手势=" + categoryName);
-            boolean isObjTriggered = false;
-            float objProgress = 0f;
-            boolean isMicHovered = false;
-            boolean isMicTriggered = false;
-            float micProgress = 0f;
-
-            if (isOpenPalm) {
-                hoverStartTime = 0;
-                micHoverStartTime = 0;
-            } else {
-                if (cx > BUTTON_AREA_X && cy > BUTTON_AREA_Y) {
-                    isMicHovered = true;
-                    hoverStartTime = 0;
-                    if (micHoverStartTime == 0) {
-                        micHoverStartTime = System.currentTimeMillis();
-                    } else {
-                        long duration = System.currentTimeMillis() - micHoverStartTime;
-                        micProgress = Math.min(1.0f, (float) duration / HOVER_DURATION);
-                        if (duration >= HOVER_DURATION) {
-                            isMicTriggered = true;
-                            micHoverStartTime = 0;
-                        }
-                    }
-                } else {
-                    isMicHovered = false;
-                    micHoverStartTime = 0;
-                    double distance = Math.sqrt(Math.pow(cx - lastX, 2) + Math.pow(cy - lastY, 2));
-                    if (distance < MOVE_THRESHOLD) {
-                        if (hoverStartTime == 0) {
-                            hoverStartTime = System.currentTimeMillis();
-                        } else {
-                            long duration = System.currentTimeMillis() - hoverStartTime;
-                            objProgress = Math.min(1.0f, (float) duration / HOVER_DURATION);
-                            if (duration >= HOVER_DURATION) {
-                                isObjTriggered = true;
-                                hoverStartTime = System.currentTimeMillis() + 2000;
-                            }
-                        }
-                    } else {
-                        hoverStartTime = 0;
-                    }
-                }
-            }
-            lastX = cx;
-            lastY = cy;
-            return new RenderData(cx, cy, objProgress, isObjTriggered, isOpenPalm, categoryName,
-                    isMicHovered, micProgress, isMicTriggered);
-        }
-        return null;
+        // RenderData 保留原始指尖坐标 (渲染端有自己的滤波与预测)
+        boolean isMicHovered = state.getRegion() == MIC_REGION;
+        // 拍照进度取悬停与捏合合拢中较大者 (同一个读条 / armed 判定)
+        float captureProgress = Math.max(state.getDwellProgress(), state.getPinchProgress());
+        RenderData data = new RenderData(state.getTipX(), state.getTipY(), captureProgress,
+                state.isCaptureTriggered(), state.getCategory() == GestureCategory.OPEN_PALM,
+                state.getCategory().getLabel(), isMicHovered, isMicHovered ? state.getRegionProgress() : 0f,
+                isMicHovered && state.isRegionTriggered());
+        data.setPinchTriggered(state.isPinchTriggered());
+        // 手部外接框 (归一化)，供自适应拍照区域与下一帧的跟踪裁剪使用
+        data.setHandSize(state.getHandWidth(), state.getHandHeight());
+        trackedHand = new HandTrack(new Rectangle(state.getHandLeft(), state.getHandTop(),
+                state.getHandRight(), state.getHandBottom()), state.getTipX(), state.getTipY(),
+                state.getTipSpeed(), state.getPinchProgress(), frameTimestampNs);
+        return data;
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,20 @@
 package com.narc.arclient.process.processor;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.RecordingCanvas;
 import android.graphics.RectF;
+import android.graphics.RenderNode;
 import android.util.Log;
 import com.narc.arclient.entity.RenderData;
+import com.narc.arclient.entity.UiEvent;
+import com.narc.arclient.enums.UiEventType;
+import com.narc.arclient.process.UiEventQueue;
+import com.narc.arclient.utils.CursorFilter;
+import com.narc.arclient.utils.SensorClock;
 
 public class RenderProcessor {
 
@@ -27,27 +35,61 @@ public class RenderProcessor {
     private Paint paintBtnHover; // 按钮悬停读条 (赛博黄)
     private Paint paintBtnShadow; // 按钮投影
     private Paint paintBtnHighlight; // 按钮高光描边
-
-    // 平滑滤波变量
-    private float smoothX = -1f;
-    private float smoothY = -1f;
+    private Paint paintSubtitleFill; // 字幕按钮青色 (实心)
+    private Paint paintSubtitleText; // 字幕按钮 "CC" 字样
+    private Paint paintSprite; // 贴按钮精灵
+
+    // 按钮精灵：静态部分 (含阴影) 预渲染一次，圆心在 (SPRITE_HALF, SPRITE_HALF)
+    private Bitmap spriteMicIdle;
+    private Bitmap spriteMicOn;
+    private Bitmap spriteSubtitleIdle;
+    private Bitmap spriteSubtitleOn;
+    // 读条复用的外接矩形，draw 中不分配对象
+    private final RectF arcRect = new RectF();
+
+    // 单眼内容每帧录制一次，左右眼各回放一次
+    private final RenderNode eyeNode = new RenderNode("eyeOverlay");
+    private int eyeNodeWidth = -1;
+    private int eyeNodeHeight = -1;
+    // 左右眼水平视差 (像素)，见 setEyeDisparity
+    private float eyeDisparityPx = 0f;
+    // 按钮圆心 (单眼局部坐标)，layoutButtons 每帧更新
+    private float btnX;
+    private float btnY;
+    private float subtitleBtnX;
+    private float subtitleBtnY;
+
+    // 光标滤波 (单眼局部像素坐标)：每个新识别帧推进一次，两只眼共用同一个结果
+    private final CursorFilter cursorFilter = new CursorFilter(CURSOR_MIN_CUTOFF, CURSOR_BETA,
+            CURSOR_DERIVATIVE_CUTOFF, FAST_SNAP_DISTANCE);
+    // 已送入滤波器的最新帧
+    private long lastFilteredFrameNs = 0;
+    // 本次绘制的光标位置 (单眼局部坐标，已钳位)，draw 中每帧计算一次
+    private float cursorLocalX = -1f;
+    private float cursorLocalY = -1f;
 
     // 参数
     private static final float SCALE_X = 1.6f;
     private static final float SCALE_Y = 1.2f;
     private static final float OFFSET_X = -170f;
     private static final float OFFSET_Y = -150f;
-    private static final float MIN_FACTOR = 0.2f;
-    private static final float MAX_FACTOR = 1.0f;
-    private static final float JITTER_THRESHOLD = 2.0f;
-    private static final float MOVE_THRESHOLD = 40.0f;
+    // One-Euro：静止 1Hz 截止压抖动，速度每 100px/s 提高 1Hz 截止保证跟手
+    private static final float CURSOR_MIN_CUTOFF = 1.0f;
+    private static final float CURSOR_BETA = 0.01f;
+    private static final float CURSOR_DERIVATIVE_CUTOFF = 1.0f;
     private static final float FAST_SNAP_DISTANCE = 180.0f;
+    private static final float BTN_RADIUS = 40f;
+    private static final float RING_GAP = 12f;
+    // 精灵半边长：最大圆环 (1.3 倍半径 + 投影外扩 3) 加阴影模糊半径 14 与下移 8，取整留余量
+    private static final int SPRITE_HALF = 80;
+    private static final int COLOR_PROGRESS_LOCKED = 0xFFAAAAAA;
 
     // 交互状态管理
     private boolean isMicOn = false;
     private boolean isLocked = false; // 识别后锁定，不再显示进度
     private float closeProgress = 0f; // 张手关闭的进度
     private boolean isHoveringBtn = false;
+    // 按钮悬停 / 冷却计时均为帧的传感器时钟毫秒
     private long hoverStartTime = 0;
     private float hoverProgress = 0f;
     private static final long HOVER_TIME_MS = 1000;
@@ -84,9 +126,26 @@ public class RenderProcessor {
         this.subtitleMockListener = listener;
     }
 
+    /**
+     * 主线程每帧开始时调用：把 draw 中产生的按钮点击事件交给监听者
+     */
+    public void dispatchClick(UiEvent event) {
+        if (event.getType() == UiEventType.MIC_CLICK) {
+            if (micListener != null) {
+                micListener.onMicClick(event.isOn());
+            } else {
+                Log.w(TAG, "⚠️ micListener 为空，无法触发回调");
+            }
+        } else if (event.getType() == UiEventType.SUBTITLE_CLICK) {
+            if (subtitleMockListener != null)
+                subtitleMockListener.onSubtitleMockClick(event.isOn());
+        }
+    }
+
     private RenderProcessor(Context context) {
         this.context = context;
         initPaints();
+        buildSprites();
     }
 
     public static void init(Context context) {
@@ -102,6 +161,9 @@ public class RenderProcessor {
         this.renderData = data;
     }
 
+    // 上一次记录上屏延迟的帧，每个新帧只记录一次
+    private long lastDrawnFrameNs = 0;
+
     public void setMicState(boolean isOn) {
         this.isMicOn = isOn;
         isHoveringBtn = false;
@@ -199,39 +261,108 @@ public class RenderProcessor {
         paintBtnHighlight.setStrokeWidth(3f);
         paintBtnHighlight.setAlpha(60);
         paintBtnHighlight.setAntiAlias(true);
+
+        // 7. 字幕按钮主体青色与 "CC" 字样 (只在预渲染精灵时使用)
+        paintSubtitleFill = new Paint();
+        paintSubtitleFill.setColor(Color.parseColor("#00C7BE")); // 青色
+        paintSubtitleFill.setStyle(Paint.Style.FILL);
+        paintSubtitleFill.setAntiAlias(true);
+        paintSubtitleFill.setShadowLayer(10f, 0f, 4f, 0x33000000);
+
+        paintSubtitleText = new Paint();
+        paintSubtitleText.setColor(Color.WHITE);
+        paintSubtitleText.setTextAlign(Paint.Align.CENTER);
+        paintSubtitleText.setAntiAlias(true);
+        paintSubtitleText.setFakeBoldText(true);
+
+        paintSprite = new Paint();
     }
 
+    /**
+     * 每个 vsync 调用一次：先推进光标、悬停与命中状态 (只推进一次)，再把单眼内容录制一次，
+     * 按左右眼偏移 (加上可选的视差) 各回放一次
+     */
     public void draw(Canvas canvas) {
         if (canvas == null)
             return;
         int w = canvas.getWidth();
         int h = canvas.getHeight();
         int halfW = w / 2;
-        drawEye(canvas, 0, halfW, h, true); // 左眼
-        drawEye(canvas, halfW, halfW, h, false); // 右眼
+        // 光标滤波与预测、按钮命中每帧只算一次，与刷新率无关；两只眼绘制同一内容
+        updateCursor(halfW, h);
+        layoutButtons(halfW, h);
+        updateHover();
+
+        float halfDisparity = eyeDisparityPx / 2f;
+        if (canvas.isHardwareAccelerated()) {
+            recordEye(halfW, h);
+            replayEye(canvas, 0, halfW, h, halfDisparity); // 左眼
+            replayEye(canvas, halfW, halfW, h, -halfDisparity); // 右眼
+        } else {
+            // 软件画布不能回放 RenderNode，按同一状态直接画两遍
+            drawEyeDirect(canvas, 0, halfW, h, halfDisparity);
+            drawEyeDirect(canvas, halfW, halfW, h, -halfDisparity);
+        }
+
+        RenderData data = renderData;
+        if (data != null && data.getFrameTimestampNs() > 0 && data.getFrameTimestampNs() != lastDrawnFrameNs) {
+            lastDrawnFrameNs = data.getFrameTimestampNs();
+            SensorClock.recordDisplayLatency(lastDrawnFrameNs);
+        }
     }
 
-    private void drawEye(Canvas canvas, int offsetX, int w, int h, boolean isLeftEye) {
-        // ================= 1. 位置定义 =================
-        // 麦克风按钮 (左上角)
-        float btnLocalX = w * 0.12f;
-        float btnY = h * 0.25f;
-        float btnRadius = 40f;
-        float realBtnX = offsetX + btnLocalX;
+    /**
+     * 左右眼的水平视差 (像素)：左眼内容右移一半、右眼左移一半，正值让叠加层显得更近；0 为无视差
+     */
+    public void setEyeDisparity(float disparityPx) {
+        this.eyeDisparityPx = disparityPx;
+    }
 
-        // 字幕模拟按钮 (右上角)
-        float subtitleBtnLocalX = w * 0.88f;
-        float subtitleBtnY = h * 0.25f;
-        float subtitleBtnRadius = 40f;
-        float realSubtitleBtnX = offsetX + subtitleBtnLocalX;
+    // 单眼内容录制进 RenderNode (单眼局部坐标)，节点边界即单眼区域
+    private void recordEye(int w, int h) {
+        if (w != eyeNodeWidth || h != eyeNodeHeight) {
+            eyeNode.setPosition(0, 0, w, h);
+            eyeNodeWidth = w;
+            eyeNodeHeight = h;
+        }
+        RecordingCanvas recording = eyeNode.beginRecording(w, h);
+        try {
+            drawEyeContent(recording);
+        } finally {
+            eyeNode.endRecording();
+        }
+    }
 
-        // ================= 2. 坐标计算 =================
-        float clampedLocalX = smoothX;
-        float clampedLocalY = smoothY;
+    // 裁剪到该眼所在的半边，再按偏移 + 视差回放同一份录制内容
+    private void replayEye(Canvas canvas, int offsetX, int w, int h, float disparity) {
+        int save = canvas.save();
+        canvas.clipRect(offsetX, 0, offsetX + w, h);
+        canvas.translate(offsetX + disparity, 0f);
+        canvas.drawRenderNode(eyeNode);
+        canvas.restoreToCount(save);
+    }
 
-        if (renderData != null) {
-            float normalizedX = renderData.getTipX();
-            float normalizedY = renderData.getTipY();
+    private void drawEyeDirect(Canvas canvas, int offsetX, int w, int h, float disparity) {
+        int save = canvas.save();
+        canvas.clipRect(offsetX, 0, offsetX + w, h);
+        canvas.translate(offsetX + disparity, 0f);
+        drawEyeContent(canvas);
+        canvas.restoreToCount(save);
+    }
+
+    /**
+     * 新识别帧到来时把指尖映射到单眼局部坐标并推进滤波器 (按帧的传感器时间戳)，
+     * 然后按该帧从曝光到现在的延迟沿速度外推，光标补偿掉整条流水线的滞后
+     */
+    private void updateCursor(int w, int h) {
+        RenderData data = renderData;
+        if (data == null)
+            return;
+        long frameTimestampNs = data.getFrameTimestampNs();
+        if (frameTimestampNs <= 0 || frameTimestampNs != lastFilteredFrameNs) {
+            lastFilteredFrameNs = frameTimestampNs;
+            float normalizedX = data.getTipX();
+            float normalizedY = data.getTipY();
             float inputMinX = 0.15f;
             float inputMaxX = 0.85f;
             float inputMinY = 0.15f;
@@ -244,215 +375,223 @@ public class RenderProcessor {
             float centeredY = (remappedY - 0.5f) * SCALE_Y + 0.5f;
             float targetLocalX = centeredX * w + OFFSET_X;
             float targetY = centeredY * h + OFFSET_Y;
+            // 没有传感器时间戳的数据 (硬件触发等) 用当前时间，仍与帧时间戳同一时基
+            cursorFilter.update(targetLocalX, targetY, frameTimestampNs > 0 ? frameTimestampNs : SensorClock.nowNs());
+        }
 
-            if (smoothX < 0 || smoothY < 0) {
-                smoothX = targetLocalX;
-                smoothY = targetY;
+        float x = cursorFilter.getX();
+        float y = cursorFilter.getY();
+        if (frameTimestampNs > 0) {
+            // 外推时长由 CursorFilter 限制在 MAX_PREDICTION_NS 以内
+            long horizonNs = SensorClock.ageNs(frameTimestampNs);
+            x = cursorFilter.predictX(horizonNs);
+            y = cursorFilter.predictY(horizonNs);
+        }
+        cursorLocalX = Math.max(30f, Math.min(w - 30f, x));
+        cursorLocalY = Math.max(30f, Math.min(h - 30f, y));
+    }
+
+    // 按钮位置 (单眼局部坐标)，随画布尺寸变化
+    private void layoutButtons(int w, int h) {
+        // 麦克风按钮 (左上角)
+        btnX = w * 0.12f;
+        btnY = h * 0.25f;
+        // 字幕模拟按钮 (右上角)
+        subtitleBtnX = w * 0.88f;
+        subtitleBtnY = h * 0.25f;
+    }
+
+    /**
+     * 碰撞检测 (含防误触冷却)：每帧只推进一次，点击经事件队列在下一帧开始时分发
+     */
+    private void updateHover() {
+        RenderData data = renderData;
+        if (isLocked || data == null)
+            return;
+        // 已在 updateCursor 中完成滤波与预测
+        float clampedLocalX = cursorLocalX;
+        float clampedLocalY = cursorLocalY;
+        // 计时跟随帧的传感器时间：同一帧被多次绘制时进度不变，丢帧时也不会少算
+        long frameTimeMs = SensorClock.toMillis(data.getFrameTimestampNs());
+
+        // 麦克风按钮检测
+        float dist = (float) Math.hypot(clampedLocalX - btnX, clampedLocalY - btnY);
+        boolean inCooldown = (frameTimeMs - lastTriggerTime) < COOLDOWN_MS;
+
+        if (dist < (BTN_RADIUS + 30f + 15f) && !inCooldown) {
+            if (!isHoveringBtn) {
+                isHoveringBtn = true;
+                hoverStartTime = frameTimeMs;
             } else {
-                float dx = targetLocalX - smoothX;
-                float dy = targetY - smoothY;
-                float distance = (float) Math.sqrt(dx * dx + dy * dy);
-                if (distance > FAST_SNAP_DISTANCE) {
-                    smoothX = targetLocalX;
-                    smoothY = targetY;
-                } else {
-                    float currentFactor;
-                    if (distance < JITTER_THRESHOLD)
-                        currentFactor = MIN_FACTOR;
-                    else if (distance > MOVE_THRESHOLD)
-                        currentFactor = MAX_FACTOR;
-                    else {
-                        float progress = (distance - JITTER_THRESHOLD) / (MOVE_THRESHOLD - JITTER_THRESHOLD);
-                        currentFactor = MIN_FACTOR + progress * (MAX_FACTOR - MIN_FACTOR);
-                    }
-                    smoothX = smoothX + dx * currentFactor;
-                    smoothY = smoothY + dy * currentFactor;
+                long duration = frameTimeMs - hoverStartTime;
+                hoverProgress = Math.min(1.0f, (float) duration / HOVER_TIME_MS);
+
+                if (duration >= HOVER_TIME_MS) {
+                    Log.d(TAG, "🎤 麦克风按钮触发: " + !isMicOn);
+                    // 绘制过程中不直接改 View，点击经事件队列在下一帧开始时分发
+                    UiEventQueue.getInstance().post(UiEvent.click(UiEventType.MIC_CLICK, !isMicOn));
+                    lastTriggerTime = frameTimeMs;
+                    isHoveringBtn = false;
+                    hoverProgress = 0f;
+                    hoverStartTime = 0;
                 }
             }
-            clampedLocalX = Math.max(30f, Math.min(w - 30f, smoothX));
-            clampedLocalY = Math.max(30f, Math.min(h - 30f, smoothY));
+        } else {
+            isHoveringBtn = false;
+            hoverProgress = 0f;
         }
 
-        // ================= 3. 碰撞检测 (含防误触冷却) =================
-        if (!isLocked && isLeftEye && renderData != null) {
-            // 麦克风按钮检测
-            float dist = (float) Math.hypot(clampedLocalX - btnLocalX, clampedLocalY - btnY);
-            boolean inCooldown = (System.currentTimeMillis() - lastTriggerTime) < COOLDOWN_MS;
-
-            if (dist < (btnRadius + 30f + 15f) && !inCooldown) {
-                if (!isHoveringBtn) {
-                    isHoveringBtn = true;
-                    hoverStartTime = System.currentTimeMillis();
-                } else {
-                    long duration = System.currentTimeMillis() - hoverStartTime;
-                    hoverProgress = Math.min(1.0f, (float) duration / HOVER_TIME_MS);
-
-                    if (duration >= HOVER_TIME_MS) {
-                        Log.d(TAG, "🎤 麦克风按钮触发: " + !isMicOn);
-                        if (micListener != null) {
-                            micListener.onMicClick(!isMicOn);
-                        } else {
-                            Log.w(TAG, "⚠️ micListener 为空，无法触发回调");
-                        }
-                        lastTriggerTime = System.currentTimeMillis();
-                        isHoveringBtn = false;
-                        hoverProgress = 0f;
-                        hoverStartTime = 0;
-                    }
-                }
-            } else {
-                isHoveringBtn = false;
-                hoverProgress = 0f;
-            }
+        // 字幕模拟按钮检测
+        float subtitleDist = (float) Math.hypot(clampedLocalX - subtitleBtnX, clampedLocalY - subtitleBtnY);
+        boolean subtitleInCooldown = (frameTimeMs - lastSubtitleTriggerTime) < COOLDOWN_MS;
 
-            // 字幕模拟按钮检测
-            float subtitleDist = (float) Math.hypot(clampedLocalX - subtitleBtnLocalX, clampedLocalY - subtitleBtnY);
-            boolean subtitleInCooldown = (System.currentTimeMillis() - lastSubtitleTriggerTime) < COOLDOWN_MS;
-
-            if (subtitleDist < (subtitleBtnRadius + 30f + 15f) && !subtitleInCooldown) {
-                if (!isHoveringSubtitleBtn) {
-                    isHoveringSubtitleBtn = true;
-                    subtitleHoverStartTime = System.currentTimeMillis();
-                } else {
-                    long duration = System.currentTimeMillis() - subtitleHoverStartTime;
-                    subtitleHoverProgress = Math.min(1.0f, (float) duration / HOVER_TIME_MS);
-
-                    if (duration >= HOVER_TIME_MS) {
-                        if (subtitleMockListener != null)
-                            subtitleMockListener.onSubtitleMockClick(!isSubtitleMockOn);
-                        lastSubtitleTriggerTime = System.currentTimeMillis();
-                        isHoveringSubtitleBtn = false;
-                        subtitleHoverProgress = 0f;
-                        subtitleHoverStartTime = 0;
-                    }
-                }
+        if (subtitleDist < (BTN_RADIUS + 30f + 15f) && !subtitleInCooldown) {
+            if (!isHoveringSubtitleBtn) {
+                isHoveringSubtitleBtn = true;
+                subtitleHoverStartTime = frameTimeMs;
             } else {
-                isHoveringSubtitleBtn = false;
-                subtitleHoverProgress = 0f;
+                long duration = frameTimeMs - subtitleHoverStartTime;
+                subtitleHoverProgress = Math.min(1.0f, (float) duration / HOVER_TIME_MS);
+
+                if (duration >= HOVER_TIME_MS) {
+                    UiEventQueue.getInstance().post(UiEvent.click(UiEventType.SUBTITLE_CLICK, !isSubtitleMockOn));
+                    lastSubtitleTriggerTime = frameTimeMs;
+                    isHoveringSubtitleBtn = false;
+                    subtitleHoverProgress = 0f;
+                    subtitleHoverStartTime = 0;
+                }
             }
+        } else {
+            isHoveringSubtitleBtn = false;
+            subtitleHoverProgress = 0f;
         }
+    }
 
+    /**
+     * 单眼内容 (单眼局部坐标)：只读取本帧已推进好的状态，不修改任何状态，可以画任意多次
+     */
+    private void drawEyeContent(Canvas canvas) {
         // ================= 4. UI 绘制 =================
+        // 按钮本体是预渲染好的精灵位图 (含阴影)，每帧只贴图；动态部分只剩读条与光标
 
         // A. 麦克风按钮悬停黄色读条
         if (!isLocked && isHoveringBtn && hoverProgress > 0) {
-            float ringGap = 12f;
-            float progressRadius;
-            if (!isMicOn) {
-                progressRadius = btnRadius + ringGap;
-            } else {
-                progressRadius = (btnRadius * 1.3f) + ringGap;
-            }
-            RectF progressRect = new RectF(
-                    realBtnX - progressRadius, btnY - progressRadius,
-                    realBtnX + progressRadius, btnY + progressRadius);
-            canvas.drawArc(progressRect, -90, hoverProgress * 360, false, paintBtnHover);
+            float progressRadius = (isMicOn ? BTN_RADIUS * 1.3f : BTN_RADIUS) + RING_GAP;
+            drawProgressArc(canvas, btnX, btnY, progressRadius, hoverProgress, paintBtnHover);
         }
 
         // B. 麦克风按钮本体
-        if (!isMicOn) {
-            // === 待机模式 ===
-            canvas.drawCircle(realBtnX, btnY + 2f, btnRadius + 3f, paintBtnShadow); // 投影
-            canvas.drawCircle(realBtnX, btnY, btnRadius, paintWhiteRing);
-            canvas.drawCircle(realBtnX, btnY, btnRadius - 4f, paintRedFill);
-            canvas.drawCircle(realBtnX, btnY, btnRadius - 7f, paintBtnHighlight);
-        } else {
-            // === 录音模式 ===
-            float largeRingRadius = btnRadius * 1.3f;
-            canvas.drawCircle(realBtnX, btnY + 2f, largeRingRadius + 3f, paintBtnShadow); // 投影
-            canvas.drawCircle(realBtnX, btnY, largeRingRadius, paintWhiteRing);
-
-            float squareSize = btnRadius * 0.9f;
-            float halfSize = squareSize / 2f;
-            RectF stopRect = new RectF(
-                    realBtnX - halfSize, btnY - halfSize,
-                    realBtnX + halfSize, btnY + halfSize);
-            canvas.drawRoundRect(stopRect, squareSize * 0.2f, squareSize * 0.2f, paintRedFill);
-            canvas.drawRoundRect(stopRect, squareSize * 0.2f, squareSize * 0.2f, paintBtnHighlight);
-        }
+        drawSprite(canvas, isMicOn ? spriteMicOn : spriteMicIdle, btnX, btnY);
 
         // C. 字幕模拟按钮悬停黄色读条
         if (!isLocked && isHoveringSubtitleBtn && subtitleHoverProgress > 0) {
-            float ringGap = 12f;
-            float progressRadius;
-            if (!isSubtitleMockOn) {
-                progressRadius = subtitleBtnRadius + ringGap;
-            } else {
-                progressRadius = (subtitleBtnRadius * 1.3f) + ringGap;
-            }
-            RectF progressRect = new RectF(
-                    realSubtitleBtnX - progressRadius, subtitleBtnY - progressRadius,
-                    realSubtitleBtnX + progressRadius, subtitleBtnY + progressRadius);
-            canvas.drawArc(progressRect, -90, subtitleHoverProgress * 360, false, paintBtnHover);
+            float progressRadius = (isSubtitleMockOn ? BTN_RADIUS * 1.3f : BTN_RADIUS) + RING_GAP;
+            drawProgressArc(canvas, subtitleBtnX, subtitleBtnY, progressRadius, subtitleHoverProgress,
+                    paintBtnHover);
         }
 
         // D. 字幕模拟按钮本体
-        Paint paintSubtitleFill = new Paint();
-        paintSubtitleFill.setColor(Color.parseColor("#00C7BE")); // 青色
-        paintSubtitleFill.setStyle(Paint.Style.FILL);
-        paintSubtitleFill.setAntiAlias(true);
-        paintSubtitleFill.setShadowLayer(10f, 0f, 4f, 0x33000000);
-
-        if (!isSubtitleMockOn) {
-            // === 待机模式 ===
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY + 2f, subtitleBtnRadius + 3f, paintBtnShadow);
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY, subtitleBtnRadius, paintWhiteRing);
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY, subtitleBtnRadius - 4f, paintSubtitleFill);
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY, subtitleBtnRadius - 7f, paintBtnHighlight);
-
-            // 绘制 "CC" 字样
-            Paint textPaint = new Paint();
-            textPaint.setColor(Color.WHITE);
-            textPaint.setTextSize(28f);
-            textPaint.setTextAlign(Paint.Align.CENTER);
-            textPaint.setAntiAlias(true);
-            textPaint.setFakeBoldText(true);
-            canvas.drawText("CC", realSubtitleBtnX, subtitleBtnY + 10f, textPaint);
-        } else {
-            // === 开启模式 ===
-            float largeRingRadius = subtitleBtnRadius * 1.3f;
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY + 2f, largeRingRadius + 3f, paintBtnShadow);
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY, largeRingRadius, paintWhiteRing);
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY, subtitleBtnRadius, paintSubtitleFill);
-            canvas.drawCircle(realSubtitleBtnX, subtitleBtnY, subtitleBtnRadius - 4f, paintBtnHighlight);
-
-            // 绘制 "CC" 字样（更大）
-            Paint textPaint = new Paint();
-            textPaint.setColor(Color.WHITE);
-            textPaint.setTextSize(32f);
-            textPaint.setTextAlign(Paint.Align.CENTER);
-            textPaint.setAntiAlias(true);
-            textPaint.setFakeBoldText(true);
-            canvas.drawText("CC", realSubtitleBtnX, subtitleBtnY + 11f, textPaint);
-        }
+        drawSprite(canvas, isSubtitleMockOn ? spriteSubtitleOn : spriteSubtitleIdle, subtitleBtnX, subtitleBtnY);
 
         // E. 指尖光标
         if (renderData != null) {
-            float realCursorX = offsetX + clampedLocalX;
-            float realCursorY = clampedLocalY;
+            float cursorX = cursorLocalX;
+            float cursorY = cursorLocalY;
             // 柔和光晕（不改变主色）
-            canvas.drawCircle(realCursorX, realCursorY, 40f, paintCursorGlow);
+            canvas.drawCircle(cursorX, cursorY, 40f, paintCursorGlow);
             // 主体描边
-            canvas.drawCircle(realCursorX, realCursorY, 30f, paintCursor);
+            canvas.drawCircle(cursorX, cursorY, 30f, paintCursor);
 
             // 进度颜色：未锁定显示绿色，锁定时改为更亮的灰色提示“冻结”
-            if (isLocked) {
-                paintCursorProgress.setColor(Color.parseColor("#AAAAAA"));
-            } else {
-                paintCursorProgress.setColor(Color.GREEN);
-            }
+            paintCursorProgress.setColor(isLocked ? COLOR_PROGRESS_LOCKED : Color.GREEN);
 
             // 物体识别进度条 (仅在不悬停任何按钮且未锁定时显示)
             if (!isLocked && renderData.getProgress() > 0 && !isHoveringBtn && !isHoveringSubtitleBtn) {
-                RectF rect = new RectF(realCursorX - 30, realCursorY - 30, realCursorX + 30, realCursorY + 30);
-                canvas.drawArc(rect, -90, renderData.getProgress() * 360, false, paintCursorProgress);
+                drawProgressArc(canvas, cursorX, cursorY, 30f, renderData.getProgress(), paintCursorProgress);
             }
 
             // 张手关闭读条（锁定期间可见），优先绘制红色
             if (closeProgress > 0f) {
-                RectF rect = new RectF(realCursorX - 34, realCursorY - 34, realCursorX + 34, realCursorY + 34);
-                canvas.drawArc(rect, -90, closeProgress * 360, false, paintCloseProgress);
+                drawProgressArc(canvas, cursorX, cursorY, 34f, closeProgress, paintCloseProgress);
             }
         }
     }
-}
\ No newline at end of file
+
+    // 从 12 点方向顺时针画进度弧，复用同一个 RectF
+    private void drawProgressArc(Canvas canvas, float cx, float cy, float radius, float progress, Paint paint) {
+        arcRect.set(cx - radius, cy - radius, cx + radius, cy + radius);
+        canvas.drawArc(arcRect, -90, progress * 360, false, paint);
+    }
+
+    // 精灵圆心对齐到整像素贴图，不经过插值，与直接绘制的清晰度一致
+    private void drawSprite(Canvas canvas, Bitmap sprite, float cx, float cy) {
+        canvas.drawBitmap(sprite, Math.round(cx) - SPRITE_HALF, Math.round(cy) - SPRITE_HALF, paintSprite);
+    }
+
+    /**
+     * 预渲染四个按钮精灵 (麦克风 / 字幕 × 待机 / 开启)：带阴影的圆在软件画布上只栅格化一次，
+     * 之后每帧两只眼各贴一次图，不再逐帧计算阴影模糊
+     */
+    private void buildSprites() {
+        spriteMicIdle = newSprite();
+        drawMicButton(new Canvas(spriteMicIdle), false);
+        spriteMicOn = newSprite();
+        drawMicButton(new Canvas(spriteMicOn), true);
+        spriteSubtitleIdle = newSprite();
+        drawSubtitleButton(new Canvas(spriteSubtitleIdle), false);
+        spriteSubtitleOn = newSprite();
+        drawSubtitleButton(new Canvas(spriteSubtitleOn), true);
+    }
+
+    private static Bitmap newSprite() {
+        return Bitmap.createBitmap(SPRITE_HALF * 2, SPRITE_HALF * 2, Bitmap.Config.ARGB_8888);
+    }
+
+    private void drawMicButton(Canvas canvas, boolean isOn) {
+        float c = SPRITE_HALF;
+        if (!isOn) {
+            // === 待机模式 ===
+            canvas.drawCircle(c, c + 2f, BTN_RADIUS + 3f, paintBtnShadow); // 投影
+            canvas.drawCircle(c, c, BTN_RADIUS, paintWhiteRing);
+            canvas.drawCircle(c, c, BTN_RADIUS - 4f, paintRedFill);
+            canvas.drawCircle(c, c, BTN_RADIUS - 7f, paintBtnHighlight);
+        } else {
+            // === 录音模式 ===
+            float largeRingRadius = BTN_RADIUS * 1.3f;
+            canvas.drawCircle(c, c + 2f, largeRingRadius + 3f, paintBtnShadow); // 投影
+            canvas.drawCircle(c, c, largeRingRadius, paintWhiteRing);
+
+            float squareSize = BTN_RADIUS * 0.9f;
+            float halfSize = squareSize / 2f;
+            RectF stopRect = new RectF(c - halfSize, c - halfSize, c + halfSize, c + halfSize);
+            canvas.drawRoundRect(stopRect, squareSize * 0.2f, squareSize * 0.2f, paintRedFill);
+            canvas.drawRoundRect(stopRect, squareSize * 0.2f, squareSize * 0.2f, paintBtnHighlight);
+        }
+    }
+
+    private void drawSubtitleButton(Canvas canvas, boolean isOn) {
+        float c = SPRITE_HALF;
+        if (!isOn) {
+            // === 待机模式 ===
+            canvas.drawCircle(c, c + 2f, BTN_RADIUS + 3f, paintBtnShadow);
+            canvas.drawCircle(c, c, BTN_RADIUS, paintWhiteRing);
+            canvas.drawCircle(c, c, BTN_RADIUS - 4f, paintSubtitleFill);
+            canvas.drawCircle(c, c, BTN_RADIUS - 7f, paintBtnHighlight);
+
+            // 绘制 "CC" 字样
+            paintSubtitleText.setTextSize(28f);
+            canvas.drawText("CC", c, c + 10f, paintSubtitleText);
+        } else {
+            // === 开启模式 ===
+            float largeRingRadius = BTN_RADIUS * 1.3f;
+            canvas.drawCircle(c, c + 2f, largeRingRadius + 3f, paintBtnShadow);
+            canvas.drawCircle(c, c, largeRingRadius, paintWhiteRing);
+            canvas.drawCircle(c, c, BTN_RADIUS, paintSubtitleFill);
+            canvas.drawCircle(c, c, BTN_RADIUS - 4f, paintBtnHighlight);
+
+            // 绘制 "CC" 字样（更大）
+            paintSubtitleText.setTextSize(32f);
+            canvas.drawText("CC", c, c + 11f, paintSubtitleText);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import android.graphics.Bitmap;
 import android.util.Log;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.narc.arclient.entity.CaptureRegion;
 import com.narc.arclient.entity.RecognizeTask;
 import com.narc.arclient.network.RetrofitClient;
 import java.io.ByteArrayOutputStream;
@@ -19,22 +20,34 @@ public class SendRemoteProcessor {
 
     // 这个方法会被 ProcessorManager 在后台线程调用
     public RecognizeTask process(RecognizeTask task) {
-        if (task == null || task.getOriginBitmap() == null) {
+        if (task == null || (task.getJpegBytes() == null && task.getOriginBitmap() == null)) {
             return task;
         }
 
         Log.d(TAG, "📸 准备上传图片...");
         try {
-            // 1. 将 Bitmap 压缩为无损 PNG，保持与本地保存一致
-            Bitmap bmp = task.getOriginBitmap();
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            bmp.compress(Bitmap.CompressFormat.PNG, 100, stream);
-            byte[] byteArray = stream.toByteArray();
+            // 1. 优先使用已从 YUV 直接编码好的 JPEG；只有 Bitmap 时压缩为无损 PNG，保持与本地保存一致
+            byte[] byteArray;
+            String mimeType;
+            String fileName;
+            if (task.getJpegBytes() != null) {
+                byteArray = task.getJpegBytes();
+                mimeType = "image/jpeg";
+                fileName = "capture.jpg";
+            } else {
+                Bitmap bmp = task.getOriginBitmap();
+                ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                bmp.compress(Bitmap.CompressFormat.PNG, 100, stream);
+                byteArray = stream.toByteArray();
+                mimeType = "image/png";
+                fileName = "capture.png";
+            }
+            Log.d(TAG, "📸 上传 " + mimeType + ", " + byteArray.length / 1024 + "KB");
 
             // 2. 构建 Multipart 请求体 - 按照协议要求
-            RequestBody requestFile = RequestBody.create(MediaType.parse("image/png"), byteArray);
+            RequestBody requestFile = RequestBody.create(MediaType.parse(mimeType), byteArray);
             // 参数名改为 "file"（协议要求）
-            MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", "capture.png", requestFile);
+            MultipartBody.Part filePart = MultipartBody.Part.createFormData("file", fileName, requestFile);
 
             // input_type 参数（协议要求）
             RequestBody inputType = RequestBody.create(MediaType.parse("text/plain"), "image");
@@ -43,9 +56,19 @@ public class SendRemoteProcessor {
             String sessionId = "img_" + System.currentTimeMillis();
             RequestBody sessionIdBody = RequestBody.create(MediaType.parse("text/plain"), sessionId);
 
+            // 裁剪区域（可选）：服务端据此把坐标映射回整帧
+            CaptureRegion region = task.getCaptureRegion();
+            RequestBody cropX = region != null ? textPart(region.getLeft()) : null;
+            RequestBody cropY = region != null ? textPart(region.getTop()) : null;
+            RequestBody cropW = region != null ? textPart(region.getWidth()) : null;
+            RequestBody cropH = region != null ? textPart(region.getHeight()) : null;
+            RequestBody frameW = region != null ? textPart(region.getFrameWidth()) : null;
+            RequestBody frameH = region != null ? textPart(region.getFrameHeight()) : null;
+
             // 3. 🚀 发送同步请求 (execute)
             Response<ResponseBody> response = RetrofitClient.getInstance().getApi()
-                    .uploadImage(filePart, inputType, sessionIdBody).execute();
+                    .uploadImage(filePart, inputType, sessionIdBody, cropX, cropY, cropW, cropH, frameW, frameH)
+                    .execute();
 
             if (response.isSuccessful() && response.body() != null) {
                 // 4. ✅ 成功：解析 SSE 流式响应
@@ -69,6 +92,10 @@ public class SendRemoteProcessor {
         return task;
     }
 
+    private static RequestBody textPart(int value) {
+        return RequestBody.create(MediaType.parse("text/plain"), String.valueOf(value));
+    }
+
     /**
      * 解析 SSE 响应，提取 final_response
      */
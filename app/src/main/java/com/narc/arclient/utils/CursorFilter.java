@@ -0,0 +1,82 @@
+package com.narc.arclient.utils;
+
+/**
+ * 二维指尖滤波 + 短时速度预测：x / y 各一个 One-Euro 滤波器，按帧的传感器时间戳推进
+ *
+ * 每个识别结果只调用一次 update (同一帧重复调用无副作用)；绘制时用 predictX / predictY 按"曝光到现在"的
+ * 延迟外推，光标领先于滞后的识别结果。两帧间隔过长 (丢手后重新出现) 或一帧内跳变超过 snapDistance 时
+ * 直接重置到新位置，避免从旧位置拖尾、也避免跳变产生的巨大速度被外推出去
+ */
+public class CursorFilter {
+    // 两次更新间隔超过该值视为轨迹中断
+    private static final long MAX_GAP_NS = 300_000_000L;
+    // 预测外推的上限：延迟异常大时宁可滞后也不要冲过头
+    public static final long MAX_PREDICTION_NS = 120_000_000L;
+
+    private final OneEuroFilter filterX;
+    private final OneEuroFilter filterY;
+    private final float snapDistance;
+
+    /**
+     * @param snapDistance 单帧跳变超过该距离 (与输入同单位) 时重置而不是平滑
+     */
+    public CursorFilter(float minCutoff, float beta, float derivativeCutoff, float snapDistance) {
+        this.filterX = new OneEuroFilter(minCutoff, beta, derivativeCutoff);
+        this.filterY = new OneEuroFilter(minCutoff, beta, derivativeCutoff);
+        this.snapDistance = snapDistance;
+    }
+
+    public void update(float x, float y, long timestampNs) {
+        if (filterX.isInitialized()) {
+            long gapNs = timestampNs - filterX.getLastTimestampNs();
+            float jump = (float) Math.hypot(x - filterX.getValue(), y - filterY.getValue());
+            if (gapNs > MAX_GAP_NS || jump > snapDistance) {
+                reset();
+            }
+        }
+        filterX.filter(x, timestampNs);
+        filterY.filter(y, timestampNs);
+    }
+
+    public void reset() {
+        filterX.reset();
+        filterY.reset();
+    }
+
+    public boolean isInitialized() {
+        return filterX.isInitialized();
+    }
+
+    public float getX() {
+        return filterX.getValue();
+    }
+
+    public float getY() {
+        return filterY.getValue();
+    }
+
+    // 速度 (单位 / 秒)
+    public float getVelocityX() {
+        return filterX.getDerivative();
+    }
+
+    public float getVelocityY() {
+        return filterY.getDerivative();
+    }
+
+    /**
+     * 按速度外推 horizonNs 之后的位置 (horizonNs 限制在 [0, MAX_PREDICTION_NS])
+     */
+    public float predictX(long horizonNs) {
+        return filterX.getValue() + filterX.getDerivative() * clampHorizon(horizonNs);
+    }
+
+    public float predictY(long horizonNs) {
+        return filterY.getValue() + filterY.getDerivative() * clampHorizon(horizonNs);
+    }
+
+    // 外推时长 (秒)
+    private static float clampHorizon(long horizonNs) {
+        return Math.max(0L, Math.min(MAX_PREDICTION_NS, horizonNs)) / 1e9f;
+    }
+}
@@ -0,0 +1,79 @@
+package com.narc.arclient.utils;
+
+/**
+ * One-Euro 低通滤波 (Casiez et al., CHI 2012)：截止频率随速度自适应
+ *
+ * 静止时截止频率低 (minCutoff)，抖动被强力压制；快速移动时截止频率随速度升高 (beta)，跟手不拖尾。
+ * 时间步长取自传入的时间戳 (传感器时钟)，与刷新率、推理帧率无关；同时给出低通后的速度，供预测使用
+ */
+public class OneEuroFilter {
+    private final float minCutoff;
+    private final float beta;
+    private final float derivativeCutoff;
+
+    private boolean initialized = false;
+    private float rawValue;
+    private float value;
+    private float derivative; // 单位 / 秒
+    private long lastTimestampNs;
+
+    /**
+     * @param minCutoff        静止时的截止频率 (Hz)，越小越稳
+     * @param beta             速度系数，越大快速移动时越跟手 (与输入单位相关)
+     * @param derivativeCutoff 速度估计的截止频率 (Hz)
+     */
+    public OneEuroFilter(float minCutoff, float beta, float derivativeCutoff) {
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+        this.derivativeCutoff = derivativeCutoff;
+    }
+
+    public float filter(float x, long timestampNs) {
+        if (!initialized) {
+            initialized = true;
+            rawValue = x;
+            value = x;
+            derivative = 0f;
+            lastTimestampNs = timestampNs;
+            return value;
+        }
+        // 时间戳不前进 (同一帧重复输入) 时保持原输出
+        if (timestampNs <= lastTimestampNs)
+            return value;
+        float dt = (timestampNs - lastTimestampNs) / 1e9f;
+        lastTimestampNs = timestampNs;
+
+        float rawDerivative = (x - rawValue) / dt;
+        rawValue = x;
+        derivative += alpha(derivativeCutoff, dt) * (rawDerivative - derivative);
+        float cutoff = minCutoff + beta * Math.abs(derivative);
+        value += alpha(cutoff, dt) * (x - value);
+        return value;
+    }
+
+    // 一阶低通的平滑系数：tau = 1 / (2π fc)，alpha = dt / (dt + tau)
+    private static float alpha(float cutoff, float dt) {
+        float tau = (float) (1.0 / (2 * Math.PI * cutoff));
+        return dt / (dt + tau);
+    }
+
+    public void reset() {
+        initialized = false;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public float getValue() {
+        return value;
+    }
+
+    public float getDerivative() {
+        return derivative;
+    }
+
+    public long getLastTimestampNs() {
+        return lastTimestampNs;
+    }
+}
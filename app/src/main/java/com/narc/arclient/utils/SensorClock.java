@@ -0,0 +1,99 @@
+package com.narc.arclient.utils;
+
+import android.hardware.camera2.CameraCharacteristics;
+import android.os.SystemClock;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 相机传感器时钟：Image.getTimestamp 所在的单调时基
+ *
+ * 识别、悬停计时、平滑滤波都以帧的传感器时间为准，丢帧时计时依旧正确；
+ * nowNs 与帧时间戳同一时基，两者之差即为从曝光到当前阶段的真实延迟
+ */
+public final class SensorClock {
+    // 超过该值的延迟视为时基不一致 (UNKNOWN 时基的设备)，不计入统计
+    private static final long MAX_VALID_LATENCY_NS = 10_000_000_000L;
+
+    // SENSOR_INFO_TIMESTAMP_SOURCE == REALTIME 时帧时间戳基于 elapsedRealtimeNanos，否则基于 CLOCK_MONOTONIC
+    private static volatile boolean realtimeSource = false;
+
+    private static final LatencyStats inferenceLatency = new LatencyStats();
+    private static final LatencyStats displayLatency = new LatencyStats();
+
+    private SensorClock() {
+    }
+
+    /**
+     * 打开相机时根据 CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE 选择时基
+     */
+    public static void setTimestampSource(Integer source) {
+        realtimeSource = source != null && source == CameraCharacteristics.SENSOR_INFO_TIMESTAMP_SOURCE_REALTIME;
+    }
+
+    /**
+     * 与帧时间戳同一时基的当前时间 (纳秒)
+     */
+    public static long nowNs() {
+        return realtimeSource ? SystemClock.elapsedRealtimeNanos() : System.nanoTime();
+    }
+
+    public static long nowMs() {
+        return toMillis(nowNs());
+    }
+
+    public static long toMillis(long timestampNs) {
+        return timestampNs / 1_000_000L;
+    }
+
+    /**
+     * 帧从曝光到现在经过的时间 (纳秒)
+     */
+    public static long ageNs(long frameTimestampNs) {
+        return nowNs() - frameTimestampNs;
+    }
+
+    // 推理结果产出时调用：曝光 -> 手势结果
+    public static void recordInferenceLatency(long frameTimestampNs) {
+        inferenceLatency.record(ageNs(frameTimestampNs));
+    }
+
+    // 光标绘制时调用 (每个新帧一次)：曝光 -> 上屏
+    public static void recordDisplayLatency(long frameTimestampNs) {
+        displayLatency.record(ageNs(frameTimestampNs));
+    }
+
+    /**
+     * Monitor 线程周期性打印，打印后清零 (每个窗口单独统计)
+     */
+    public static String statsString() {
+        return "SensorLatency inference[" + inferenceLatency.drain() + "] display[" + displayLatency.drain() + "]";
+    }
+
+    private static class LatencyStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumNs = new AtomicLong();
+        private final AtomicLong maxNs = new AtomicLong();
+
+        void record(long latencyNs) {
+            if (latencyNs < 0 || latencyNs > MAX_VALID_LATENCY_NS)
+                return;
+            count.incrementAndGet();
+            sumNs.addAndGet(latencyNs);
+            long max;
+            while (latencyNs > (max = maxNs.get()) && !maxNs.compareAndSet(max, latencyNs)) {
+                // 重试
+            }
+        }
+
+        String drain() {
+            long n = count.getAndSet(0);
+            long sum = sumNs.getAndSet(0);
+            long max = maxNs.getAndSet(0);
+            if (n == 0)
+                return "n=0";
+            return String.format(Locale.US, "n=%d mean=%.1fms max=%.1fms", n, sum / 1e6 / n, max / 1e6);
+        }
+    }
+}
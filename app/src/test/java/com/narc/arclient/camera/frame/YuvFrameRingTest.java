@@ -0,0 +1,53 @@
+package com.narc.arclient.camera.frame;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * YuvFrameRing 引用计数的 JVM 单测
+ */
+public class YuvFrameRingTest {
+
+    @Test
+    public void readerRelease_freesSlotAfterReplacement() {
+        YuvFrameRing ring = new YuvFrameRing(2);
+        YuvFrame a = ring.obtainForWrite();
+        ring.publish(a, 1L);
+        assertSame(a, ring.acquireLatest());
+        ring.publish(ring.obtainForWrite(), 2L);
+        assertEquals(1, a.refCount.get());
+        a.release();
+        assertEquals(YuvFrame.STATE_FREE, a.refCount.get());
+    }
+
+    // 重复释放不能把相机线程正在写入的槽位改回空闲，否则同一槽位会被再次分配出去
+    @Test
+    public void doubleRelease_doesNotFreeSlotBeingWritten() {
+        YuvFrameRing ring = new YuvFrameRing(2);
+        YuvFrame a = ring.obtainForWrite();
+        ring.publish(a, 1L);
+        YuvFrame reader = ring.acquireLatest();
+        ring.publish(ring.obtainForWrite(), 2L);
+        reader.release();
+
+        assertSame(a, ring.obtainForWrite());
+        assertEquals(YuvFrame.STATE_WRITING, a.refCount.get());
+        reader.release();
+        assertEquals(YuvFrame.STATE_WRITING, a.refCount.get());
+        assertNull(ring.obtainForWrite());
+    }
+
+    // 重复释放空闲槽位也保持空闲
+    @Test
+    public void doubleRelease_onFreeSlotIsNoOp() {
+        YuvFrameRing ring = new YuvFrameRing(2);
+        YuvFrame a = ring.obtainForWrite();
+        ring.publish(a, 1L);
+        YuvFrame reader = ring.acquireLatest();
+        ring.publish(ring.obtainForWrite(), 2L);
+        reader.release();
+        reader.release();
+        assertEquals(YuvFrame.STATE_FREE, a.refCount.get());
+    }
+}
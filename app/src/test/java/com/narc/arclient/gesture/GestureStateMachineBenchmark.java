@@ -0,0 +1,66 @@
+package com.narc.arclient.gesture;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GestureStateMachine 单帧推进耗时 (纯 JVM)：回放一段合成轨迹 (移动 -> 静止悬停 -> 进入按钮区 -> 丢手)
+ * 加上 -prof gc 可看到 gc.alloc.rate.norm 为 0 B/op
+ *
+ * 运行：./gradlew :app:jmh -PjmhArgs="GestureStateMachineBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GestureStateMachineBenchmark {
+    private GestureTrajectory trajectory;
+    private GestureStateMachine machine;
+    private GestureState state;
+    private int frame;
+    private long loop;
+
+    @Setup
+    public void setUp() {
+        trajectory = GestureTrajectory.standard();
+        machine = GestureTrajectory.newMachine();
+        state = new GestureState();
+        frame = 0;
+        loop = 0;
+    }
+
+    @Benchmark
+    public GestureState update() {
+        int i = frame;
+        machine.update(trajectory.xs[i], trajectory.ys[i], trajectory.counts[i], trajectory.categories[i],
+                trajectory.timestampNs(loop, i), state);
+        if (++frame == trajectory.frames) {
+            frame = 0;
+            loop++;
+        }
+        return state;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GestureStateMachineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,213 @@
+package com.narc.arclient.gesture;
+
+import com.narc.arclient.enums.CaptureTrigger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * GestureStateMachine 的 JVM 单测：回放 GestureTrajectory，检查各阶段的触发与稳态零分配
+ */
+public class GestureStateMachineTest {
+    private GestureTrajectory trajectory;
+    private GestureStateMachine machine;
+    private GestureState state;
+
+    @Before
+    public void setUp() {
+        trajectory = GestureTrajectory.standard();
+        machine = GestureTrajectory.newMachine();
+        state = new GestureState();
+    }
+
+    private void step(int i) {
+        machine.update(trajectory.xs[i], trajectory.ys[i], trajectory.counts[i], trajectory.categories[i],
+                trajectory.timestampNs(0, i), state);
+    }
+
+    @Test
+    public void holdStill_triggersDwellOnceAfterHoverDuration() {
+        int triggers = 0;
+        int firstTrigger = -1;
+        for (int i = 0; i < GestureTrajectory.TO_BUTTON; i++) {
+            step(i);
+            assertTrue(state.isTracked());
+            assertEquals(-1, state.getRegion());
+            if (state.isDwellTriggered()) {
+                triggers++;
+                if (firstTrigger < 0)
+                    firstTrigger = i;
+            }
+        }
+        assertEquals(1, triggers);
+        // 60 帧 = 3 秒；滤波后的速度需要几帧才降到阈值以下
+        int holdFrames = (int) (GestureTrajectory.HOVER_DURATION_MS * 1_000_000L / GestureTrajectory.FRAME_NS);
+        assertTrue(firstTrigger >= GestureTrajectory.MOVE_IN + holdFrames);
+        assertTrue(firstTrigger <= GestureTrajectory.HOLD + holdFrames + 10);
+    }
+
+    @Test
+    public void holdInRegion_triggersRegionAndSuspendsDwell() {
+        int regionTriggers = 0;
+        for (int i = 0; i < GestureTrajectory.LOST; i++) {
+            step(i);
+            if (i >= GestureTrajectory.HOLD_BUTTON) {
+                assertEquals(0, state.getRegion());
+                assertEquals(0f, state.getDwellProgress(), 0f);
+                assertFalse(state.isDwellTriggered());
+            }
+            if (state.isRegionTriggered())
+                regionTriggers++;
+        }
+        assertEquals(1, regionTriggers);
+    }
+
+    @Test
+    public void lostHand_resetsState() {
+        for (int i = 0; i < GestureTrajectory.FRAMES; i++) {
+            step(i);
+        }
+        assertEquals(GestureState.HAND_NONE, state.getHandStatus());
+        assertEquals(-1, state.getRegion());
+        assertEquals(0f, state.getRegionProgress(), 0f);
+    }
+
+    @Test
+    public void leftHand_isIgnored() {
+        float[] xs = trajectory.xs[GestureTrajectory.HOLD].clone();
+        float[] ys = trajectory.ys[GestureTrajectory.HOLD].clone();
+        xs[GestureStateMachine.WRIST] = 0.3f;
+        machine.update(xs, ys, GestureTrajectory.LANDMARKS, GestureCategory.POINTING_UP, 1_000_000_000L, state);
+        assertEquals(GestureState.HAND_IGNORED, state.getHandStatus());
+        assertFalse(state.isTracked());
+    }
+
+    @Test
+    public void openPalm_pausesTimers() {
+        int i = GestureTrajectory.HOLD + 5;
+        for (int k = 0; k < 120; k++) {
+            machine.update(trajectory.xs[i], trajectory.ys[i], GestureTrajectory.LANDMARKS, GestureCategory.OPEN_PALM,
+                    trajectory.timestampNs(0, k), state);
+            assertEquals(GestureCategory.OPEN_PALM, state.getCategory());
+            assertEquals(0f, state.getDwellProgress(), 0f);
+            assertFalse(state.isDwellTriggered());
+        }
+    }
+
+    /**
+     * 在悬停位置按给定的距离比序列逐帧捏合，返回每帧是否触发
+     */
+    private boolean[] pinchSequence(GestureStateMachine pinchMachine, float[] ratios) {
+        boolean[] triggered = new boolean[ratios.length];
+        int i = GestureTrajectory.HOLD + 5;
+        for (int k = 0; k < ratios.length; k++) {
+            float[] xs = trajectory.xs[i].clone();
+            float[] ys = trajectory.ys[i].clone();
+            GestureTrajectory.setPinch(xs, ys, ratios[k]);
+            pinchMachine.update(xs, ys, GestureTrajectory.LANDMARKS, GestureCategory.POINTING_UP,
+                    trajectory.timestampNs(0, k), state);
+            triggered[k] = state.isPinchTriggered();
+        }
+        return triggered;
+    }
+
+    @Test
+    public void pinch_triggersOncePerCloseWithHysteresis() {
+        GestureStateMachine pinchMachine = GestureTrajectory.newMachine(CaptureTrigger.PINCH_OR_DWELL);
+        // 张开 -> 合拢 -> 捏合 (触发) -> 阈值间抖动 -> 松开 -> 再次捏合 (触发)
+        float[] ratios = {1.0f, 0.6f, 0.35f, 0.2f, 0.3f, 0.2f, 0.4f, 0.6f, 0.2f};
+        boolean[] triggered = pinchSequence(pinchMachine, ratios);
+        boolean[] expected = {false, false, false, true, false, false, false, false, true};
+        assertArrayEquals(expected, triggered);
+        assertTrue(state.isPinched());
+        assertTrue(state.isCaptureTriggered());
+        assertEquals(1f, state.getPinchProgress(), 0f);
+    }
+
+    @Test
+    public void pinch_anchorsAtTipWhenClosingStarts() {
+        GestureStateMachine pinchMachine = GestureTrajectory.newMachine(CaptureTrigger.PINCH);
+        int i = GestureTrajectory.HOLD + 5;
+        float[] ratios = {1.0f, 0.35f, 0.2f};
+        float[] tipXs = {0.60f, 0.62f, 0.64f};
+        for (int k = 0; k < ratios.length; k++) {
+            float[] xs = trajectory.xs[i].clone();
+            float[] ys = trajectory.ys[i].clone();
+            // 合拢过程中食指被拇指带偏
+            xs[GestureStateMachine.INDEX_TIP] = tipXs[k];
+            GestureTrajectory.setPinch(xs, ys, ratios[k]);
+            pinchMachine.update(xs, ys, GestureTrajectory.LANDMARKS, GestureCategory.POINTING_UP,
+                    trajectory.timestampNs(0, k), state);
+        }
+        assertTrue(state.isPinchTriggered());
+        assertEquals(tipXs[1], state.getPinchAnchorX(), 1e-6f);
+    }
+
+    @Test
+    public void dwellOnly_ignoresPinch() {
+        float[] ratios = {1.0f, 0.2f, 0.6f, 0.2f};
+        boolean[] triggered = pinchSequence(GestureTrajectory.newMachine(CaptureTrigger.DWELL), ratios);
+        assertArrayEquals(new boolean[ratios.length], triggered);
+        assertEquals(0f, state.getPinchProgress(), 0f);
+    }
+
+    @Test
+    public void pinchOnly_neverTriggersDwell() {
+        GestureStateMachine pinchMachine = GestureTrajectory.newMachine(CaptureTrigger.PINCH);
+        for (int i = 0; i < GestureTrajectory.TO_BUTTON; i++) {
+            pinchMachine.update(trajectory.xs[i], trajectory.ys[i], trajectory.counts[i], trajectory.categories[i],
+                    trajectory.timestampNs(0, i), state);
+            assertFalse(state.isDwellTriggered());
+            assertFalse(state.isPinchTriggered());
+        }
+    }
+
+    @Test
+    public void categoryLabels_roundTrip() {
+        for (GestureCategory category : GestureCategory.values()) {
+            assertSame(category, GestureCategory.fromLabel(category.getLabel()));
+        }
+        assertSame(GestureCategory.NONE, GestureCategory.fromLabel("Unknown"));
+        assertSame(GestureCategory.NONE, GestureCategory.fromLabel(null));
+    }
+
+    /**
+     * 稳态每帧零分配：预热后回放多轮完整轨迹 (含丢手重置)，当前线程的分配字节数不应增长
+     */
+    @Test
+    public void update_allocatesNothingPerFrame() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        // 预热：让 JIT 编译完成 (逃逸分析等)
+        replay(0, 200);
+
+        int loops = 500;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        replay(200, loops);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        long frames = (long) loops * trajectory.frames;
+        // 允许测量本身的少量固定开销，远小于每帧分配一个对象 (>= 16 字节) 的量级
+        assertTrue("allocated " + allocated + " bytes over " + frames + " frames", allocated < 1024);
+    }
+
+    private void replay(long firstLoop, int loops) {
+        for (long loop = firstLoop; loop < firstLoop + loops; loop++) {
+            for (int i = 0; i < trajectory.frames; i++) {
+                machine.update(trajectory.xs[i], trajectory.ys[i], trajectory.counts[i], trajectory.categories[i],
+                        trajectory.timestampNs(loop, i), state);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.narc.arclient.gesture;
+
+import com.narc.arclient.enums.CaptureTrigger;
+
+/**
+ * 测试 / 基准共用的合成手部轨迹 (20 fps)：
+ * 移入画面 -> 静止悬停 (触发拍照识物) -> 移入右下角按钮区并停留 (触发麦克风) -> 丢手
+ */
+final class GestureTrajectory {
+    static final long FRAME_NS = 50_000_000L;
+    static final int LANDMARKS = 21;
+    static final long HOVER_DURATION_MS = 3000;
+
+    // 各阶段的起始帧
+    static final int MOVE_IN = 0;
+    static final int HOLD = 10;
+    static final int TO_BUTTON = 130;
+    static final int HOLD_BUTTON = 140;
+    static final int LOST = 220;
+    static final int FRAMES = 230;
+
+    final int frames = FRAMES;
+    final float[][] xs = new float[FRAMES][LANDMARKS];
+    final float[][] ys = new float[FRAMES][LANDMARKS];
+    final int[] counts = new int[FRAMES];
+    final GestureCategory[] categories = new GestureCategory[FRAMES];
+
+    static GestureStateMachine newMachine() {
+        return newMachine(CaptureTrigger.DWELL);
+    }
+
+    static GestureStateMachine newMachine(CaptureTrigger captureTrigger) {
+        DwellRegion[] regions = {
+                new DwellRegion(0.8f, 0.75f, Float.MAX_VALUE, Float.MAX_VALUE, HOVER_DURATION_MS)
+        };
+        return new GestureStateMachine(regions, HOVER_DURATION_MS, captureTrigger);
+    }
+
+    static GestureTrajectory standard() {
+        GestureTrajectory t = new GestureTrajectory();
+        for (int i = 0; i < FRAMES; i++) {
+            // 小幅确定性抖动 (约 1.5 像素 / 1080p)
+            float jitter = ((i * 7919) % 11 - 5) * 0.00025f;
+            float tipX;
+            float tipY;
+            if (i < HOLD) {
+                float p = (float) i / HOLD;
+                tipX = 0.55f + 0.10f * p;
+                tipY = 0.05f + 0.35f * p;
+            } else if (i < TO_BUTTON) {
+                tipX = 0.65f;
+                tipY = 0.40f;
+            } else if (i < HOLD_BUTTON) {
+                float p = (float) (i - TO_BUTTON) / (HOLD_BUTTON - TO_BUTTON);
+                tipX = 0.65f + 0.25f * p;
+                tipY = 0.40f + 0.45f * p;
+            } else {
+                tipX = 0.90f;
+                tipY = 0.85f;
+            }
+            if (i >= LOST) {
+                t.counts[i] = 0;
+                t.categories[i] = GestureCategory.NONE;
+                continue;
+            }
+            t.counts[i] = LANDMARKS;
+            t.categories[i] = GestureCategory.POINTING_UP;
+            fillHand(t.xs[i], t.ys[i], tipX + jitter, tipY - jitter);
+        }
+        return t;
+    }
+
+    // 简化的手形：手腕在指尖右下方，其余关键点分布在两者之间
+    private static void fillHand(float[] xs, float[] ys, float tipX, float tipY) {
+        float wristX = tipX + 0.04f;
+        float wristY = tipY + 0.15f;
+        for (int k = 0; k < LANDMARKS; k++) {
+            float p = k / (float) (LANDMARKS - 1);
+            xs[k] = wristX + (tipX - wristX) * p + ((k % 4) - 1.5f) * 0.01f;
+            ys[k] = wristY + (tipY - wristY) * p;
+        }
+        xs[GestureStateMachine.WRIST] = wristX;
+        ys[GestureStateMachine.WRIST] = wristY;
+        xs[GestureStateMachine.INDEX_TIP] = tipX;
+        ys[GestureStateMachine.INDEX_TIP] = tipY;
+    }
+
+    // 把拇指指尖放到食指指尖左侧，距离 = ratio × 手掌长度 (手腕 -> 中指根)
+    static void setPinch(float[] xs, float[] ys, float ratio) {
+        float palm = (float) Math.hypot(xs[GestureStateMachine.WRIST] - xs[PinchDetector.MIDDLE_MCP],
+                ys[GestureStateMachine.WRIST] - ys[PinchDetector.MIDDLE_MCP]);
+        xs[PinchDetector.THUMB_TIP] = xs[GestureStateMachine.INDEX_TIP] - ratio * palm;
+        ys[PinchDetector.THUMB_TIP] = ys[GestureStateMachine.INDEX_TIP];
+    }
+
+    // 第 loop 次回放的第 i 帧，时间戳单调递增
+    long timestampNs(long loop, int i) {
+        return 1_000_000_000L + (loop * FRAMES + i) * FRAME_NS;
+    }
+}
@@ -0,0 +1,140 @@
+package com.narc.arclient.gesture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * LandmarkGestureClassifier 的 JVM 单测：合成的三维手部姿态 (world landmarks，单位米，y 轴向下)
+ * 四指在 y-z 平面内逐关节弯曲，拇指在 x-y 平面内摆放
+ */
+public class LandmarkGestureClassifierTest {
+    private static final int N = LandmarkGestureClassifier.LANDMARK_COUNT;
+    // 指骨长度：MCP->PIP, PIP->DIP, DIP->TIP
+    private static final float[] BONES = {0.035f, 0.025f, 0.02f};
+    private static final float[] MCP_X = {-0.02f, 0f, 0.018f, 0.034f};
+
+    private static final float[] STRAIGHT = {0f, 5f, 5f};
+    private static final float[] CURLED = {80f, 90f, 70f};
+    private static final float[] HALF = {20f, 40f, 40f};
+
+    private float[] xs;
+    private float[] ys;
+    private float[] zs;
+
+    @Before
+    public void setUp() {
+        xs = new float[N];
+        ys = new float[N];
+        zs = new float[N];
+        // 手腕在中指根正下方 8 cm
+        xs[0] = 0f;
+        ys[0] = 0.08f;
+    }
+
+    // finger: 0 = 食指 ... 3 = 小指；bends 为 MCP / PIP / DIP 三处的弯曲角 (度)
+    private void finger(int finger, float[] bends) {
+        int base = 5 + finger * 4;
+        float x = MCP_X[finger], y = 0f, z = 0f;
+        xs[base] = x;
+        ys[base] = y;
+        zs[base] = z;
+        double theta = 0;
+        for (int k = 0; k < 3; k++) {
+            theta += Math.toRadians(bends[k]);
+            y -= (float) (Math.cos(theta) * BONES[k]);
+            z -= (float) (Math.sin(theta) * BONES[k]);
+            xs[base + k + 1] = x;
+            ys[base + k + 1] = y;
+            zs[base + k + 1] = z;
+        }
+    }
+
+    // 拇指从 CMC 出发，沿 (dx, dy) 方向伸直；folded 时贴着掌心弯向食指根
+    private void thumb(float dx, float dy, boolean folded) {
+        xs[1] = -0.03f;
+        ys[1] = 0.06f;
+        if (folded) {
+            float[][] joints = {{-0.045f, 0.04f}, {-0.03f, 0.02f}, {-0.012f, 0.016f}};
+            for (int k = 0; k < 3; k++) {
+                xs[2 + k] = joints[k][0];
+                ys[2 + k] = joints[k][1];
+            }
+            return;
+        }
+        float length = (float) Math.hypot(dx, dy);
+        for (int k = 1; k <= 3; k++) {
+            xs[1 + k] = xs[1] + dx / length * 0.03f * k;
+            ys[1 + k] = ys[1] + dy / length * 0.03f * k;
+        }
+    }
+
+    private void fingers(float[] index, float[] middle, float[] ring, float[] pinky) {
+        finger(0, index);
+        finger(1, middle);
+        finger(2, ring);
+        finger(3, pinky);
+    }
+
+    private GestureCategory classify() {
+        return LandmarkGestureClassifier.classify(xs, ys, zs, N);
+    }
+
+    @Test
+    public void openPalm() {
+        fingers(STRAIGHT, STRAIGHT, STRAIGHT, STRAIGHT);
+        thumb(-0.7f, -0.7f, false);
+        assertSame(GestureCategory.OPEN_PALM, classify());
+    }
+
+    @Test
+    public void victory() {
+        fingers(STRAIGHT, STRAIGHT, CURLED, CURLED);
+        thumb(0f, 0f, true);
+        assertSame(GestureCategory.VICTORY, classify());
+    }
+
+    @Test
+    public void thumbUp() {
+        fingers(CURLED, CURLED, CURLED, CURLED);
+        thumb(-0.3f, -1f, false);
+        assertSame(GestureCategory.THUMB_UP, classify());
+    }
+
+    @Test
+    public void thumbDown_isNotThumbUp() {
+        fingers(CURLED, CURLED, CURLED, CURLED);
+        thumb(-0.3f, 1f, false);
+        assertSame(GestureCategory.NONE, classify());
+    }
+
+    @Test
+    public void fist_isNone() {
+        fingers(CURLED, CURLED, CURLED, CURLED);
+        thumb(0f, 0f, true);
+        assertSame(GestureCategory.NONE, classify());
+    }
+
+    @Test
+    public void pointing_isNone() {
+        fingers(STRAIGHT, CURLED, CURLED, CURLED);
+        thumb(0f, 0f, true);
+        assertSame(GestureCategory.NONE, classify());
+    }
+
+    // 半弯的手指落在两阈值之间，宁可不判也不误判成张手
+    @Test
+    public void halfBentFingers_areNotOpenPalm() {
+        fingers(HALF, HALF, HALF, HALF);
+        thumb(-0.7f, -0.7f, false);
+        assertSame(GestureCategory.NONE, classify());
+    }
+
+    @Test
+    public void missingLandmarks_isNone() {
+        fingers(STRAIGHT, STRAIGHT, STRAIGHT, STRAIGHT);
+        thumb(-0.7f, -0.7f, false);
+        assertSame(GestureCategory.NONE, LandmarkGestureClassifier.classify(xs, ys, zs, N - 1));
+    }
+}
@@ -0,0 +1,137 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.enums.ColorConversionMode;
+import com.narc.arclient.enums.DownsampleKernel;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * AREA 内核与双精度面积平均的对照：参考实现逐个输出像素在 Y / U / V 平面上按覆盖面积求加权平均 (double)，
+ * 四舍五入后再走同一个 yuvToArgb；定点实现的每个通道与参考最多差 1 (在 YUV 上比较，转 RGB 前)
+ *
+ * 合成帧与 YuvConverterBenchmark 相同 (随机平面，最坏情况：相邻像素毫无相关性)，I420 与半平面两种色度布局都覆盖
+ */
+public class AreaDownsamplerTest {
+    private static final int[] PIXEL_STRIDES = {1, 2};
+
+    @Test
+    public void analysisStream_480x270_to_400x225() {
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(480, 270, pixelStride);
+            assertWithinOneLsb("pixelStride=" + pixelStride, frame, 0, 0, 480, 270, 400, 225);
+        }
+    }
+
+    @Test
+    public void fullFrame_1920x1080_to_400x225() {
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(1920, 1080, pixelStride);
+            assertWithinOneLsb("pixelStride=" + pixelStride, frame, 0, 0, 1920, 1080, 400, 225);
+        }
+    }
+
+    /**
+     * 手部跟踪的小裁剪放大到模型输入 (每个源像素覆盖 3 个多输出像素)，起点取奇数让色度区间落在半像素上
+     */
+    @Test
+    public void upscaledCrop_66x66_to_224x224() {
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(480, 270, pixelStride);
+            assertWithinOneLsb("pixelStride=" + pixelStride, frame, 101, 57, 66, 66, 224, 224);
+        }
+    }
+
+    @Test
+    public void flatField_isReproducedExactly() {
+        int[][] geometries = {
+                {480, 270, 0, 0, 480, 270, 400, 225},
+                {1920, 1080, 0, 0, 1920, 1080, 400, 225},
+                {480, 270, 101, 57, 66, 66, 224, 224},
+        };
+        for (int pixelStride : PIXEL_STRIDES) {
+            for (int[] g : geometries) {
+                YuvFrame frame = YuvConverterBenchmark.syntheticFrame(g[0], g[1], pixelStride);
+                Arrays.fill(frame.yData, (byte) 173);
+                Arrays.fill(frame.uData, (byte) 90);
+                Arrays.fill(frame.vData, (byte) 200);
+                int[] out = new int[g[6] * g[7]];
+                YuvConverter.downsample(DownsampleKernel.AREA, ColorConversionMode.ARITHMETIC, frame,
+                        g[2], g[3], g[4], g[5], out, g[6], g[7]);
+                int[] expected = new int[out.length];
+                Arrays.fill(expected, YuvConverter.yuvToArgb(173, 90, 200));
+                assertArrayEquals(Arrays.toString(g) + " pixelStride=" + pixelStride, expected, out);
+            }
+        }
+    }
+
+    private static void assertWithinOneLsb(String message, YuvFrame f, int srcLeft, int srcTop, int srcW, int srcH,
+                                           int outW, int outH) {
+        int[] out = new int[outW * outH];
+        YuvConverter.downsample(DownsampleKernel.AREA, ColorConversionMode.ARITHMETIC, f,
+                srcLeft, srcTop, srcW, srcH, out, outW, outH);
+
+        int rowScale = 1 << f.uvRowShift;
+        double lumaScaleX = (double) srcW / outW;
+        double lumaScaleY = (double) srcH / outH;
+        double chromaScaleX = srcW / 2.0 / outW;
+        double chromaScaleY = (double) srcH / rowScale / outH;
+        for (int y = 0; y < outH; y++) {
+            for (int x = 0; x < outW; x++) {
+                int luma = (int) Math.round(areaAverage(f.yData, f.yRowStride, 1,
+                        srcLeft + x * lumaScaleX, lumaScaleX, (double) srcTop + y * lumaScaleY, lumaScaleY));
+                double cx = srcLeft / 2.0 + x * chromaScaleX;
+                double cy = (double) srcTop / rowScale + y * chromaScaleY;
+                int u = (int) Math.round(areaAverage(f.uData, f.uvRowStride, f.uvPixelStride,
+                        cx, chromaScaleX, cy, chromaScaleY));
+                int v = (int) Math.round(areaAverage(f.vData, f.uvRowStride, f.uvPixelStride,
+                        cx, chromaScaleX, cy, chromaScaleY));
+                int actual = out[y * outW + x];
+                if (!withinOneLsb(actual, luma, u, v))
+                    fail(message + " at (" + x + ", " + y + "): reference yuv=(" + luma + ", " + u + ", " + v
+                            + ") argb=" + Integer.toHexString(YuvConverter.yuvToArgb(luma, u, v))
+                            + " actual=" + Integer.toHexString(actual));
+            }
+        }
+    }
+
+    /**
+     * 源平面上 [x0, x0 + w) x [y0, y0 + h) 连续区域的面积加权平均
+     */
+    private static double areaAverage(byte[] data, int rowStride, int pixelStride, double x0, double w, double y0, double h) {
+        double sum = 0;
+        for (int row = (int) Math.floor(y0); row < y0 + h; row++) {
+            double wy = Math.min(y0 + h, row + 1) - Math.max(y0, row);
+            if (wy <= 0)
+                continue;
+            for (int col = (int) Math.floor(x0); col < x0 + w; col++) {
+                double wx = Math.min(x0 + w, col + 1) - Math.max(x0, col);
+                if (wx <= 0)
+                    continue;
+                sum += (data[row * rowStride + col * pixelStride] & 0xFF) * wx * wy;
+            }
+        }
+        return sum / (w * h);
+    }
+
+    // 实现的输出等于参考 (Y, U, V) 各自偏移 -1..1 后的某一个转换结果
+    private static boolean withinOneLsb(int actual, int y, int u, int v) {
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int du = -1; du <= 1; du++) {
+                for (int dv = -1; dv <= 1; dv++) {
+                    if (YuvConverter.yuvToArgb(clamp(y + dy), clamp(u + du), clamp(v + dv)) == actual)
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
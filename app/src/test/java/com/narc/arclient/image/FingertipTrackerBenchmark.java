@@ -0,0 +1,96 @@
+package com.narc.arclient.image;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跳帧时每帧的指尖跟踪开销 (亮度拷贝 + 模板匹配)，与 YuvConverterBenchmark.analysisArea 的转换开销对比
+ * 帧内容为随机纹理上平移的亮斑，每次调用前进 3 像素，radius 对应 FrameSkipController 的搜索半径范围
+ *
+ * 运行：./gradlew :app:jmh -PjmhArgs="FingertipTrackerBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FingertipTrackerBenchmark {
+    static final int WIDTH = 480;
+    static final int HEIGHT = 270;
+    static final int ROW_STRIDE = WIDTH + 64;
+    private static final int FRAMES = 40;
+    private static final int STEP_PX = 3;
+
+    @Param({"6", "16", "32"})
+    public int radius;
+
+    private ByteBuffer[] frames;
+    private final LumaPlane anchorPlane = new LumaPlane();
+    private final LumaPlane plane = new LumaPlane();
+    private final FingertipTracker tracker = new FingertipTracker();
+    private int index;
+
+    @Setup
+    public void setUp() {
+        frames = new ByteBuffer[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            frames[i] = syntheticLuma(60 + i * STEP_PX, 120);
+        }
+        anchorPlane.copyFrom(frames[0], ROW_STRIDE, WIDTH, HEIGHT, 1, 1);
+    }
+
+    /**
+     * 随机纹理背景 + 以 (tipX, tipY) 为中心的亮斑 (近似指尖)
+     */
+    static ByteBuffer syntheticLuma(int tipX, int tipY) {
+        byte[] data = new byte[(HEIGHT - 1) * ROW_STRIDE + WIDTH];
+        Random random = new Random(7);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int v = 70 + random.nextInt(24);
+                int dx = x - tipX;
+                int dy = y - tipY;
+                if (dx * dx + dy * dy < 36)
+                    v = 200;
+                data[y * ROW_STRIDE + x] = (byte) v;
+            }
+        }
+        return ByteBuffer.wrap(data);
+    }
+
+    @Benchmark
+    public float trackFrame() {
+        if (index == 0)
+            tracker.setTemplate(anchorPlane, 60, 120);
+        int next = index + 1;
+        plane.copyFrom(frames[next], ROW_STRIDE, WIDTH, HEIGHT, 1, next + 1);
+        tracker.track(plane, tracker.getX(), tracker.getY(), radius);
+        index = next == FRAMES - 1 ? 0 : next;
+        return tracker.getX();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FingertipTrackerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
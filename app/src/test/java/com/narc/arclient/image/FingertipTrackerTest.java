@@ -0,0 +1,105 @@
+package com.narc.arclient.image;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.narc.arclient.image.FingertipTrackerBenchmark.HEIGHT;
+import static com.narc.arclient.image.FingertipTrackerBenchmark.ROW_STRIDE;
+import static com.narc.arclient.image.FingertipTrackerBenchmark.WIDTH;
+import static com.narc.arclient.image.FingertipTrackerBenchmark.syntheticLuma;
+import static org.junit.Assert.*;
+
+/**
+ * FingertipTracker 的 JVM 单测：FingertipTrackerBenchmark.syntheticLuma 的亮斑中心即真实指尖位置
+ */
+public class FingertipTrackerTest {
+    // 与 FrameSkipController 的搜索半径范围一致
+    private static final int MIN_RADIUS = 6;
+    private static final int MAX_RADIUS = 24;
+
+    private final FingertipTracker tracker = new FingertipTracker();
+
+    private static LumaPlane plane(ByteBuffer luma, int step, long timestampNs) {
+        LumaPlane plane = new LumaPlane();
+        plane.copyFrom(luma, ROW_STRIDE, WIDTH, HEIGHT, step, timestampNs);
+        return plane;
+    }
+
+    /**
+     * 亮斑沿斜线每帧移动 (3, 2) 像素，60 帧内每帧都跟上且误差不超过半个像素 (模板始终是第一帧的)
+     */
+    @Test
+    public void track_followsMovingSpot_withinHalfPixel() {
+        int startX = 60;
+        int startY = 80;
+        assertTrue(tracker.setTemplate(plane(syntheticLuma(startX, startY), 1, 1), startX, startY));
+        assertEquals(startX, tracker.getX(), 0f);
+        assertEquals(startY, tracker.getY(), 0f);
+
+        for (int i = 1; i <= 60; i++) {
+            int tipX = startX + 3 * i;
+            int tipY = startY + 2 * i;
+            LumaPlane plane = plane(syntheticLuma(tipX, tipY), 1, i + 1);
+            assertTrue("frame " + i, tracker.track(plane, tracker.getX(), tracker.getY(), MIN_RADIUS));
+            assertEquals("x frame " + i, tipX, tracker.getX(), 0.5f);
+            assertEquals("y frame " + i, tipY, tracker.getY(), 0.5f);
+            assertEquals(i + 1, tracker.getTimestampNs());
+        }
+    }
+
+    @Test
+    public void setTemplate_rejectsFlatPatch() {
+        byte[] flat = new byte[(HEIGHT - 1) * ROW_STRIDE + WIDTH];
+        Arrays.fill(flat, (byte) 100);
+        assertFalse(tracker.setTemplate(plane(ByteBuffer.wrap(flat), 1, 1), 240, 135));
+        assertFalse(tracker.hasTemplate());
+    }
+
+    /**
+     * 模板 (16x16) 放不进画面时拒绝：四条边各试一次
+     */
+    @Test
+    public void setTemplate_rejectsFrameEdge() {
+        int[][] tips = {{4, 135}, {WIDTH - 4, 135}, {240, 4}, {240, HEIGHT - 4}};
+        for (int[] tip : tips) {
+            LumaPlane plane = plane(syntheticLuma(tip[0], tip[1]), 1, 1);
+            assertFalse(Arrays.toString(tip), tracker.setTemplate(plane, tip[0], tip[1]));
+            assertFalse(tracker.hasTemplate());
+        }
+        // 对照：同样的亮斑离边缘足够远时可以取模板
+        assertTrue(tracker.setTemplate(plane(syntheticLuma(240, 135), 1, 1), 240, 135));
+    }
+
+    /**
+     * 亮斑跳出搜索范围：返回 false 且模板失效，之后的 track 在回到原位的帧上也不再成功
+     */
+    @Test
+    public void track_jumpBeyondRadius_dropsTemplate() {
+        assertTrue(tracker.setTemplate(plane(syntheticLuma(100, 120), 1, 1), 100, 120));
+        LumaPlane jumped = plane(syntheticLuma(100 + 2 * MAX_RADIUS, 120), 1, 2);
+        assertFalse(tracker.track(jumped, tracker.getX(), tracker.getY(), MAX_RADIUS / 2));
+        assertFalse(tracker.hasTemplate());
+
+        assertFalse(tracker.track(plane(syntheticLuma(100, 120), 1, 3), 100, 120, MAX_RADIUS));
+    }
+
+    /**
+     * 抽样网格 (step = 2) 上整幅画面平移 1..7 像素：奇数平移时指尖落在两个网格之间，只取整数网格的误差是 1 像素，
+     * 抛物线亚像素拟合要把它压到半个像素以内
+     */
+    @Test
+    public void track_onSubsampledGrid_subPixel() {
+        // 亮斑中心取偶数像素，正好落在网格上
+        byte[] data = syntheticLuma(240, 136).array();
+        for (int shift = 1; shift <= 7; shift++) {
+            // 缓冲整体前移 shift 字节 = 画面左移 shift 像素 (行尾 padding 足够，最右几列读到的是 padding)
+            ByteBuffer shifted = ByteBuffer.wrap(data, shift, data.length - shift).slice();
+            assertTrue(tracker.setTemplate(plane(ByteBuffer.wrap(data), 2, 1), 240, 136));
+            assertTrue("shift " + shift, tracker.track(plane(shifted, 2, 2), 240, 136, MIN_RADIUS));
+            assertEquals("x shift " + shift, 240 - shift, tracker.getX(), 0.5f);
+            assertEquals("y shift " + shift, 136, tracker.getY(), 0.5f);
+        }
+    }
+}
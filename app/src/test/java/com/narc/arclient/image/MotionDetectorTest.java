@@ -0,0 +1,81 @@
+package com.narc.arclient.image;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * MotionDetector 的 JVM 单测：480x270 带行尾 padding 的合成亮度平面
+ */
+public class MotionDetectorTest {
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 270;
+    private static final int ROW_STRIDE = WIDTH + 64;
+
+    private MotionDetector detector;
+
+    @Before
+    public void setUp() {
+        detector = new MotionDetector(0.02f);
+    }
+
+    /**
+     * 带传感器噪声 (±3) 的纹理背景，offset 为整体亮度偏移，blobX >= 0 时叠加一块 60x80 的亮块 (近似一只手)
+     */
+    private static ByteBuffer frame(int seed, int offset, int blobX) {
+        byte[] data = new byte[(HEIGHT - 1) * ROW_STRIDE + WIDTH];
+        Random noise = new Random(seed);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int v = 60 + (x / 24 + y / 18) % 5 * 20 + noise.nextInt(7) - 3 + offset;
+                if (blobX >= 0 && x >= blobX && x < blobX + 60 && y >= 100 && y < 180)
+                    v = 210;
+                data[y * ROW_STRIDE + x] = (byte) Math.max(0, Math.min(255, v));
+            }
+        }
+        return ByteBuffer.wrap(data);
+    }
+
+    private boolean update(ByteBuffer frame) {
+        return detector.update(frame, ROW_STRIDE, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void firstFrame_onlyBuildsBaseline() {
+        assertFalse(update(frame(1, 0, 200)));
+    }
+
+    @Test
+    public void sensorNoise_isNotMotion() {
+        update(frame(1, 0, -1));
+        for (int i = 2; i < 10; i++) {
+            assertFalse(update(frame(i, 0, -1)));
+        }
+    }
+
+    // 自动曝光把整幅画面调亮不算运动
+    @Test
+    public void globalBrightnessChange_isNotMotion() {
+        update(frame(1, 0, -1));
+        assertFalse(update(frame(2, 25, -1)));
+    }
+
+    @Test
+    public void handEnteringView_isMotion() {
+        update(frame(1, 0, -1));
+        assertTrue(update(frame(2, 0, 40)));
+        assertTrue(detector.getChangedFraction() > 0.02f);
+    }
+
+    @Test
+    public void movingHand_isMotion_andResetDropsBaseline() {
+        update(frame(1, 0, 40));
+        assertTrue(update(frame(2, 0, 140)));
+        detector.reset();
+        assertFalse(update(frame(3, 0, 300)));
+    }
+}
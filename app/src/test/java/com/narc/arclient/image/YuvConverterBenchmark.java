@@ -0,0 +1,177 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.enums.ColorConversionMode;
+import com.narc.arclient.enums.DownsampleKernel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YuvConverter 各内核的 JMH 基准 (纯 JVM，不需要设备)
+ * 每个方法用 @OperationsPerInvocation 标注输出像素数，得分即 ns/pixel
+ * fullParallel 与 full 的得分之比即并行分带转换的加速比；colorMode 对比逐像素乘法与查表
+ * analysis* 为双流模式的真实热路径：480x270 分析帧一次转换到 400x225 推理输入
+ *
+ * 运行：./gradlew :app:jmh -PjmhArgs="YuvConverterBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YuvConverterBenchmark {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int SMALL_W = 480;
+    private static final int SMALL_H = 270;
+    private static final int CROP = 600;
+    private static final int ANALYSIS_W = 480;
+    private static final int ANALYSIS_H = 270;
+    private static final int INPUT_W = 400;
+    private static final int INPUT_H = 225;
+
+    private static final int FULL_PIXELS = WIDTH * HEIGHT;
+    private static final int SMALL_PIXELS = SMALL_W * SMALL_H;
+    private static final int CROP_PIXELS = CROP * CROP;
+    private static final int INPUT_PIXELS = INPUT_W * INPUT_H;
+
+    // 1 = I420 平面；2 = NV12/NV21 半平面
+    @Param({"1", "2"})
+    public int uvPixelStride;
+
+    @Param({"ARITHMETIC", "LUT"})
+    public ColorConversionMode colorMode;
+
+    private YuvFrame frame;
+    private YuvFrame analysisFrame;
+    private int[] inputOut;
+    private int[] fullOut;
+    private int[] smallOut;
+    private int[] cropOut;
+
+    @Setup
+    public void setUp() {
+        frame = syntheticFrame(WIDTH, HEIGHT, uvPixelStride);
+        analysisFrame = syntheticFrame(ANALYSIS_W, ANALYSIS_H, uvPixelStride);
+        inputOut = new int[INPUT_PIXELS];
+        fullOut = new int[FULL_PIXELS];
+        smallOut = new int[SMALL_PIXELS];
+        cropOut = new int[CROP_PIXELS];
+    }
+
+    /**
+     * 生成与相机输出布局一致的随机 YUV_420_888 帧（带行尾 padding）
+     */
+    static YuvFrame syntheticFrame(int width, int height, int uvPixelStride) {
+        YuvFrame f = new YuvFrame();
+        f.width = width;
+        f.height = height;
+        f.yRowStride = width + 64;
+        f.uvPixelStride = uvPixelStride;
+        f.uvRowStride = uvPixelStride == 2 ? f.yRowStride : f.yRowStride / 2;
+        int ySize = (height - 1) * f.yRowStride + width;
+        int uvSize = (height / 2 - 1) * f.uvRowStride + (width / 2 - 1) * uvPixelStride + 1;
+        f.ensureCapacity(ySize, uvSize, uvSize);
+        Random random = new Random(42);
+        random.nextBytes(f.yData);
+        random.nextBytes(f.uData);
+        random.nextBytes(f.vData);
+        return f;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_PIXELS)
+    public int[] downsampleNearest() {
+        YuvConverter.downsample(DownsampleKernel.NEAREST, colorMode, frame, 0, 0, WIDTH, HEIGHT,
+                smallOut, SMALL_W, SMALL_H);
+        return smallOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_PIXELS)
+    public int[] downsampleBox() {
+        YuvConverter.downsample(DownsampleKernel.BOX, colorMode, frame, 0, 0, WIDTH, HEIGHT,
+                smallOut, SMALL_W, SMALL_H);
+        return smallOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_PIXELS)
+    public int[] downsampleBilinear() {
+        YuvConverter.downsample(DownsampleKernel.BILINEAR, colorMode, frame, 0, 0, WIDTH, HEIGHT,
+                smallOut, SMALL_W, SMALL_H);
+        return smallOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SMALL_PIXELS)
+    public int[] downsampleArea() {
+        YuvConverter.downsample(DownsampleKernel.AREA, colorMode, frame, 0, 0, WIDTH, HEIGHT,
+                smallOut, SMALL_W, SMALL_H);
+        return smallOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUT_PIXELS)
+    public int[] analysisNearest() {
+        YuvConverter.downsample(DownsampleKernel.NEAREST, colorMode, analysisFrame, 0, 0, ANALYSIS_W, ANALYSIS_H,
+                inputOut, INPUT_W, INPUT_H);
+        return inputOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUT_PIXELS)
+    public int[] analysisArea() {
+        YuvConverter.downsample(DownsampleKernel.AREA, colorMode, analysisFrame, 0, 0, ANALYSIS_W, ANALYSIS_H,
+                inputOut, INPUT_W, INPUT_H);
+        return inputOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CROP_PIXELS)
+    public int[] crop() {
+        YuvConverter.crop(colorMode, frame, 661, 241, CROP, CROP, cropOut);
+        return cropOut;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FULL_PIXELS)
+    public int[] full() {
+        YuvConverter.full(colorMode, frame, fullOut);
+        return fullOut;
+    }
+
+    // 与 full 同一帧同一输出，加速比 = full / fullParallel
+    @Benchmark
+    @OperationsPerInvocation(FULL_PIXELS)
+    public int[] fullParallel() {
+        ParallelYuvConverter.getInstance().full(colorMode, frame, fullOut);
+        return fullOut;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(YuvConverterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+import com.narc.arclient.enums.ColorConversionMode;
+import com.narc.arclient.enums.DownsampleKernel;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * YuvConverter 各实现之间的逐位一致性：查表与逐像素乘法、并行分带与单线程
+ * 合成帧与 YuvConverterBenchmark 相同 (随机平面 + 行尾 padding)，I420 与半平面两种色度布局都覆盖
+ */
+public class YuvConverterTest {
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int[] PIXEL_STRIDES = {1, 2};
+
+    private static ParallelYuvConverter parallel;
+
+    @BeforeClass
+    public static void setUpClass() {
+        parallel = new ParallelYuvConverter(4);
+    }
+
+    // 查表路径对每一组 (Y, U, V) 都与 Q16 定点算术给出同一个像素
+    @Test
+    public void lut_matchesArithmetic_forEveryYuvTriple() {
+        for (int y = 0; y < 256; y++) {
+            for (int u = 0; u < 256; u++) {
+                for (int v = 0; v < 256; v++) {
+                    int expected = YuvConverter.yuvToArgb(y, u, v);
+                    int actual = YuvLut.yuvToArgb(y, u, v);
+                    if (expected != actual)
+                        fail("y=" + y + " u=" + u + " v=" + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lutFullFrame_matchesArithmetic() {
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(WIDTH, HEIGHT, pixelStride);
+            int[] arithmetic = new int[WIDTH * HEIGHT];
+            int[] lut = new int[WIDTH * HEIGHT];
+            YuvConverter.full(ColorConversionMode.ARITHMETIC, frame, arithmetic);
+            YuvConverter.full(ColorConversionMode.LUT, frame, lut);
+            assertArrayEquals("pixelStride=" + pixelStride, arithmetic, lut);
+        }
+    }
+
+    @Test
+    public void lutDownsample_matchesArithmetic_forEveryKernel() {
+        int outW = 400;
+        int outH = 225;
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(WIDTH, HEIGHT, pixelStride);
+            for (DownsampleKernel kernel : DownsampleKernel.values()) {
+                int[] arithmetic = new int[outW * outH];
+                int[] lut = new int[outW * outH];
+                YuvConverter.downsample(kernel, ColorConversionMode.ARITHMETIC, frame, 0, 0, WIDTH, HEIGHT,
+                        arithmetic, outW, outH);
+                YuvConverter.downsample(kernel, ColorConversionMode.LUT, frame, 0, 0, WIDTH, HEIGHT,
+                        lut, outW, outH);
+                assertArrayEquals(kernel + " pixelStride=" + pixelStride, arithmetic, lut);
+            }
+        }
+    }
+
+    @Test
+    public void parallelFullFrame_matchesSingleThread() {
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(WIDTH, HEIGHT, pixelStride);
+            for (ColorConversionMode mode : ColorConversionMode.values()) {
+                int[] single = new int[WIDTH * HEIGHT];
+                int[] banded = new int[WIDTH * HEIGHT];
+                YuvConverter.full(mode, frame, single);
+                parallel.full(mode, frame, banded);
+                assertArrayEquals(mode + " pixelStride=" + pixelStride, single, banded);
+            }
+        }
+    }
+
+    // 奇数高度的裁剪：分带切点对齐偶数行，最后一个带只有奇数行时色度仍取对
+    @Test
+    public void parallelCrop_matchesSingleThread() {
+        int left = 300;
+        int top = 200;
+        int width = 600;
+        int height = 401;
+        for (int pixelStride : PIXEL_STRIDES) {
+            YuvFrame frame = YuvConverterBenchmark.syntheticFrame(WIDTH, HEIGHT, pixelStride);
+            for (ColorConversionMode mode : ColorConversionMode.values()) {
+                int[] single = new int[width * height];
+                int[] banded = new int[width * height];
+                YuvConverter.crop(mode, frame, left, top, width, height, single);
+                parallel.crop(mode, frame, left, top, width, height, banded);
+                assertArrayEquals(mode + " pixelStride=" + pixelStride, single, banded);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.narc.arclient.image;
+
+import com.narc.arclient.camera.frame.YuvFrame;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.Assert.*;
+
+/**
+ * YuvJpegEncoder 的 JVM 单测：输出用 javax.imageio 解码，与 YuvConverter.full 的 ARGB 结果比较 PSNR
+ * 合成帧为平滑纹理 (正弦 + 渐变)，近似真实画面；随机噪声帧的 PSNR 只反映量化表，不适合做下限
+ */
+public class YuvJpegEncoderTest {
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 360;
+
+    /**
+     * 平滑纹理帧 (带行尾 padding)，uvPixelStride 1 = I420，2 = 半平面
+     */
+    static YuvFrame texturedFrame(int width, int height, int uvPixelStride) {
+        YuvFrame f = new YuvFrame();
+        f.width = width;
+        f.height = height;
+        f.yRowStride = width + 32;
+        f.uvPixelStride = uvPixelStride;
+        f.uvRowStride = uvPixelStride == 2 ? f.yRowStride : f.yRowStride / 2;
+        int chromaW = (width + 1) / 2;
+        int chromaH = (height + 1) / 2;
+        int ySize = (height - 1) * f.yRowStride + width;
+        int uvSize = (chromaH - 1) * f.uvRowStride + (chromaW - 1) * uvPixelStride + 1;
+        f.ensureCapacity(ySize, uvSize, uvSize);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double v = 128 + 60 * Math.sin(x / 17.0) * Math.cos(y / 23.0) + 40.0 * (x + y) / (width + height) - 20;
+                f.yData[y * f.yRowStride + x] = (byte) clamp(v);
+            }
+        }
+        for (int y = 0; y < chromaH; y++) {
+            for (int x = 0; x < chromaW; x++) {
+                int o = y * f.uvRowStride + x * uvPixelStride;
+                f.uData[o] = (byte) clamp(128 + 40 * Math.sin(x / 31.0));
+                f.vData[o] = (byte) clamp(128 + 40 * Math.cos(y / 19.0));
+            }
+        }
+        return f;
+    }
+
+    private static int clamp(double v) {
+        return (int) Math.max(0, Math.min(255, Math.round(v)));
+    }
+
+    private static BufferedImage decode(byte[] jpeg) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertNotNull("ImageIO 无法解码", image);
+        return image;
+    }
+
+    // 解码结果与同一区域的 YuvConverter 参考 (ARGB) 之间的 RGB PSNR (dB)
+    private static double psnr(BufferedImage decoded, YuvFrame frame, int left, int top, int width, int height) {
+        int[] reference = new int[width * height];
+        YuvConverter.crop(frame, left, top, width, height, reference);
+        double se = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int a = reference[y * width + x];
+                int b = decoded.getRGB(x, y);
+                for (int shift = 0; shift <= 16; shift += 8) {
+                    int d = ((a >> shift) & 0xFF) - ((b >> shift) & 0xFF);
+                    se += d * d;
+                }
+            }
+        }
+        double mse = se / (width * height * 3.0);
+        return mse == 0 ? Double.POSITIVE_INFINITY : 10 * Math.log10(255.0 * 255.0 / mse);
+    }
+
+    private static BufferedImage encodeAndCheckSize(YuvJpegEncoder encoder, YuvFrame frame,
+                                                    int left, int top, int width, int height) throws IOException {
+        BufferedImage decoded = decode(encoder.encode(frame, left, top, width, height));
+        assertEquals(width, decoded.getWidth());
+        assertEquals(height, decoded.getHeight());
+        return decoded;
+    }
+
+    @Test
+    public void fullFrame_decodesAtFullSize_withPsnrFloor() throws IOException {
+        for (int pixelStride = 1; pixelStride <= 2; pixelStride++) {
+            YuvFrame frame = texturedFrame(WIDTH, HEIGHT, pixelStride);
+            BufferedImage q90 = decode(new YuvJpegEncoder(90).encode(frame));
+            assertEquals(WIDTH, q90.getWidth());
+            assertEquals(HEIGHT, q90.getHeight());
+            double high = psnr(q90, frame, 0, 0, WIDTH, HEIGHT);
+            double low = psnr(decode(new YuvJpegEncoder(10).encode(frame)), frame, 0, 0, WIDTH, HEIGHT);
+            assertTrue("q90 psnr=" + high, high > PSNR_FLOOR_Q90);
+            assertTrue("q10 psnr=" + low, low > PSNR_FLOOR_Q10);
+            assertTrue(high > low);
+        }
+    }
+
+    // 1x1、奇数尺寸、非 16 倍数的区域：尺寸正确且质量不低于整帧下限
+    @Test
+    public void crops_decodeAtRequestedSize_withPsnrFloor() throws IOException {
+        int[][] regions = {
+                {0, 0, 1, 1},
+                {3, 5, 37, 29},
+                {101, 47, 200, 150},
+                {WIDTH - 45, HEIGHT - 23, 45, 23},
+        };
+        YuvJpegEncoder encoder = new YuvJpegEncoder(90);
+        for (int pixelStride = 1; pixelStride <= 2; pixelStride++) {
+            YuvFrame frame = texturedFrame(WIDTH, HEIGHT, pixelStride);
+            for (int[] r : regions) {
+                BufferedImage decoded = encodeAndCheckSize(encoder, frame, r[0], r[1], r[2], r[3]);
+                double p = psnr(decoded, frame, r[0], r[1], r[2], r[3]);
+                assertTrue(Arrays.toString(r) + " psnr=" + p, p > PSNR_FLOOR_Q90);
+            }
+        }
+    }
+
+    /**
+     * 右 / 下边缘补齐：区域内是纯色、区域外紧挨着的是反差极大的颜色。补齐块复制区域最后一列 / 一行时
+     * 所有 MCU 都是纯色，解码后边缘像素与内部一样准；若读到了区域外的像素，右列和底行会被染色
+     */
+    @Test
+    public void partialMcu_replicatesRightAndBottomEdges() throws IOException {
+        int left = 64;
+        int top = 64;
+        int width = 37;
+        int height = 29;
+        for (int pixelStride = 1; pixelStride <= 2; pixelStride++) {
+            YuvFrame frame = texturedFrame(WIDTH, HEIGHT, pixelStride);
+            // 区域外 32 像素内填反差色，区域内填纯色 (色度覆盖区域所在的全部色度样本)
+            fillLuma(frame, left - 32, top - 32, width + 64, height + 64, 0);
+            fillChroma(frame, (left - 32) >> 1, (top - 32) >> 1, (width + 64) >> 1, (height + 64) >> 1, 255, 255);
+            fillLuma(frame, left, top, width, height, 200);
+            fillChroma(frame, left >> 1, top >> 1, ((left + width - 1) >> 1) - (left >> 1) + 1,
+                    ((top + height - 1) >> 1) - (top >> 1) + 1, 90, 170);
+
+            BufferedImage decoded = encodeAndCheckSize(new YuvJpegEncoder(90), frame, left, top, width, height);
+            int expected = YuvConverter.yuvToArgb(200, 90, 170);
+            for (int y = 0; y < height; y++) {
+                assertPixelClose("right edge y=" + y, expected, decoded.getRGB(width - 1, y));
+            }
+            for (int x = 0; x < width; x++) {
+                assertPixelClose("bottom edge x=" + x, expected, decoded.getRGB(x, height - 1));
+            }
+            assertPixelClose("corner", expected, decoded.getRGB(width - 1, height - 1));
+        }
+    }
+
+    private static void assertPixelClose(String message, int expected, int actual) {
+        for (int shift = 0; shift <= 16; shift += 8) {
+            int d = Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+            assertTrue(message + String.format(" expected=%06x actual=%06x", expected & 0xFFFFFF, actual & 0xFFFFFF),
+                    d <= EDGE_TOLERANCE);
+        }
+    }
+
+    private static void fillLuma(YuvFrame f, int left, int top, int width, int height, int value) {
+        for (int y = Math.max(0, top); y < Math.min(f.height, top + height); y++) {
+            for (int x = Math.max(0, left); x < Math.min(f.width, left + width); x++) {
+                f.yData[y * f.yRowStride + x] = (byte) value;
+            }
+        }
+    }
+
+    private static void fillChroma(YuvFrame f, int left, int top, int width, int height, int u, int v) {
+        int chromaW = (f.width + 1) / 2;
+        int chromaH = (f.height + 1) / 2;
+        for (int y = Math.max(0, top); y < Math.min(chromaH, top + height); y++) {
+            for (int x = Math.max(0, left); x < Math.min(chromaW, left + width); x++) {
+                int o = y * f.uvRowStride + x * f.uvPixelStride;
+                f.uData[o] = (byte) u;
+                f.vData[o] = (byte) v;
+            }
+        }
+    }
+
+    // 实测 q90 整帧约 45.7dB、q10 约 31.4dB，裁剪 43.6dB 以上；下限各留 3dB 余量
+    private static final double PSNR_FLOOR_Q90 = 40;
+    private static final double PSNR_FLOOR_Q10 = 28;
+    // 纯色块只剩 DC 量化与色彩转换的舍入误差
+    private static final int EDGE_TOLERANCE = 3;
+}
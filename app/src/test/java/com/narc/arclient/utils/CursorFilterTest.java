@@ -0,0 +1,139 @@
+package com.narc.arclient.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * CursorFilter 的 JVM 单测：参数与 RenderProcessor 一致 (单眼局部像素坐标)，20fps 输入
+ */
+public class CursorFilterTest {
+    private static final long FRAME_NS = 50_000_000L;
+    private static final float SNAP_DISTANCE = 180f;
+
+    private static CursorFilter newFilter() {
+        return new CursorFilter(1.0f, 0.01f, 1.0f, SNAP_DISTANCE);
+    }
+
+    // 静止 + 每轴标准差 3px 的噪声：二维误差从约 3.8px 降到 2px 以内
+    @Test
+    public void stationaryNoise_converges() {
+        CursorFilter filter = newFilter();
+        Random noise = new Random(42);
+        double rawError = 0;
+        double filteredError = 0;
+        int samples = 0;
+        for (int i = 0; i < 400; i++) {
+            float nx = (float) noise.nextGaussian() * 3f;
+            float ny = (float) noise.nextGaussian() * 3f;
+            filter.update(300f + nx, 200f + ny, i * FRAME_NS);
+            if (i >= 40) {
+                rawError += Math.hypot(nx, ny);
+                filteredError += Math.hypot(filter.getX() - 300f, filter.getY() - 200f);
+                samples++;
+            }
+        }
+        rawError /= samples;
+        filteredError /= samples;
+        assertTrue("raw=" + rawError + " filtered=" + filteredError, filteredError < rawError * 0.5);
+        assertTrue("filtered=" + filteredError, filteredError < 2.0);
+    }
+
+    // 低于跳变阈值的 100px 阶跃：100ms (两帧) 内走完 90%，300ms 内误差小于 1px
+    @Test
+    public void stepInput_followedWithinLag() {
+        CursorFilter filter = newFilter();
+        int i = 0;
+        for (; i < 20; i++) {
+            filter.update(100f, 100f, i * FRAME_NS);
+        }
+        long stepNs = i * FRAME_NS;
+        float at100ms = Float.NaN;
+        float at300ms = Float.NaN;
+        for (; i < 40; i++) {
+            long t = i * FRAME_NS;
+            filter.update(200f, 100f, t);
+            if (t - stepNs == 100_000_000L)
+                at100ms = filter.getX();
+            if (t - stepNs == 300_000_000L)
+                at300ms = filter.getX();
+        }
+        assertTrue("x@100ms=" + at100ms, at100ms >= 190f);
+        assertEquals(200f, at300ms, 1f);
+        assertEquals(100f, filter.getY(), 0f);
+    }
+
+    // 800px/s 匀速移动、60ms 延迟：只滤波时落后约 60px，按速度外推后误差 20px 以内
+    @Test
+    public void ramp_predictionCompensatesLatency() {
+        CursorFilter filter = newFilter();
+        long latencyNs = 60_000_000L;
+        double filteredError = 0;
+        double predictedError = 0;
+        int samples = 0;
+        for (int i = 0; i < 40; i++) {
+            float x = 100f + 800f * i * 0.05f;
+            filter.update(x, 200f, i * FRAME_NS);
+            if (i >= 10) {
+                float truth = x + 800f * latencyNs / 1e9f;
+                filteredError += Math.abs(filter.getX() - truth);
+                predictedError += Math.abs(filter.predictX(latencyNs) - truth);
+                samples++;
+            }
+        }
+        filteredError /= samples;
+        predictedError /= samples;
+        assertTrue("filtered=" + filteredError, filteredError > 50);
+        assertTrue("predicted=" + predictedError, predictedError < 20);
+    }
+
+    // 超过 snapDistance 的跳变直接重置到新位置，不平滑、不产生外推速度
+    @Test
+    public void jumpBeyondSnapDistance_snaps() {
+        CursorFilter filter = newFilter();
+        for (int i = 0; i < 10; i++) {
+            filter.update(100f, 100f, i * FRAME_NS);
+        }
+        filter.update(100f + SNAP_DISTANCE + 20f, 100f, 10 * FRAME_NS);
+        assertEquals(100f + SNAP_DISTANCE + 20f, filter.getX(), 0f);
+        assertEquals(0f, filter.getVelocityX(), 0f);
+        assertEquals(filter.getX(), filter.predictX(CursorFilter.MAX_PREDICTION_NS), 0f);
+    }
+
+    // 阈值以内的跳变照常平滑
+    @Test
+    public void jumpWithinSnapDistance_isSmoothed() {
+        CursorFilter filter = newFilter();
+        for (int i = 0; i < 10; i++) {
+            filter.update(100f, 100f, i * FRAME_NS);
+        }
+        filter.update(100f + SNAP_DISTANCE - 20f, 100f, 10 * FRAME_NS);
+        assertTrue(filter.getX() > 100f);
+        assertTrue(filter.getX() < 100f + SNAP_DISTANCE - 20f);
+    }
+
+    // 两次更新间隔超过 300ms (丢手后重新出现) 时从新位置重新开始
+    @Test
+    public void longGap_resets() {
+        CursorFilter filter = newFilter();
+        filter.update(100f, 100f, 0);
+        filter.update(150f, 100f, 400_000_000L);
+        assertEquals(150f, filter.getX(), 0f);
+    }
+
+    // 外推时长限制在 [0, MAX_PREDICTION_NS]：延迟异常大时不再继续外推
+    @Test
+    public void prediction_stopsAtMaxHorizon() {
+        CursorFilter filter = newFilter();
+        for (int i = 0; i < 40; i++) {
+            filter.update(100f + 800f * i * 0.05f, 200f, i * FRAME_NS);
+        }
+        float atMax = filter.predictX(CursorFilter.MAX_PREDICTION_NS);
+        assertTrue(atMax > filter.getX());
+        assertEquals(atMax, filter.predictX(CursorFilter.MAX_PREDICTION_NS * 10), 0f);
+        assertEquals(atMax, filter.predictX(Long.MAX_VALUE), 0f);
+        assertEquals(filter.getX(), filter.predictX(-5_000_000L), 0f);
+    }
+}
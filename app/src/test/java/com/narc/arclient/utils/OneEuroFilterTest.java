@@ -0,0 +1,74 @@
+package com.narc.arclient.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * OneEuroFilter 的 JVM 单测：参数与 RenderProcessor 的光标滤波一致，20fps 输入
+ */
+public class OneEuroFilterTest {
+    private static final long FRAME_NS = 50_000_000L;
+
+    private static OneEuroFilter newFilter() {
+        return new OneEuroFilter(1.0f, 0.01f, 1.0f);
+    }
+
+    // 静止的手 + 标准差 3px 的检测噪声：稳定后的平均误差不到原始噪声的一半
+    @Test
+    public void stationaryNoise_converges() {
+        OneEuroFilter filter = newFilter();
+        Random noise = new Random(42);
+        double rawError = 0;
+        double filteredError = 0;
+        int samples = 0;
+        for (int i = 0; i < 400; i++) {
+            float n = (float) noise.nextGaussian() * 3f;
+            float out = filter.filter(300f + n, i * FRAME_NS);
+            if (i >= 40) {
+                rawError += Math.abs(n);
+                filteredError += Math.abs(out - 300f);
+                samples++;
+            }
+        }
+        rawError /= samples;
+        filteredError /= samples;
+        assertTrue("raw=" + rawError + " filtered=" + filteredError, filteredError < rawError * 0.5);
+        assertTrue("filtered=" + filteredError, filteredError < 1.2);
+    }
+
+    // 同一帧重复输入 (时间戳不前进) 不改变输出，也不产生速度
+    @Test
+    public void repeatedTimestamp_keepsOutput() {
+        OneEuroFilter filter = newFilter();
+        filter.filter(100f, FRAME_NS);
+        float out = filter.filter(120f, 2 * FRAME_NS);
+        float derivative = filter.getDerivative();
+        assertEquals(out, filter.filter(500f, 2 * FRAME_NS), 0f);
+        assertEquals(out, filter.filter(500f, FRAME_NS), 0f);
+        assertEquals(derivative, filter.getDerivative(), 0f);
+    }
+
+    // 匀速移动时低通后的速度收敛到真实速度
+    @Test
+    public void constantVelocity_derivativeConverges() {
+        OneEuroFilter filter = newFilter();
+        for (int i = 0; i < 60; i++) {
+            filter.filter(100f + 800f * i * 0.05f, i * FRAME_NS);
+        }
+        assertEquals(800f, filter.getDerivative(), 8f);
+    }
+
+    @Test
+    public void reset_restartsAtNextInput() {
+        OneEuroFilter filter = newFilter();
+        filter.filter(100f, FRAME_NS);
+        filter.filter(110f, 2 * FRAME_NS);
+        filter.reset();
+        assertFalse(filter.isInitialized());
+        assertEquals(400f, filter.filter(400f, 3 * FRAME_NS), 0f);
+        assertEquals(0f, filter.getDerivative(), 0f);
+    }
+}